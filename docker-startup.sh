@@ -5,6 +5,16 @@ set -eu
 : "${RUN_MIGRATION:=false}"
 : "${RUN_APP:=true}"
 
+# HttpURLConnection only reads these when the JVM starts, and they apply to every HttpURLConnection in the process:
+# the GOV.UK Notify client, which does not let us set them per client, and the Sentry log appender. The timeouts
+# bound how long a request thread can wait on Notify; Sentry events are sent off the request thread, so for Sentry
+# they only bound how long an event takes to be given up on. Neither sends to more than a few hosts, so keeping
+# 10 idle connections per host is enough for both.
+: "${HTTP_CONNECT_TIMEOUT_MILLIS:=5000}"
+: "${HTTP_READ_TIMEOUT_MILLIS:=10000}"
+: "${HTTP_MAX_CONNECTIONS:=10}"
+HTTP_OPTS="-Dhttp.keepAlive=true -Dhttp.maxConnections=$HTTP_MAX_CONNECTIONS -Dsun.net.client.defaultConnectTimeout=$HTTP_CONNECT_TIMEOUT_MILLIS -Dsun.net.client.defaultReadTimeout=$HTTP_READ_TIMEOUT_MILLIS"
+
 # shellcheck disable=SC2086
 java $JAVA_OPTS -jar ./*-allinone.jar waitOnDependencies ./*.yaml
 
@@ -17,5 +27,5 @@ fi
 
 if [ "$RUN_APP" == "true" ]; then
   # shellcheck disable=SC2086
-  exec java $JAVA_OPTS -jar ./*-allinone.jar server ./*.yaml
+  exec java $HTTP_OPTS $JAVA_OPTS -jar ./*-allinone.jar server ./*.yaml
 fi
@@ -12,16 +12,25 @@ import io.dropwizard.db.DataSourceFactory;
 import io.dropwizard.migrations.MigrationsBundle;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.dropwizard.DropwizardExports;
+import io.prometheus.client.exporter.MetricsServlet;
 import uk.gov.pay.adminusers.app.config.AdminUsersConfig;
 import uk.gov.pay.adminusers.app.config.AdminUsersModule;
 import uk.gov.pay.adminusers.app.config.PersistenceServiceInitialiser;
+import uk.gov.pay.adminusers.app.config.PrometheusConfiguration;
+import uk.gov.pay.adminusers.app.config.QueryProfiler;
 import uk.gov.pay.adminusers.app.healthchecks.DependentResourceWaitCommand;
 import uk.gov.pay.adminusers.app.healthchecks.MigrateToInitialDbState;
+import uk.gov.pay.adminusers.app.tasks.QueryStatsTask;
 import uk.gov.pay.adminusers.exception.ConflictExceptionMapper;
 import uk.gov.pay.adminusers.exception.NotFoundExceptionMapper;
 import uk.gov.pay.adminusers.exception.ValidationExceptionMapper;
 import uk.gov.pay.adminusers.filters.LoggingMDCRequestFilter;
 import uk.gov.pay.adminusers.filters.LoggingMDCResponseFilter;
+import uk.gov.pay.adminusers.filters.RateLimitingFeature;
+import uk.gov.pay.adminusers.filters.ResourceMethodMetricsListener;
+import uk.gov.pay.adminusers.model.CustomBranding;
 import uk.gov.pay.adminusers.resources.EmailResource;
 import uk.gov.pay.adminusers.resources.ForgottenPasswordResource;
 import uk.gov.pay.adminusers.resources.HealthCheckResource;
@@ -37,6 +46,7 @@ import uk.gov.service.payments.logging.GovUkPayDropwizardRequestJsonLogLayoutFac
 import uk.gov.service.payments.logging.LoggingFilter;
 import uk.gov.service.payments.logging.LogstashConsoleAppenderFactory;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 import static java.util.EnumSet.of;
@@ -71,13 +81,19 @@ public class AdminUsersApp extends Application<AdminUsersConfig> {
 
     @Override
     public void run(AdminUsersConfig configuration, Environment environment) {
+        CustomBranding.useObjectMapper(environment.getObjectMapper());
         final Injector injector = Guice.createInjector(new AdminUsersModule(configuration, environment));
         injector.getInstance(PersistenceServiceInitialiser.class);
 
         initialiseMetrics(configuration, environment);
+        initialiseQueryProfiler(configuration, environment);
 
         environment.jersey().register(injector.getInstance(LoggingMDCRequestFilter.class));
         environment.jersey().register(injector.getInstance(LoggingMDCResponseFilter.class));
+        environment.jersey().register(injector.getInstance(ResourceMethodMetricsListener.class));
+        if (configuration.getRateLimiterConfiguration().isEnabled()) {
+            environment.jersey().register(injector.getInstance(RateLimitingFeature.class));
+        }
         environment.servlets().addFilter("LoggingFilter", new LoggingFilter())
                 .addMappingForUrlPatterns(of(REQUEST), true, "/v1/*");
 
@@ -98,6 +114,12 @@ public class AdminUsersApp extends Application<AdminUsersConfig> {
         environment.jersey().register(new ConflictExceptionMapper());
     }
 
+    private void initialiseQueryProfiler(AdminUsersConfig configuration, Environment environment) {
+        QueryProfiler queryProfiler = QueryProfiler.getInstance();
+        queryProfiler.setSlowQueryThreshold(Duration.ofMillis(configuration.getJpaConfiguration().getSlowQueryThreshold().toMilliseconds()));
+        environment.admin().addTask(new QueryStatsTask(queryProfiler, environment.getObjectMapper()));
+    }
+
     private void initialiseMetrics(AdminUsersConfig configuration, Environment environment) {
         DatabaseMetricsService metricsService = new DatabaseMetricsService(configuration.getDataSourceFactory(), environment.metrics(), "adminusers");
 
@@ -113,6 +135,15 @@ public class AdminUsersApp extends Application<AdminUsersConfig> {
                 .prefixedWith(SERVICE_METRICS_NODE)
                 .build(graphiteUDP)
                 .start(GRAPHITE_SENDING_PERIOD_SECONDS, TimeUnit.SECONDS);
+
+        PrometheusConfiguration prometheusConfiguration = configuration.getPrometheusConfiguration();
+        if (prometheusConfiguration.isEnabled()) {
+            CollectorRegistry collectorRegistry = new CollectorRegistry();
+            collectorRegistry.register(new DropwizardExports(environment.metrics()));
+            environment.admin()
+                    .addServlet("prometheus-metrics", new MetricsServlet(collectorRegistry))
+                    .addMapping(prometheusConfiguration.getPath());
+        }
     }
 
     public static void main(String[] args) throws Exception {
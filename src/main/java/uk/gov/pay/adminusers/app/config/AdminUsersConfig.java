@@ -32,6 +32,26 @@ public class AdminUsersConfig extends Configuration {
     @NotNull
     private Integer loginAttemptCap;
 
+    @NotNull
+    private Integer conflictRetryAttempts;
+
+    @NotNull
+    private Integer passwordHashingThreads;
+
+    @NotNull
+    private Integer inviteOtpRateLimitRequests;
+
+    @NotNull
+    private Integer inviteOtpRateLimitWindowSeconds;
+
+    @Valid
+    @NotNull
+    private RateLimiterConfiguration rateLimiterConfiguration = new RateLimiterConfiguration();
+
+    @Valid
+    @NotNull
+    private PrometheusConfiguration prometheusConfiguration = new PrometheusConfiguration();
+
     @NotNull
     private NotifyConfiguration notifyConfiguration;
 
@@ -75,6 +95,32 @@ public class AdminUsersConfig extends Configuration {
         return loginAttemptCap;
     }
 
+    public Integer getConflictRetryAttempts() {
+        return conflictRetryAttempts;
+    }
+
+    public Integer getPasswordHashingThreads() {
+        return passwordHashingThreads;
+    }
+
+    public Integer getInviteOtpRateLimitRequests() {
+        return inviteOtpRateLimitRequests;
+    }
+
+    public Integer getInviteOtpRateLimitWindowSeconds() {
+        return inviteOtpRateLimitWindowSeconds;
+    }
+
+    @JsonProperty("rateLimiter")
+    public RateLimiterConfiguration getRateLimiterConfiguration() {
+        return rateLimiterConfiguration;
+    }
+
+    @JsonProperty("prometheus")
+    public PrometheusConfiguration getPrometheusConfiguration() {
+        return prometheusConfiguration;
+    }
+
     public LinksConfig getLinks() {
         return links;
     }
@@ -1,34 +1,46 @@
 package uk.gov.pay.adminusers.app.config;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
+import com.google.inject.name.Named;
 import com.google.inject.name.Names;
 import com.google.inject.persist.jpa.JpaPersistModule;
 import com.warrenstrange.googleauth.GoogleAuthenticatorConfig;
 import io.dropwizard.db.DataSourceFactory;
 import io.dropwizard.setup.Environment;
+import uk.gov.pay.adminusers.resources.AsyncResponder;
 import uk.gov.pay.adminusers.resources.ResetPasswordValidator;
 import uk.gov.pay.adminusers.resources.UserRequestValidator;
 import uk.gov.pay.adminusers.service.ExistingUserOtpDispatcher;
 import uk.gov.pay.adminusers.service.ForgottenPasswordServices;
+import uk.gov.pay.adminusers.service.InviteOtpRateLimiter;
 import uk.gov.pay.adminusers.service.InviteServiceFactory;
 import uk.gov.pay.adminusers.service.LinksBuilder;
+import uk.gov.pay.adminusers.service.NotificationDispatcher;
 import uk.gov.pay.adminusers.service.NotificationService;
+import uk.gov.pay.adminusers.service.NotifyCircuitBreaker;
 import uk.gov.pay.adminusers.service.NotifyClientProvider;
+import uk.gov.pay.adminusers.service.OptimisticLockRetrier;
 import uk.gov.pay.adminusers.service.PasswordHasher;
 import uk.gov.pay.adminusers.service.ResetPasswordService;
 import uk.gov.pay.adminusers.service.SecondFactorAuthenticator;
 import uk.gov.pay.adminusers.service.ServiceServicesFactory;
+import uk.gov.pay.adminusers.service.TokenBucketRateLimiter;
 import uk.gov.pay.adminusers.service.UserServices;
 import uk.gov.pay.adminusers.service.UserServicesFactory;
 import uk.gov.pay.adminusers.utils.CountryConverter;
 import uk.gov.pay.adminusers.validations.RequestValidations;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 public class AdminUsersModule extends AbstractModule {
 
@@ -54,6 +66,7 @@ public class AdminUsersModule extends AbstractModule {
                 .build());
         bind(LinksConfig.class).toInstance(configuration.getLinks());
         bind(Clock.class).toInstance(Clock.systemDefaultZone());
+        bind(MetricRegistry.class).toInstance(environment.metrics());
 
         bind(PasswordHasher.class).in(Singleton.class);
         bind(CountryConverter.class).in(Singleton.class);
@@ -61,11 +74,18 @@ public class AdminUsersModule extends AbstractModule {
         bind(UserRequestValidator.class).in(Singleton.class);
         bind(ResetPasswordValidator.class).in(Singleton.class);
         bind(Integer.class).annotatedWith(Names.named("LOGIN_ATTEMPT_CAP")).toInstance(configuration.getLoginAttemptCap());
+        bind(Integer.class).annotatedWith(Names.named("CONFLICT_RETRY_ATTEMPTS")).toInstance(configuration.getConflictRetryAttempts());
+        bind(Integer.class).annotatedWith(Names.named("INVITE_OTP_RATE_LIMIT_REQUESTS")).toInstance(configuration.getInviteOtpRateLimitRequests());
+        bind(Integer.class).annotatedWith(Names.named("INVITE_OTP_RATE_LIMIT_WINDOW_SECONDS")).toInstance(configuration.getInviteOtpRateLimitWindowSeconds());
+        bind(InviteOtpRateLimiter.class).in(Singleton.class);
+        bind(OptimisticLockRetrier.class).in(Singleton.class);
         bind(SecondFactorAuthenticator.class).in(Singleton.class);
         bind(UserServices.class).in(Singleton.class);
         bind(ExistingUserOtpDispatcher.class).in(Singleton.class);
         bind(ForgottenPasswordServices.class).in(Singleton.class);
         bind(ResetPasswordService.class).in(Singleton.class);
+        bind(NotificationDispatcher.class).in(Singleton.class);
+        bind(AsyncResponder.class).in(Singleton.class);
 
 
         bind(Integer.class).annotatedWith(Names.named("FORGOTTEN_PASSWORD_EXPIRY_MINUTES")).toInstance(configuration.getForgottenPasswordExpiryMinutes());
@@ -100,14 +120,49 @@ public class AdminUsersModule extends AbstractModule {
     }
 
     @Provides
+    @Singleton
     public NotificationService provideUserNotificationService() {
+        NotifyConfiguration notifyConfiguration = configuration.getNotifyConfiguration();
         return new NotificationService(
-                new NotifyClientProvider(configuration.getNotifyConfiguration()),
-                configuration.getNotifyConfiguration(),
+                new NotifyClientProvider(notifyConfiguration),
+                new NotifyCircuitBreaker(notifyConfiguration.getCircuitBreakerFailureThreshold(),
+                        Duration.ofMillis(notifyConfiguration.getCircuitBreakerOpenDuration().toMilliseconds())),
+                notifyConfiguration,
                 configuration.getNotifyDirectDebitConfiguration(),
                 environment.metrics());
     }
 
+    @Provides
+    @Singleton
+    public TokenBucketRateLimiter provideTokenBucketRateLimiter() {
+        RateLimiterConfiguration rateLimiterConfiguration = configuration.getRateLimiterConfiguration();
+        return new TokenBucketRateLimiter(rateLimiterConfiguration.getCapacity(), rateLimiterConfiguration.getRefillPerMinute(),
+                rateLimiterConfiguration.getMaxTrackedKeys());
+    }
+
+    @Provides
+    @Singleton
+    @Named("PASSWORD_HASHING_EXECUTOR")
+    public ExecutorService providePasswordHashingExecutor() {
+        return environment.lifecycle().executorService("password-hashing-%d")
+                .minThreads(configuration.getPasswordHashingThreads())
+                .maxThreads(configuration.getPasswordHashingThreads())
+                .build();
+    }
+
+    @Provides
+    @Singleton
+    @Named("NOTIFY_EXECUTOR")
+    public ExecutorService provideNotifyExecutor() {
+        NotifyConfiguration notifyConfiguration = configuration.getNotifyConfiguration();
+        return environment.lifecycle().executorService("notify-%d")
+                .minThreads(notifyConfiguration.getDispatchThreads())
+                .maxThreads(notifyConfiguration.getDispatchThreads())
+                .workQueue(new ArrayBlockingQueue<>(notifyConfiguration.getDispatchQueueSize()))
+                .rejectedExecution(new ThreadPoolExecutor.CallerRunsPolicy())
+                .build();
+    }
+
     @Provides
     public ObjectMapper provideObjectMapper() {
         return environment.getObjectMapper();
@@ -14,5 +14,7 @@ public class AdminUsersSessionCustomiser implements SessionCustomizer {
         DatabaseLogin datasourceLogin = (DatabaseLogin) session.getDatasourceLogin();
         datasourceLogin.setQueryRetryAttemptCount(QUERY_RETRY_ATTEMPT_COUNT_ZERO_BASED_INDEX);
         datasourceLogin.setDelayBetweenConnectionAttempts(DELAY_BETWEEN_CONNECTION_ATTEMPTS_MILLIS);
+        session.getEventManager().addListener(new DatabaseStatementCounter());
+        session.getEventManager().addListener(QueryProfiler.getInstance());
     }
 }
@@ -0,0 +1,80 @@
+package uk.gov.pay.adminusers.app.config;
+
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+
+/**
+ * Counts the SQL statements executed on the current thread, and the time spent executing them, while counting has
+ * been started with {@link #startCounting()}. Statements run on threads that are not counting are ignored.
+ */
+public class DatabaseStatementCounter extends SessionEventAdapter {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @return the count that statements run on this thread are added to until {@link #stopCounting()}, which may be
+     * read from another thread once counting has stopped
+     */
+    public static Stats startCounting() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return the statements counted so far since {@link #startCounting()}, without stopping counting, or an empty
+     * count if counting was not started
+     */
+    public static Stats currentCount() {
+        Stats stats = CURRENT.get();
+        return stats == null ? new Stats() : stats.copy();
+    }
+
+    /**
+     * @return the statements counted since {@link #startCounting()}, or an empty count if counting was not started
+     */
+    public static Stats stopCounting() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats == null ? new Stats() : stats;
+    }
+
+    @Override
+    public void preExecuteCall(SessionEvent event) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.callStartNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void postExecuteCall(SessionEvent event) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statementCount++;
+            stats.totalNanos += System.nanoTime() - stats.callStartNanos;
+        }
+    }
+
+    public static final class Stats {
+
+        private int statementCount;
+        private long totalNanos;
+        private long callStartNanos;
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        private Stats copy() {
+            Stats copy = new Stats();
+            copy.statementCount = statementCount;
+            copy.totalNanos = totalNanos;
+            return copy;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package uk.gov.pay.adminusers.app.config;
 
 import io.dropwizard.Configuration;
+import io.dropwizard.util.Duration;
 
 public class JPAConfiguration extends Configuration {
 
@@ -9,6 +10,7 @@ public class JPAConfiguration extends Configuration {
     private String ddlGenerationOutputMode;
     private String queryResultsCache;
     private String cacheSharedDefault;
+    private Duration slowQueryThreshold = Duration.milliseconds(500);
 
     public String getJpaLoggingLevel() {
         return jpaLoggingLevel;
@@ -29,4 +31,8 @@ public class JPAConfiguration extends Configuration {
     public String getCacheSharedDefault() {
         return cacheSharedDefault;
     }
+
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
 }
@@ -1,8 +1,10 @@
 package uk.gov.pay.adminusers.app.config;
 
 import io.dropwizard.Configuration;
+import io.dropwizard.util.Duration;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 public class NotifyConfiguration extends Configuration {
@@ -63,6 +65,21 @@ public class NotifyConfiguration extends Configuration {
     @NotNull
     private String liveAccountCreatedEmailTemplateId;
 
+    @Min(1)
+    private int circuitBreakerFailureThreshold = 5;
+
+    @NotNull
+    private Duration circuitBreakerOpenDuration = Duration.seconds(30);
+
+    @Min(1)
+    private int dispatchThreads = 8;
+
+    @Min(1)
+    private int dispatchQueueSize = 100;
+
+    @NotNull
+    private Duration asyncResponseTimeout = Duration.seconds(30);
+
     public String getCardApiKey() {
         return cardApiKey;
     }
@@ -118,4 +135,24 @@ public class NotifyConfiguration extends Configuration {
     public String getLiveAccountCreatedEmailTemplateId() {
         return liveAccountCreatedEmailTemplateId;
     }
+
+    public int getCircuitBreakerFailureThreshold() {
+        return circuitBreakerFailureThreshold;
+    }
+
+    public Duration getCircuitBreakerOpenDuration() {
+        return circuitBreakerOpenDuration;
+    }
+
+    public int getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+    public int getDispatchQueueSize() {
+        return dispatchQueueSize;
+    }
+
+    public Duration getAsyncResponseTimeout() {
+        return asyncResponseTimeout;
+    }
 }
@@ -0,0 +1,23 @@
+package uk.gov.pay.adminusers.app.config;
+
+import io.dropwizard.Configuration;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+
+public class PrometheusConfiguration extends Configuration {
+
+    private boolean enabled = false;
+
+    @NotEmpty
+    @Pattern(regexp = "/.*")
+    private String path = "/metrics";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
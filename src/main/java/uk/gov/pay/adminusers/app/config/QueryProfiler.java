@@ -0,0 +1,152 @@
+package uk.gov.pay.adminusers.app.config;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.UniformReservoir;
+import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * Records how often each distinct SQL statement runs and how long it takes, and logs statements slower than a
+ * threshold. Statements are grouped by fingerprint: the SQL with literals replaced by {@code ?} and lists of bind
+ * parameters collapsed, so that queries that differ only in their values are counted together.
+ * <p>
+ * EclipseLink creates session customisers from their class name, so there is a single profiler for the process;
+ * its threshold is set when the application starts.
+ */
+public class QueryProfiler extends SessionEventAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryProfiler.class);
+    private static final QueryProfiler INSTANCE = new QueryProfiler();
+
+    /* default */ static final int MAX_FINGERPRINTS = 1000;
+    /* default */ static final String OTHER_FINGERPRINT = "(other)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, QueryStats> statsByFingerprint = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> callStartNanos = new ThreadLocal<>();
+    private volatile long slowQueryThresholdNanos = Long.MAX_VALUE;
+
+    /* default */ QueryProfiler() {
+    }
+
+    public static QueryProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public void preExecuteCall(SessionEvent event) {
+        callStartNanos.set(System.nanoTime());
+    }
+
+    @Override
+    public void postExecuteCall(SessionEvent event) {
+        Long startNanos = callStartNanos.get();
+        callStartNanos.remove();
+        if (startNanos == null || !(event.getCall() instanceof DatabaseCall)) {
+            return;
+        }
+        DatabaseCall call = (DatabaseCall) event.getCall();
+        record(call.getSQLString(), call.getParameters(), System.nanoTime() - startNanos);
+    }
+
+    /* default */ void record(String sql, List<?> parameters, long elapsedNanos) {
+        if (sql == null) {
+            return;
+        }
+        String fingerprint = fingerprint(sql);
+        statsFor(fingerprint).update(elapsedNanos);
+        if (elapsedNanos >= slowQueryThresholdNanos) {
+            LOGGER.warn("Slow query took {} ms: {} with parameters {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), fingerprint, parameterShapes(parameters));
+        }
+    }
+
+    /**
+     * @return the statistics for each fingerprint, slowest in total first
+     */
+    public List<Map<String, Object>> getStats() {
+        return statsByFingerprint.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, QueryStats> entry) -> entry.getValue().totalNanos.sum()).reversed())
+                .map(entry -> entry.getValue().toMap(entry.getKey()))
+                .collect(toUnmodifiableList());
+    }
+
+    public void reset() {
+        statsByFingerprint.clear();
+    }
+
+    /* default */ static String fingerprint(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMERIC_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = PARAMETER_LIST.matcher(fingerprint).replaceAll("(?...)");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+    }
+
+    private QueryStats statsFor(String fingerprint) {
+        QueryStats stats = statsByFingerprint.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        String key = statsByFingerprint.size() < MAX_FINGERPRINTS ? fingerprint : OTHER_FINGERPRINT;
+        return statsByFingerprint.computeIfAbsent(key, newKey -> new QueryStats());
+    }
+
+    private static String parameterShapes(List<?> parameters) {
+        if (parameters == null) {
+            return "[]";
+        }
+        return parameters.stream()
+                .map(parameter -> parameter == null ? "null" : parameter.getClass().getSimpleName())
+                .collect(toUnmodifiableList())
+                .toString();
+    }
+
+    private static final class QueryStats {
+
+        private final LongAdder totalNanos = new LongAdder();
+        private final Histogram latencyMicros = new Histogram(new UniformReservoir());
+
+        private void update(long elapsedNanos) {
+            totalNanos.add(elapsedNanos);
+            latencyMicros.update(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        }
+
+        private Map<String, Object> toMap(String fingerprint) {
+            Snapshot snapshot = latencyMicros.getSnapshot();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("fingerprint", fingerprint);
+            stats.put("count", latencyMicros.getCount());
+            stats.put("total_ms", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+            stats.put("mean_ms", snapshot.getMean() / 1000);
+            stats.put("p50_ms", snapshot.getMedian() / 1000);
+            stats.put("p95_ms", snapshot.get95thPercentile() / 1000);
+            stats.put("p99_ms", snapshot.get99thPercentile() / 1000);
+            stats.put("max_ms", snapshot.getMax() / 1000.0);
+            return stats;
+        }
+    }
+}
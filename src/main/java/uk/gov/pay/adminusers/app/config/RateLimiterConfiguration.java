@@ -0,0 +1,35 @@
+package uk.gov.pay.adminusers.app.config;
+
+import io.dropwizard.Configuration;
+
+import javax.validation.constraints.Min;
+
+public class RateLimiterConfiguration extends Configuration {
+
+    private boolean enabled = true;
+
+    @Min(1)
+    private int capacity = 10;
+
+    @Min(1)
+    private int refillPerMinute = 10;
+
+    @Min(1)
+    private int maxTrackedKeys = 100_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getRefillPerMinute() {
+        return refillPerMinute;
+    }
+
+    public int getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.pay.adminusers.app.tasks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.servlets.tasks.Task;
+import uk.gov.pay.adminusers.app.config.QueryProfiler;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the query statistics collected by {@link QueryProfiler} as JSON. Posting with {@code reset=true} clears
+ * them once they have been written.
+ * <pre>
+ * curl -X POST http://localhost:8081/tasks/query-stats?reset=true
+ * </pre>
+ */
+public class QueryStatsTask extends Task {
+
+    private final QueryProfiler queryProfiler;
+    private final ObjectMapper objectMapper;
+
+    public QueryStatsTask(QueryProfiler queryProfiler, ObjectMapper objectMapper) {
+        super("query-stats");
+        this.queryProfiler = queryProfiler;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void execute(Map<String, List<String>> parameters, PrintWriter output) throws Exception {
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output, queryProfiler.getStats());
+        if (parameters.getOrDefault("reset", List.of()).contains("true")) {
+            queryProfiler.reset();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package uk.gov.pay.adminusers.exception;
+
+public class ConcurrentUpdateException extends ConflictException {
+    public ConcurrentUpdateException() {
+        super("Resource was modified by another request, please retry");
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.pay.adminusers.filters;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.pay.adminusers.service.TokenBucketRateLimiter;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static javax.ws.rs.core.HttpHeaders.RETRY_AFTER;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.Response.Status.TOO_MANY_REQUESTS;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+public class RateLimitFilter implements ContainerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimited rateLimited;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimitFilter(RateLimited rateLimited, TokenBucketRateLimiter rateLimiter, ObjectMapper objectMapper, MetricRegistry metricRegistry) {
+        this.rateLimited = rateLimited;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.allowed = metricRegistry.counter(String.format("rate-limiter.%s.allowed", rateLimited.name()));
+        this.rejected = metricRegistry.counter(String.format("rate-limiter.%s.rejected", rateLimited.name()));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        Optional<String> identity = getIdentity(requestContext);
+        if (identity.isEmpty()) {
+            return;
+        }
+
+        Optional<Duration> retryAfter = rateLimiter.tryAcquire(rateLimited.name() + ":" + identity.get());
+        if (retryAfter.isEmpty()) {
+            allowed.inc();
+            return;
+        }
+
+        rejected.inc();
+        LOGGER.info("Rate limit [{}] exceeded", rateLimited.name());
+        requestContext.abortWith(Response.status(TOO_MANY_REQUESTS)
+                .header(RETRY_AFTER, Math.max(1, (retryAfter.get().toMillis() + 999) / 1000))
+                .type(APPLICATION_JSON)
+                .entity(Map.of("errors", List.of("Too many requests, try again later")))
+                .build());
+    }
+
+    private Optional<String> getIdentity(ContainerRequestContext requestContext) throws IOException {
+        if (!rateLimited.pathParam().isEmpty()) {
+            return Optional.ofNullable(requestContext.getUriInfo().getPathParameters().getFirst(rateLimited.pathParam()));
+        }
+        if (rateLimited.bodyField().isEmpty() || !requestContext.hasEntity()) {
+            return Optional.empty();
+        }
+
+        byte[] body = requestContext.getEntityStream().readAllBytes();
+        requestContext.setEntityStream(new ByteArrayInputStream(body));
+        try {
+            return Optional.ofNullable(objectMapper.readTree(body))
+                    .map(payload -> payload.get(rateLimited.bodyField()))
+                    .filter(JsonNode::isValueNode)
+                    .map(JsonNode::asText)
+                    .filter(value -> !isBlank(value))
+                    .map(String::toLowerCase);
+        } catch (JsonProcessingException e) {
+            return Optional.empty();
+        }
+    }
+}
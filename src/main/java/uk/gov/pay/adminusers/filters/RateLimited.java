@@ -0,0 +1,25 @@
+package uk.gov.pay.adminusers.filters;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Rate limits a resource method per identity, before the method runs. The identity is taken from the path
+ * parameter named by {@link #pathParam()} or, failing that, from the top-level field of the JSON request body
+ * named by {@link #bodyField()}. Requests without an identity are not limited here.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * Names the limit in metrics; requests to methods with different names are limited separately.
+     */
+    String name();
+
+    String pathParam() default "";
+
+    String bodyField() default "";
+}
@@ -0,0 +1,37 @@
+package uk.gov.pay.adminusers.filters;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import uk.gov.pay.adminusers.service.TokenBucketRateLimiter;
+
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * Registers a {@link RateLimitFilter} for every resource method annotated with {@link RateLimited}. The filters run
+ * before any other request filters, so rejected requests never reach the database.
+ */
+public class RateLimitingFeature implements DynamicFeature {
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MetricRegistry metricRegistry;
+
+    @Inject
+    public RateLimitingFeature(TokenBucketRateLimiter rateLimiter, ObjectMapper objectMapper, MetricRegistry metricRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        RateLimited rateLimited = resourceInfo.getResourceMethod().getAnnotation(RateLimited.class);
+        if (rateLimited != null) {
+            context.register(new RateLimitFilter(rateLimited, rateLimiter, objectMapper, metricRegistry), Priorities.AUTHENTICATION - 1);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package uk.gov.pay.adminusers.filters;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.Inject;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.MDC;
+import uk.gov.pay.adminusers.app.config.DatabaseStatementCounter;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Times every resource method and counts the SQL statements run for each request. For each method this records
+ * {@code resource-methods.<Resource>.<method>} (a timer), {@code ...db_statements} (a histogram) and
+ * {@code ...db_time} (a timer). Statements are counted until the request finishes rather than when the resource
+ * method returns, so that those run while a streamed response entity is being written are included. The statement
+ * count and database time so far are put in the MDC from when the resource method returns until the request
+ * finishes, so they are included in any log lines written by response filters and exception mappers.
+ * <p>
+ * Asynchronous resource methods, which take an {@code @Suspended AsyncResponse}, are resumed and finish on another
+ * thread. For those, counting stops and nothing is put in the MDC when the resource method returns, so only the
+ * statements run by the resource method itself are recorded and nothing is left behind on the request thread.
+ */
+public class ResourceMethodMetricsListener implements ApplicationEventListener {
+
+    public static final String DB_STATEMENT_COUNT = "db_statement_count";
+    public static final String DB_TIME_MS = "db_time_ms";
+
+    private final MetricRegistry metricRegistry;
+
+    @Inject
+    public ResourceMethodMetricsListener(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return new ResourceMethodTimer();
+    }
+
+    private class ResourceMethodTimer implements RequestEventListener {
+
+        private long startNanos;
+        private String metricName;
+        private boolean suspended;
+        private DatabaseStatementCounter.Stats stats;
+
+        @Override
+        public void onEvent(RequestEvent event) {
+            switch (event.getType()) {
+                case RESOURCE_METHOD_START:
+                    startNanos = System.nanoTime();
+                    ResourceMethod resourceMethod = event.getUriInfo().getMatchedResourceMethod();
+                    metricName = metricNameFor(resourceMethod);
+                    suspended = resourceMethod.isSuspendDeclared();
+                    stats = DatabaseStatementCounter.startCounting();
+                    break;
+                case RESOURCE_METHOD_FINISHED:
+                    metricRegistry.timer(metricName).update(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    if (suspended) {
+                        DatabaseStatementCounter.stopCounting();
+                    } else {
+                        MDC.put(DB_STATEMENT_COUNT, String.valueOf(stats.getStatementCount()));
+                        MDC.put(DB_TIME_MS, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getTotalNanos())));
+                    }
+                    break;
+                case FINISHED:
+                    if (stats == null) {
+                        break;
+                    }
+                    if (!suspended) {
+                        DatabaseStatementCounter.stopCounting();
+                        List.of(DB_STATEMENT_COUNT, DB_TIME_MS).forEach(MDC::remove);
+                    }
+                    metricRegistry.histogram(name(metricName, "db_statements")).update(stats.getStatementCount());
+                    metricRegistry.timer(name(metricName, "db_time")).update(stats.getTotalNanos(), TimeUnit.NANOSECONDS);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private String metricNameFor(ResourceMethod resourceMethod) {
+            Method method = resourceMethod.getInvocable().getDefinitionMethod();
+            return name("resource-methods", method.getDeclaringClass().getSimpleName(), method.getName());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BatchCreateUserOutcome {
+
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        FAILED
+    }
+
+    private final String username;
+    private final Status status;
+    private final User user;
+    private final List<String> errors;
+
+    private BatchCreateUserOutcome(String username, Status status, User user, List<String> errors) {
+        this.username = username;
+        this.status = status;
+        this.user = user;
+        this.errors = List.copyOf(errors);
+    }
+
+    public static BatchCreateUserOutcome created(User user) {
+        return new BatchCreateUserOutcome(user.getUsername(), Status.CREATED, user, List.of());
+    }
+
+    public static BatchCreateUserOutcome conflict(String username, List<String> errors) {
+        return new BatchCreateUserOutcome(username, Status.CONFLICT, null, errors);
+    }
+
+    public static BatchCreateUserOutcome failed(String username, List<String> errors) {
+        return new BatchCreateUserOutcome(username, Status.FAILED, null, errors);
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
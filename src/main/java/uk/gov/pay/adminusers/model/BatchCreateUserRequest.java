@@ -0,0 +1,39 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchCreateUserRequest {
+
+    private final CreateUserRequest userRequest;
+    private final String roleName;
+
+    private BatchCreateUserRequest(CreateUserRequest userRequest, String roleName) {
+        this.userRequest = userRequest;
+        this.roleName = roleName;
+    }
+
+    public static BatchCreateUserRequest from(CreateUserRequest userRequest, String roleName) {
+        return new BatchCreateUserRequest(userRequest, roleName);
+    }
+
+    public static BatchCreateUserRequest from(JsonNode payload) {
+        return new BatchCreateUserRequest(CreateUserRequest.from(payload), payload.get(CreateUserRequest.FIELD_ROLE_NAME).asText());
+    }
+
+    public static List<BatchCreateUserRequest> getBatchCreateRequests(JsonNode payload) {
+        List<BatchCreateUserRequest> requests = new ArrayList<>();
+        payload.forEach(node -> requests.add(from(node)));
+        return requests;
+    }
+
+    public CreateUserRequest getUserRequest() {
+        return userRequest;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+}
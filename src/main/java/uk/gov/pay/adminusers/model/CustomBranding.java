@@ -0,0 +1,123 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.dropwizard.jackson.Jackson;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A service's custom branding as it is stored, a JSON object. The JSON is only parsed when the branding is read as a
+ * map; otherwise it is written to responses exactly as it came out of the database.
+ */
+public final class CustomBranding extends JsonSerializable.Base {
+
+    private static final TypeReference<Map<String, Object>> CUSTOM_BRANDING_TYPE = new TypeReference<>() {};
+
+    private static volatile ObjectReader reader;
+    private static volatile ObjectWriter writer;
+
+    static {
+        useObjectMapper(Jackson.newObjectMapper());
+    }
+
+    private final String json;
+    private volatile Map<String, Object> customBranding;
+
+    private CustomBranding(String json, Map<String, Object> customBranding) {
+        this.json = Objects.requireNonNull(json);
+        this.customBranding = customBranding;
+    }
+
+    /**
+     * Custom branding is read and written outside Guice, so the application hands its object mapper over here when
+     * it starts. Until then a mapper configured the same way is used.
+     */
+    public static void useObjectMapper(ObjectMapper objectMapper) {
+        reader = objectMapper.readerFor(CUSTOM_BRANDING_TYPE);
+        writer = objectMapper.writerFor(CUSTOM_BRANDING_TYPE);
+    }
+
+    public static CustomBranding fromJson(String json) {
+        return new CustomBranding(json, null);
+    }
+
+    public static CustomBranding fromMap(Map<String, Object> customBranding) {
+        if (customBranding == null) {
+            return null;
+        }
+        try {
+            return new CustomBranding(writer.writeValueAsString(customBranding), Collections.unmodifiableMap(customBranding));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String toJson() {
+        return json;
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> parsed = customBranding;
+        if (parsed == null) {
+            try {
+                Map<String, Object> value = reader.readValue(json);
+                parsed = value == null ? Collections.emptyMap() : Collections.unmodifiableMap(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            customBranding = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * Looks at the raw JSON rather than parsing it: an object with any members must contain a colon.
+     */
+    public boolean isEmpty() {
+        return json.strip().equals("null") || json.indexOf(':') < 0;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CustomBranding that = (CustomBranding) o;
+        return json.equals(that.json) || asMap().equals(that.asMap());
+    }
+
+    @Override
+    public int hashCode() {
+        return asMap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
@@ -37,4 +37,8 @@ public class PatchRequest {
     public String getValue() {
         return value;
     }
+
+    public boolean isReplace() {
+        return "replace".equals(op);
+    }
 }
@@ -28,7 +28,7 @@ public class Service {
     private String externalId;
     private List<Link> links = new ArrayList<>();
     private List<String> gatewayAccountIds = new ArrayList<>();
-    private Map<String, Object> customBranding;
+    private CustomBranding customBranding;
     private MerchantDetails merchantDetails;
     private boolean redirectToServiceImmediatelyOnTerminalState;
     private boolean collectBillingAddress;
@@ -49,6 +49,9 @@ public class Service {
     @JsonIgnore
     private ServiceName serviceName;
 
+    @JsonIgnore
+    private Long version;
+
     public static Service from() {
         return from(new ServiceName(DEFAULT_NAME_VALUE));
     }
@@ -172,16 +175,16 @@ public class Service {
         this.gatewayAccountIds = gatewayAccountIds;
     }
 
-    public Map<String, Object> getCustomBranding() {
+    public CustomBranding getCustomBranding() {
         return customBranding;
     }
 
     /**
-     * nullify if map is empty, so that it will be undefined in response
+     * nullify if empty, so that it will be undefined in response
      *
      * @param customBranding
      */
-    public void setCustomBranding(Map<String, Object> customBranding) {
+    public void setCustomBranding(CustomBranding customBranding) {
         if (customBranding != null && customBranding.isEmpty()) {
             this.customBranding = null;
         } else {
@@ -276,4 +279,16 @@ public class Service {
     public ZonedDateTime getWentLiveDate() {
         return wentLiveDate;
     }
+
+    /**
+     * @return the version of the service entity this was made from, which its ETag is based on
+     */
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
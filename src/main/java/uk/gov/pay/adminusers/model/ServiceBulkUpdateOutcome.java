@@ -0,0 +1,52 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ServiceBulkUpdateOutcome {
+
+    public enum Status {
+        UPDATED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private final String serviceExternalId;
+    private final Status status;
+    private final List<String> errors;
+
+    private ServiceBulkUpdateOutcome(String serviceExternalId, Status status, List<String> errors) {
+        this.serviceExternalId = serviceExternalId;
+        this.status = status;
+        this.errors = List.copyOf(errors);
+    }
+
+    public static ServiceBulkUpdateOutcome updated(String serviceExternalId) {
+        return new ServiceBulkUpdateOutcome(serviceExternalId, Status.UPDATED, List.of());
+    }
+
+    public static ServiceBulkUpdateOutcome notFound(String serviceExternalId) {
+        return new ServiceBulkUpdateOutcome(serviceExternalId, Status.NOT_FOUND, List.of());
+    }
+
+    public static ServiceBulkUpdateOutcome failed(String serviceExternalId, List<String> errors) {
+        return new ServiceBulkUpdateOutcome(serviceExternalId, Status.FAILED, errors);
+    }
+
+    public String getServiceExternalId() {
+        return serviceExternalId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
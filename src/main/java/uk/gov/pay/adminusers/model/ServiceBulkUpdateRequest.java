@@ -0,0 +1,40 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ServiceBulkUpdateRequest {
+
+    public static final String FIELD_SERVICE_EXTERNAL_ID = "service_external_id";
+    public static final String FIELD_UPDATES = "updates";
+
+    private final String serviceExternalId;
+    private final List<ServiceUpdateRequest> updates;
+
+    private ServiceBulkUpdateRequest(String serviceExternalId, List<ServiceUpdateRequest> updates) {
+        this.serviceExternalId = serviceExternalId;
+        this.updates = List.copyOf(updates);
+    }
+
+    public static ServiceBulkUpdateRequest from(JsonNode payload) {
+        return new ServiceBulkUpdateRequest(
+                payload.get(FIELD_SERVICE_EXTERNAL_ID).asText(),
+                ServiceUpdateRequest.getUpdateRequests(payload.get(FIELD_UPDATES)));
+    }
+
+    public static List<ServiceBulkUpdateRequest> getBulkUpdateRequests(JsonNode payload) {
+        List<ServiceBulkUpdateRequest> requests = new ArrayList<>();
+        payload.forEach(node -> requests.add(from(node)));
+        return requests;
+    }
+
+    public String getServiceExternalId() {
+        return serviceExternalId;
+    }
+
+    public List<ServiceUpdateRequest> getUpdates() {
+        return updates;
+    }
+}
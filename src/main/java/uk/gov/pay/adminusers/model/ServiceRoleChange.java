@@ -0,0 +1,72 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * One entry of a bulk change to the services a user belongs to: assigning the user to a service with a role,
+ * changing their role in a service, or removing them from a service.
+ */
+public class ServiceRoleChange {
+
+    public static final String FIELD_OP = "op";
+    public static final String FIELD_SERVICE_EXTERNAL_ID = "service_external_id";
+    public static final String FIELD_ROLE_NAME = "role_name";
+
+    public enum Operation {
+        ASSIGN,
+        UPDATE,
+        REMOVE;
+
+        public static Optional<Operation> fromOp(String op) {
+            try {
+                return Optional.of(valueOf(op.toUpperCase(Locale.ENGLISH)));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private final Operation operation;
+    private final String serviceExternalId;
+    private final String roleName;
+
+    private ServiceRoleChange(Operation operation, String serviceExternalId, String roleName) {
+        this.operation = operation;
+        this.serviceExternalId = serviceExternalId;
+        this.roleName = roleName;
+    }
+
+    public static ServiceRoleChange from(Operation operation, String serviceExternalId, String roleName) {
+        return new ServiceRoleChange(operation, serviceExternalId, roleName);
+    }
+
+    public static ServiceRoleChange from(JsonNode payload) {
+        return new ServiceRoleChange(
+                Operation.fromOp(payload.get(FIELD_OP).asText()).orElseThrow(),
+                payload.get(FIELD_SERVICE_EXTERNAL_ID).asText(),
+                Optional.ofNullable(payload.get(FIELD_ROLE_NAME)).map(JsonNode::asText).orElse(null));
+    }
+
+    public static List<ServiceRoleChange> getServiceRoleChanges(JsonNode payload) {
+        List<ServiceRoleChange> changes = new ArrayList<>();
+        payload.forEach(node -> changes.add(from(node)));
+        return changes;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public String getServiceExternalId() {
+        return serviceExternalId;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+}
@@ -0,0 +1,39 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * One page of services matching a search, best match first.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ServiceSearchResults {
+
+    private final int page;
+    private final int displaySize;
+    private final List<Service> results;
+
+    public ServiceSearchResults(int page, int displaySize, List<Service> results) {
+        this.page = page;
+        this.displaySize = displaySize;
+        this.results = results;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getDisplaySize() {
+        return displaySize;
+    }
+
+    public int getCount() {
+        return results.size();
+    }
+
+    public List<Service> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.pay.adminusers.model;
+
+import java.util.Optional;
+
+/**
+ * Narrows the services counted in a {@link ServiceSummaryReport}. Criteria left empty match every service.
+ */
+public class ServiceSummaryFilter {
+
+    private final String sector;
+    private final Boolean internal;
+    private final Boolean archived;
+    private final Boolean live;
+    private final GoLiveStage goLiveStage;
+    private final PspTestAccountStage pspTestAccountStage;
+
+    public ServiceSummaryFilter(String sector, Boolean internal, Boolean archived, Boolean live,
+                                GoLiveStage goLiveStage, PspTestAccountStage pspTestAccountStage) {
+        this.sector = sector;
+        this.internal = internal;
+        this.archived = archived;
+        this.live = live;
+        this.goLiveStage = goLiveStage;
+        this.pspTestAccountStage = pspTestAccountStage;
+    }
+
+    public static ServiceSummaryFilter none() {
+        return new ServiceSummaryFilter(null, null, null, null, null, null);
+    }
+
+    public Optional<String> getSector() {
+        return Optional.ofNullable(sector);
+    }
+
+    public Optional<Boolean> getInternal() {
+        return Optional.ofNullable(internal);
+    }
+
+    public Optional<Boolean> getArchived() {
+        return Optional.ofNullable(archived);
+    }
+
+    public Optional<Boolean> getLive() {
+        return Optional.ofNullable(live);
+    }
+
+    public Optional<GoLiveStage> getGoLiveStage() {
+        return Optional.ofNullable(goLiveStage);
+    }
+
+    public Optional<PspTestAccountStage> getPspTestAccountStage() {
+        return Optional.ofNullable(pspTestAccountStage);
+    }
+}
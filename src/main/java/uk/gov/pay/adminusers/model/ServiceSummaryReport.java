@@ -0,0 +1,51 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.Map;
+
+/**
+ * Counts of services by go-live stage, PSP test account stage and sector, and how many of them are live.
+ * Services with no sector are counted under {@link #UNSPECIFIED}.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ServiceSummaryReport {
+
+    public static final String UNSPECIFIED = "unspecified";
+
+    private final long total;
+    private final long live;
+    private final Map<String, Long> goLiveStages;
+    private final Map<String, Long> pspTestAccountStages;
+    private final Map<String, Long> sectors;
+
+    public ServiceSummaryReport(long total, long live, Map<String, Long> goLiveStages,
+                                Map<String, Long> pspTestAccountStages, Map<String, Long> sectors) {
+        this.total = total;
+        this.live = live;
+        this.goLiveStages = goLiveStages;
+        this.pspTestAccountStages = pspTestAccountStages;
+        this.sectors = sectors;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getLive() {
+        return live;
+    }
+
+    public Map<String, Long> getGoLiveStages() {
+        return goLiveStages;
+    }
+
+    public Map<String, Long> getPspTestAccountStages() {
+        return pspTestAccountStages;
+    }
+
+    public Map<String, Long> getSectors() {
+        return sectors;
+    }
+}
@@ -33,6 +33,10 @@ public class ServiceUpdateRequest {
         return path;
     }
 
+    public boolean isReplace() {
+        return "replace".equals(op);
+    }
+
     public String valueAsString() {
         if (value != null && value.isTextual()) {
             return value.asText();
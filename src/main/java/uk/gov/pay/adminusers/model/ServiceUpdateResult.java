@@ -0,0 +1,61 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.util.List;
+
+/**
+ * Outcome of applying a batch of {@link ServiceUpdateRequest}s to a single service, with one
+ * {@link OperationResult} per request in the order they were received.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ServiceUpdateResult {
+
+    public enum Outcome {
+        APPLIED,
+        SUPERSEDED
+    }
+
+    private final Service service;
+    private final List<OperationResult> operations;
+
+    public ServiceUpdateResult(Service service, List<OperationResult> operations) {
+        this.service = service;
+        this.operations = List.copyOf(operations);
+    }
+
+    public Service getService() {
+        return service;
+    }
+
+    public List<OperationResult> getOperations() {
+        return operations;
+    }
+
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class OperationResult {
+
+        private final String op;
+        private final String path;
+        private final Outcome outcome;
+
+        public OperationResult(String op, String path, Outcome outcome) {
+            this.op = op;
+            this.path = path;
+            this.outcome = outcome;
+        }
+
+        public String getOp() {
+            return op;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+    }
+}
@@ -41,6 +41,7 @@ public class User {
     private ZonedDateTime lastLoggedInAt;
     private List<Link> links = new ArrayList<>();
     private Integer sessionVersion = 0;
+    private String versionFingerprint;
 
     public static User from(Integer id, String externalId, String username, String password, String email, String otpKey, 
                             String telephoneNumber, List<ServiceRole> serviceRoles, String features,
@@ -136,6 +137,18 @@ public class User {
         return sessionVersion;
     }
 
+    /**
+     * @see uk.gov.pay.adminusers.persistence.entity.UserEntity#getVersionFingerprint()
+     */
+    @JsonIgnore
+    public String getVersionFingerprint() {
+        return versionFingerprint;
+    }
+
+    public void setVersionFingerprint(String versionFingerprint) {
+        this.versionFingerprint = versionFingerprint;
+    }
+
     public SecondFactorMethod getSecondFactor() {
         return secondFactor;
     }
@@ -0,0 +1,9 @@
+package uk.gov.pay.adminusers.model;
+
+/**
+ * How a user search term is matched against email addresses and usernames, ignoring case.
+ */
+public enum UserSearchMatch {
+    PREFIX,
+    SUBSTRING
+}
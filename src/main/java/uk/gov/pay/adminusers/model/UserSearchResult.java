@@ -0,0 +1,50 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Narrow projection of a user found by a search, populated directly from the columns selected by the search query
+ * so that searching does not load service roles.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class UserSearchResult {
+
+    private final Integer id;
+    private final String externalId;
+    private final String username;
+    private final String email;
+    private final Boolean disabled;
+
+    public UserSearchResult(Integer id, String externalId, String username, String email, Boolean disabled) {
+        this.id = id;
+        this.externalId = externalId;
+        this.username = username;
+        this.email = email;
+        this.disabled = disabled;
+    }
+
+    @JsonIgnore
+    public Integer getId() {
+        return id;
+    }
+
+    public String getExternalId() {
+        return externalId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    @JsonGetter
+    public Boolean isDisabled() {
+        return disabled;
+    }
+}
@@ -0,0 +1,57 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of users found by a search. Pages are keyed on the last user returned rather than counted, so
+ * {@code next_cursor} is only present when there may be more users to fetch and is passed back as {@code cursor}
+ * to fetch them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class UserSearchResults {
+
+    private final List<UserSearchResult> results;
+    private final String nextCursor;
+
+    public UserSearchResults(List<UserSearchResult> results, String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    public static String cursorAfter(UserSearchResult lastResult) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastResult.getId()).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return the id of the user a cursor was made from, or empty if it is not a cursor this class made
+     */
+    public static Optional<Integer> idFromCursor(String cursor) {
+        try {
+            int id = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+            return id > 0 ? Optional.of(id) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public int getCount() {
+        return results.size();
+    }
+
+    public List<UserSearchResult> getResults() {
+        return results;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
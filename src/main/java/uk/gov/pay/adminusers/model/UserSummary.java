@@ -0,0 +1,51 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+/**
+ * Narrow projection of a user holding only what is needed to validate a session,
+ * populated directly from a JPQL constructor expression rather than a {@link User}.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class UserSummary {
+
+    private final String externalId;
+    private final Integer sessionVersion;
+    private final Boolean disabled;
+    private final SecondFactorMethod secondFactor;
+    private final Long version;
+
+    public UserSummary(String externalId, Integer sessionVersion, Boolean disabled,
+                       SecondFactorMethod secondFactor, Long version) {
+        this.externalId = externalId;
+        this.sessionVersion = sessionVersion;
+        this.disabled = disabled;
+        this.secondFactor = secondFactor;
+        this.version = version;
+    }
+
+    public String getExternalId() {
+        return externalId;
+    }
+
+    public Integer getSessionVersion() {
+        return sessionVersion;
+    }
+
+    @JsonGetter
+    public Boolean isDisabled() {
+        return disabled;
+    }
+
+    public SecondFactorMethod getSecondFactor() {
+        return secondFactor;
+    }
+
+    @JsonIgnore
+    public Long getVersion() {
+        return version;
+    }
+}
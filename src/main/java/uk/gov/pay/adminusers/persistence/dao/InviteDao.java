@@ -3,12 +3,19 @@ package uk.gov.pay.adminusers.persistence.dao;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.persist.Transactional;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
 import uk.gov.pay.adminusers.persistence.entity.InviteEntity;
 
 import javax.persistence.EntityManager;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.stream.Collectors.toUnmodifiableList;
+
 @Transactional
 public class InviteDao extends JpaDao<InviteEntity> {
 
@@ -28,6 +35,56 @@ public class InviteDao extends JpaDao<InviteEntity> {
                 .getResultList().stream().findFirst();
     }
 
+    /**
+     * Disables the invite with the code, as long as it has neither expired nor been disabled already. The check and
+     * the update are a single statement, so when the same invite is claimed concurrently the row lock makes all but
+     * the first claim wait and then find the invite disabled.
+     *
+     * @return the claimed invite, or empty if there is no invite with the code that can still be used
+     */
+    public Optional<InviteEntity> claimByCode(String code) {
+
+        String query = "UPDATE invites SET disabled = true, version = version + 1 " +
+                "WHERE code = ?1 AND NOT disabled AND expiry_date > now() " +
+                "RETURNING *";
+
+        List<?> claimedInvites = entityManager.get()
+                .createNativeQuery(query, InviteEntity.class)
+                .setParameter(1, code)
+                .setHint(QueryHints.REFRESH, HintValues.TRUE)
+                .getResultList();
+        return claimedInvites.stream().findFirst().map(InviteEntity.class::cast);
+    }
+
+    public void updateTelephoneNumberAndPassword(String code, String telephoneNumber, String password) {
+
+        String query = "UPDATE InviteEntity invite " +
+                "SET invite.telephoneNumber = :telephoneNumber, invite.password = :password, invite.version = invite.version + 1 " +
+                "WHERE invite.code = :code";
+
+        entityManager.get()
+                .createQuery(query)
+                .setParameter("telephoneNumber", telephoneNumber)
+                .setParameter("password", password)
+                .setParameter("code", code)
+                .executeUpdate();
+    }
+
+    /**
+     * @return the invite with the code, paired with whether a user already exists with the invite's email address
+     */
+    public Optional<Pair<InviteEntity, Boolean>> findByCodeWithUserExists(String code) {
+
+        String query = "SELECT invite, u.id FROM InviteEntity invite " +
+                "LEFT JOIN UserEntity u ON LOWER(u.email) = LOWER(invite.email) " +
+                "WHERE invite.code = :code";
+
+        return withUserExists(entityManager.get()
+                .createQuery(query, Object[].class)
+                .setParameter("code", code)
+                .getResultList()).stream().findFirst();
+    }
+
     public List<InviteEntity> findByEmail(String email) {
 
         String query = "SELECT invite FROM InviteEntity invite " +
@@ -49,4 +106,27 @@ public class InviteDao extends JpaDao<InviteEntity> {
                 .setParameter("serviceId", serviceId)
                 .getResultList();
     }
+
+    /**
+     * @return the invites for the service, each paired with whether a user already exists with its email address
+     */
+    public List<Pair<InviteEntity, Boolean>> findAllByServiceIdWithUserExists(String serviceId) {
+
+        String query = "SELECT invite, u.id FROM InviteEntity invite " +
+                "LEFT JOIN UserEntity u ON LOWER(u.email) = LOWER(invite.email) " +
+                "WHERE invite.service.externalId = :serviceId";
+
+        return withUserExists(entityManager.get()
+                .createQuery(query, Object[].class)
+                .setParameter("serviceId", serviceId)
+                .getResultList());
+    }
+
+    private static List<Pair<InviteEntity, Boolean>> withUserExists(List<Object[]> rows) {
+        Map<InviteEntity, Boolean> userExistsByInvite = new LinkedHashMap<>();
+        rows.forEach(row -> userExistsByInvite.merge((InviteEntity) row[0], row[1] != null, Boolean::logicalOr));
+        return userExistsByInvite.entrySet().stream()
+                .map(entry -> Pair.of(entry.getKey(), entry.getValue()))
+                .collect(toUnmodifiableList());
+    }
 }
@@ -37,4 +37,12 @@ public abstract class JpaDao<T> {
     public T merge(final T object) {
         return entityManager.get().merge(object);
     }
+
+    /**
+     * Writes pending changes now rather than at commit, so that versions are bumped, and conflicts detected,
+     * within the current transaction.
+     */
+    public void flush() {
+        entityManager.get().flush();
+    }
 }
@@ -2,27 +2,153 @@ package uk.gov.pay.adminusers.persistence.dao;
 
 import com.google.inject.Provider;
 import com.google.inject.persist.Transactional;
+import uk.gov.pay.adminusers.model.ServiceSummaryFilter;
+import uk.gov.pay.adminusers.model.ServiceSummaryReport;
 import uk.gov.pay.adminusers.persistence.entity.GatewayAccountIdEntity;
 import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Transactional
 public class ServiceDao extends JpaDao<ServiceEntity> {
 
+    public static final Set<String> BULK_UPDATABLE_COLUMNS = Set.of(
+            "archived",
+            "experimental_features_enabled",
+            "internal",
+            "agent_initiated_moto_enabled",
+            "collect_billing_address",
+            "redirect_to_service_immediately_on_terminal_state",
+            "sector",
+            "went_live_date");
+
     @Inject
     public ServiceDao(Provider<EntityManager> entityManager) {
         super(entityManager, ServiceEntity.class);
     }
 
-    public List<ServiceEntity> listAll() {
-        String query = "SELECT s FROM ServiceEntity as s";
+    /**
+     * @return up to {@code limit} services with ids greater than {@code afterId}, in order of id
+     */
+    public List<ServiceEntity> listAfterId(int afterId, int limit) {
+        String query = "SELECT s FROM ServiceEntity as s WHERE s.id > :afterId ORDER BY s.id";
         return entityManager.get()
                 .createQuery(query, ServiceEntity.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Counts services from the trigger-maintained service_summaries table in a single grouping-sets query, so
+     * that reporting does not load any service entities.
+     */
+    public ServiceSummaryReport summarise(ServiceSummaryFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        filter.getSector().ifPresent(sector -> addCondition(conditions, params, "sector = ?", sector));
+        filter.getInternal().ifPresent(internal -> addCondition(conditions, params, "COALESCE(internal, false) = ?", internal));
+        filter.getArchived().ifPresent(archived -> addCondition(conditions, params, "COALESCE(archived, false) = ?", archived));
+        filter.getLive().ifPresent(live -> addCondition(conditions, params, "(current_go_live_stage = 'LIVE') = ?", live));
+        filter.getGoLiveStage().ifPresent(stage -> addCondition(conditions, params, "current_go_live_stage = ?", stage.name()));
+        filter.getPspTestAccountStage().ifPresent(stage -> addCondition(conditions, params, "current_psp_test_account_stage = ?", stage.name()));
+
+        String query = "SELECT CASE WHEN GROUPING(current_go_live_stage) = 0 THEN 'go_live_stage' " +
+                "WHEN GROUPING(current_psp_test_account_stage) = 0 THEN 'psp_test_account_stage' " +
+                "WHEN GROUPING(sector) = 0 THEN 'sector' END, " +
+                "COALESCE(current_go_live_stage, current_psp_test_account_stage, sector), " +
+                "COUNT(*), " +
+                "COUNT(*) FILTER (WHERE current_go_live_stage = 'LIVE') " +
+                "FROM service_summaries" +
+                (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions)) +
+                " GROUP BY GROUPING SETS ((current_go_live_stage), (current_psp_test_account_stage), (sector), ())";
+        Query nativeQuery = entityManager.get().createNativeQuery(query);
+        IntStream.range(0, params.size()).forEach(i -> nativeQuery.setParameter(i + 1, params.get(i)));
+
+        long total = 0;
+        long live = 0;
+        Map<String, Map<String, Long>> countsByDimension = new HashMap<>();
+        for (Object result : nativeQuery.getResultList()) {
+            Object[] row = (Object[]) result;
+            long count = ((Number) row[2]).longValue();
+            if (row[0] == null) {
+                total = count;
+                live = ((Number) row[3]).longValue();
+            } else {
+                countsByDimension.computeIfAbsent((String) row[0], dimension -> new TreeMap<>())
+                        .put(row[1] == null ? ServiceSummaryReport.UNSPECIFIED : (String) row[1], count);
+            }
+        }
+        return new ServiceSummaryReport(total, live,
+                countsByDimension.getOrDefault("go_live_stage", Map.of()),
+                countsByDimension.getOrDefault("psp_test_account_stage", Map.of()),
+                countsByDimension.getOrDefault("sector", Map.of()));
+    }
+
+    private static void addCondition(List<String> conditions, List<Object> params, String condition, Object value) {
+        params.add(value);
+        conditions.add(condition + params.size());
+    }
+
+    /**
+     * Finds services whose service name, in any language, or merchant name contains the search term or is similar
+     * to it by trigram similarity. Both sides are answered from trigram indexes and the results ranked by the
+     * closest match either side.
+     *
+     * @return the services at {@code offset} to {@code offset + limit} in the ranking, best match first
+     */
+    public List<ServiceEntity> search(String searchTerm, long offset, int limit) {
+        String query = "SELECT service_id FROM (" +
+                "SELECT service_id, similarity(name, ?1) AS score FROM service_names " +
+                "WHERE name ILIKE ?2 OR name % ?1 " +
+                "UNION ALL " +
+                "SELECT id, similarity(merchant_name, ?1) FROM services " +
+                "WHERE merchant_name ILIKE ?2 OR merchant_name % ?1" +
+                ") matches " +
+                "GROUP BY service_id " +
+                "ORDER BY MAX(score) DESC, service_id " +
+                "LIMIT ?3 OFFSET ?4";
+        List<?> results = entityManager.get().createNativeQuery(query)
+                .setParameter(1, searchTerm)
+                .setParameter(2, "%" + escapeLikePattern(searchTerm) + "%")
+                .setParameter(3, limit)
+                .setParameter(4, offset)
                 .getResultList();
+        List<Integer> rankedIds = results.stream()
+                .map(id -> ((Number) id).intValue())
+                .collect(Collectors.toUnmodifiableList());
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, ServiceEntity> servicesById = entityManager.get()
+                .createQuery("SELECT s FROM ServiceEntity as s WHERE s.id IN :ids", ServiceEntity.class)
+                .setParameter("ids", rankedIds)
+                .getResultList().stream()
+                .collect(Collectors.toUnmodifiableMap(ServiceEntity::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(servicesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static String escapeLikePattern(String searchTerm) {
+        return searchTerm.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     public Optional<ServiceEntity> findByGatewayAccountId(String gatewayAccountId) {
@@ -47,14 +173,59 @@ public class ServiceDao extends JpaDao<ServiceEntity> {
                 .getSingleResult();
     }
 
+    /**
+     * @return for each of the given services that has any users with the role, the number of such users
+     */
+    public Map<String, Long> countOfUsersWithRoleForServices(Collection<String> serviceExternalIds, Integer roleId) {
+        if (serviceExternalIds.isEmpty()) {
+            return Map.of();
+        }
+        String query = "SELECT sr.service.externalId, COUNT(sr) FROM ServiceRoleEntity sr " +
+                "WHERE sr.role.id = :roleId AND sr.service.externalId IN :externalIds " +
+                "GROUP BY sr.service.externalId";
+        List<Object[]> counts = entityManager.get().createQuery(query, Object[].class)
+                .setParameter("roleId", roleId)
+                .setParameter("externalIds", serviceExternalIds)
+                .getResultList();
+        return counts.stream().collect(Collectors.toUnmodifiableMap(row -> (String) row[0], row -> (Long) row[1]));
+    }
+
     public boolean checkIfGatewayAccountsUsed(List<String> gatewayAccountsIds) {
-        String query = "SELECT count(*) FROM service_gateway_accounts WHERE gateway_account_id IN (?)";
-        long count = (long) entityManager.get().createNativeQuery(query)
-                .setParameter(1, String.join(",", gatewayAccountsIds))
+        String query = "SELECT count(g) FROM GatewayAccountIdEntity g WHERE g.gatewayAccountId IN :gatewayAccountIds";
+        long count = entityManager.get().createQuery(query, Long.class)
+                .setParameter("gatewayAccountIds", gatewayAccountsIds)
                 .getSingleResult();
         return count > 0;
     }
 
+    /**
+     * Runs one UPDATE per column and value, setting the column on all the listed services and bumping their
+     * versions, all in a single transaction. Column names cannot be bound so only {@link #BULK_UPDATABLE_COLUMNS}
+     * are accepted.
+     *
+     * @param serviceExternalIdsByValueByColumn column name to value to the external ids of the services to set it on
+     * @return the external ids of the services that exist and were updated
+     */
+    public Set<String> updateColumnsForServices(Map<String, Map<Object, List<String>>> serviceExternalIdsByValueByColumn) {
+        Set<String> updatedServiceExternalIds = new HashSet<>();
+        serviceExternalIdsByValueByColumn.forEach((column, serviceExternalIdsByValue) -> {
+            if (!BULK_UPDATABLE_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Column [" + column + "] cannot be bulk updated");
+            }
+            serviceExternalIdsByValue.forEach((value, serviceExternalIds) -> {
+                String positionalParams = IntStream.rangeClosed(2, serviceExternalIds.size() + 1)
+                        .mapToObj(i -> "?" + i)
+                        .collect(Collectors.joining(","));
+                Query query = entityManager.get().createNativeQuery("UPDATE services SET " + column + " = ?1, version = version + 1" +
+                        " WHERE external_id IN (" + positionalParams + ") RETURNING external_id");
+                query.setParameter(1, value);
+                IntStream.range(0, serviceExternalIds.size()).forEach(i -> query.setParameter(i + 2, serviceExternalIds.get(i)));
+                query.getResultList().forEach(externalId -> updatedServiceExternalIds.add((String) externalId));
+            });
+        });
+        return updatedServiceExternalIds;
+    }
+
     public Optional<ServiceEntity> findByExternalId(String serviceExternalId) {
         String query = "SELECT s FROM ServiceEntity as s WHERE s.externalId = :externalId";
         return entityManager.get()
@@ -64,4 +235,33 @@ public class ServiceDao extends JpaDao<ServiceEntity> {
                 .stream()
                 .findFirst();
     }
+
+    public List<ServiceEntity> findByExternalIds(Collection<String> serviceExternalIds) {
+        if (serviceExternalIds.isEmpty()) {
+            return List.of();
+        }
+        String query = "SELECT s FROM ServiceEntity as s WHERE s.externalId IN :externalIds";
+        return entityManager.get()
+                .createQuery(query, ServiceEntity.class)
+                .setParameter("externalIds", serviceExternalIds)
+                .getResultList();
+    }
+
+    public Optional<Long> findVersionByExternalId(String serviceExternalId) {
+        String query = "SELECT s.version FROM ServiceEntity as s WHERE s.externalId = :externalId";
+        return entityManager.get()
+                .createQuery(query, Long.class)
+                .setParameter("externalId", serviceExternalId)
+                .getResultList()
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Changes to service names and gateway accounts live in child tables and do not touch the services row,
+     * so the version has to be bumped explicitly for it to reflect them.
+     */
+    public void forceVersionIncrement(ServiceEntity serviceEntity) {
+        entityManager.get().lock(serviceEntity, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
 }
@@ -2,6 +2,9 @@ package uk.gov.pay.adminusers.persistence.dao;
 
 import com.google.inject.Provider;
 import com.google.inject.persist.Transactional;
+import uk.gov.pay.adminusers.model.UserSearchMatch;
+import uk.gov.pay.adminusers.model.UserSearchResult;
+import uk.gov.pay.adminusers.model.UserSummary;
 import uk.gov.pay.adminusers.persistence.entity.ServiceRoleEntity;
 import uk.gov.pay.adminusers.persistence.entity.UserEntity;
 
@@ -9,9 +12,12 @@ import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -22,6 +28,21 @@ import static java.util.stream.Collectors.toUnmodifiableMap;
 @Transactional
 public class UserDao extends JpaDao<UserEntity> {
 
+    /**
+     * Each side of the union is answered on its own from the {@code text_pattern_ops} index (prefix searches) or the
+     * trigram index (substring searches) on its lower-cased column. The two predicates are not ORed in one scan, as
+     * then the planner walks the primary key in id order filtering every row until it has found enough.
+     */
+    /* default */ static final String SEARCH_QUERY = "SELECT id, external_id, username, email, disabled FROM (" +
+            "SELECT id, external_id, username, email, disabled FROM users " +
+            "WHERE LOWER(email) LIKE ?1 ESCAPE '!' AND id > ?2 " +
+            "UNION " +
+            "SELECT id, external_id, username, email, disabled FROM users " +
+            "WHERE LOWER(username) LIKE ?1 ESCAPE '!' AND id > ?2" +
+            ") matches " +
+            "ORDER BY id " +
+            "LIMIT ?3";
+
     @Inject
     public UserDao(Provider<EntityManager> entityManager) {
         super(entityManager, UserEntity.class);
@@ -37,6 +58,69 @@ public class UserDao extends JpaDao<UserEntity> {
                 .getResultList().stream().findFirst();
     }
 
+    /**
+     * @return the {@link UserEntity#getVersionFingerprint() version fingerprint} of the user, from its version columns
+     * and those of its services in one query, without loading the user or its roles
+     */
+    public Optional<String> findVersionFingerprintByExternalId(String externalId) {
+        String query = "SELECT u.version, u.sessionVersion, s.id, r.id, s.version FROM UserEntity u " +
+                "LEFT JOIN u.servicesRoles sr " +
+                "LEFT JOIN sr.service s " +
+                "LEFT JOIN sr.role r " +
+                "WHERE LOWER(u.externalId) = LOWER(:externalId)";
+
+        List<Object[]> rows = entityManager.get()
+                .createQuery(query, Object[].class)
+                .setParameter("externalId", externalId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        List<String> serviceRoleVersions = rows.stream()
+                .filter(row -> row[2] != null)
+                .map(row -> UserEntity.serviceRoleVersion((Integer) row[2], (Integer) row[3], (Long) row[4]))
+                .collect(toUnmodifiableList());
+        return Optional.of(UserEntity.versionFingerprint((Long) rows.get(0)[0], (Integer) rows.get(0)[1], serviceRoleVersions));
+    }
+
+    public Optional<UserSummary> findSummaryByExternalId(String externalId) {
+        String query = "SELECT NEW uk.gov.pay.adminusers.model.UserSummary(u.externalId, u.sessionVersion, u.disabled, u.secondFactor, u.version) " +
+                "FROM UserEntity u " +
+                "WHERE LOWER(u.externalId) = LOWER(:externalId)";
+
+        return entityManager.get()
+                .createQuery(query, UserSummary.class)
+                .setParameter("externalId", externalId)
+                .getResultList().stream().findFirst();
+    }
+
+    /**
+     * Finds users whose email address or username starts with, or contains, the search term, ignoring case.
+     *
+     * @return up to {@code limit} matching users with ids greater than {@code afterId}, in order of id
+     */
+    public List<UserSearchResult> search(String searchTerm, UserSearchMatch match, int afterId, int limit) {
+        List<?> rows = entityManager.get()
+                .createNativeQuery(SEARCH_QUERY)
+                .setParameter(1, searchPattern(searchTerm, match))
+                .setParameter(2, afterId)
+                .setParameter(3, limit)
+                .getResultList();
+        return rows.stream()
+                .map(Object[].class::cast)
+                .map(row -> new UserSearchResult(((Number) row[0]).intValue(), (String) row[1], (String) row[2],
+                        (String) row[3], (Boolean) row[4]))
+                .collect(toUnmodifiableList());
+    }
+
+    /* default */ static String searchPattern(String searchTerm, UserSearchMatch match) {
+        String escapedTerm = searchTerm.toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return match == UserSearchMatch.PREFIX ? escapedTerm + "%" : "%" + escapedTerm + "%";
+    }
+
     public List<UserEntity> findByExternalIds(List<String> externalIds) {
         String query = "SELECT u FROM UserEntity u WHERE LOWER(u.externalId) in :externalIds";
 
@@ -91,6 +175,24 @@ public class UserDao extends JpaDao<UserEntity> {
                 .getResultList().stream().findFirst();
     }
 
+    /**
+     * @return those of the given usernames that are already taken, lower-cased
+     */
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Set.of();
+        }
+        String query = "SELECT LOWER(u.username) FROM UserEntity u " +
+                "WHERE LOWER(u.username) IN :usernames";
+
+        List<String> lowerCaseUsernames = usernames.stream().map(String::toLowerCase).collect(toUnmodifiableList());
+
+        return Set.copyOf(entityManager.get()
+                .createQuery(query, String.class)
+                .setParameter("usernames", lowerCaseUsernames)
+                .getResultList());
+    }
+
     public Optional<UserEntity> findByEmail(String email) {
         String query = "SELECT u FROM UserEntity u " +
                 "WHERE LOWER(u.email) = LOWER(:email)";
@@ -101,6 +203,26 @@ public class UserDao extends JpaDao<UserEntity> {
                 .getResultList().stream().findFirst();
     }
 
+    /**
+     * Gives the user with the email address the role in the service, without loading the user's existing roles.
+     *
+     * @return the external id of the user, or empty if there is no user with the email address
+     */
+    public Optional<String> addServiceRoleByEmail(String email, Integer serviceId, Integer roleId) {
+        String query = "WITH u AS (SELECT id, external_id FROM users WHERE LOWER(email) = LOWER(?1)), " +
+                "usr AS (INSERT INTO user_services_roles (user_id, service_id, role_id) " +
+                "SELECT id, ?2, ?3 FROM u RETURNING user_id) " +
+                "SELECT u.external_id FROM u JOIN usr ON usr.user_id = u.id";
+
+        List<?> externalIds = entityManager.get()
+                .createNativeQuery(query)
+                .setParameter(1, email)
+                .setParameter(2, serviceId)
+                .setParameter(3, roleId)
+                .getResultList();
+        return externalIds.stream().findFirst().map(String.class::cast);
+    }
+
     public List<UserEntity> findByServiceId(Integer serviceId) {
 
         String query = "SELECT s FROM ServiceRoleEntity s " +
@@ -1,45 +1,38 @@
 package uk.gov.pay.adminusers.persistence.entity;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.postgresql.util.PGobject;
+import uk.gov.pay.adminusers.model.CustomBranding;
 
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
-import java.io.IOException;
 import java.sql.SQLException;
-import java.util.Map;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+/**
+ * Maps the jsonb column to {@link CustomBranding} without parsing it; the JSON is only parsed if the branding is
+ * read as a map.
+ */
 @Converter
-public class CustomBrandingConverter implements AttributeConverter<Map<String, Object>, PGobject> {
-    
-    private static ObjectMapper objectMapper = new ObjectMapper();
+public class CustomBrandingConverter implements AttributeConverter<CustomBranding, PGobject> {
 
     @Override
-    public PGobject convertToDatabaseColumn(Map<String, Object> customBranding) {
+    public PGobject convertToDatabaseColumn(CustomBranding customBranding) {
         PGobject dbCustomBranding = new PGobject();
-        dbCustomBranding.setType("json");
+        dbCustomBranding.setType("jsonb");
         try {
-            dbCustomBranding.setValue(objectMapper.writeValueAsString(customBranding));
-        } catch (SQLException | JsonProcessingException e) {
+            dbCustomBranding.setValue(customBranding == null ? null : customBranding.toJson());
+        } catch (SQLException e) {
             throw new RuntimeException(e);
         }
         return dbCustomBranding;
     }
 
     @Override
-    public Map<String, Object> convertToEntityAttribute(PGobject dbCustomBranding) {
-        try {
-            if (dbCustomBranding == null || isEmpty(dbCustomBranding.toString())) {
-                return null;
-            } else {
-                return objectMapper.readValue(dbCustomBranding.toString(), new TypeReference<>() {});
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    public CustomBranding convertToEntityAttribute(PGobject dbCustomBranding) {
+        if (dbCustomBranding == null || isEmpty(dbCustomBranding.getValue())) {
+            return null;
         }
+        return CustomBranding.fromJson(dbCustomBranding.getValue());
     }
 }
@@ -1,5 +1,6 @@
 package uk.gov.pay.adminusers.persistence.entity;
 
+import uk.gov.pay.adminusers.model.CustomBranding;
 import uk.gov.pay.adminusers.model.GoLiveStage;
 import uk.gov.pay.adminusers.model.PspTestAccountStage;
 import uk.gov.pay.adminusers.model.Service;
@@ -20,6 +21,7 @@ import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -44,6 +46,10 @@ public class ServiceEntity {
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "services_seq_gen")
     private Integer id;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @Column(name = "external_id")
     private String externalId;
 
@@ -56,9 +62,9 @@ public class ServiceEntity {
     @Embedded
     private MerchantDetailsEntity merchantDetailsEntity;
 
-    @Column(name = "custom_branding", columnDefinition = "json")
+    @Column(name = "custom_branding", columnDefinition = "jsonb")
     @Convert(converter = CustomBrandingConverter.class)
-    private Map<String, Object> customBranding;
+    private CustomBranding customBranding;
 
     @OneToMany(mappedBy = "service", targetEntity = GatewayAccountIdEntity.class, fetch = FetchType.EAGER, cascade = CascadeType.PERSIST)
     private List<GatewayAccountIdEntity> gatewayAccountIds = new ArrayList<>();
@@ -127,6 +133,10 @@ public class ServiceEntity {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public boolean isRedirectToServiceImmediatelyOnTerminalState() {
         return redirectToServiceImmediatelyOnTerminalState;
     }
@@ -168,11 +178,11 @@ public class ServiceEntity {
     }
 
     public Map<String, Object> getCustomBranding() {
-        return customBranding;
+        return customBranding == null ? null : customBranding.asMap();
     }
 
     public void setCustomBranding(Map<String, Object> customBranding) {
-        this.customBranding = customBranding;
+        this.customBranding = CustomBranding.fromMap(customBranding);
     }
 
     public GoLiveStage getCurrentGoLiveStage() {
@@ -267,6 +277,7 @@ public class ServiceEntity {
                 .map(GatewayAccountIdEntity::getGatewayAccountId)
                 .collect(toUnmodifiableList()));
         service.setCustomBranding(this.customBranding);
+        service.setVersion(this.version);
         if (this.merchantDetailsEntity != null) {
             service.setMerchantDetails(this.merchantDetailsEntity.toMerchantDetails());
         }
@@ -1,5 +1,6 @@
 package uk.gov.pay.adminusers.persistence.entity;
 
+import com.google.common.hash.Hashing;
 import uk.gov.pay.adminusers.app.util.RandomIdGenerator;
 import uk.gov.pay.adminusers.model.CreateUserRequest;
 import uk.gov.pay.adminusers.model.SecondFactorMethod;
@@ -14,6 +15,7 @@ import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -22,6 +24,7 @@ import java.util.Optional;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toUnmodifiableList;
 
 @Entity
@@ -289,10 +292,41 @@ public class UserEntity extends AbstractEntity {
         user.setLoginCounter(loginCounter);
         user.setDisabled(disabled);
         user.setSessionVersion(sessionVersion);
+        user.setVersionFingerprint(getVersionFingerprint());
 
         return user;
     }
 
+    /**
+     * Digest of everything that can change the representation of the user: its own version and session version,
+     * plus the role held in, and version of, each of its services. Taken from this entity as loaded, so it always
+     * describes the same state as a {@link User} made from it.
+     */
+    public String getVersionFingerprint() {
+        return versionFingerprint(getVersion(), sessionVersion, servicesRoles.stream()
+                .map(serviceRole -> serviceRoleVersion(serviceRole.getService().getId(), serviceRole.getRole().getId(),
+                        serviceRole.getService().getVersion()))
+                .collect(toUnmodifiableList()));
+    }
+
+    /**
+     * The same digest as {@link #getVersionFingerprint()}, from the columns alone, for answering conditional requests
+     * without loading the user.
+     *
+     * @param serviceRoleVersions one {@link #serviceRoleVersion(Integer, Integer, Long)} for each service the user
+     *                            has a role in, in any order
+     */
+    public static String versionFingerprint(Long version, Integer sessionVersion, List<String> serviceRoleVersions) {
+        String serviceVersions = serviceRoleVersions.stream().sorted().collect(joining(","));
+        return Hashing.sha256()
+                .hashString(version + ":" + sessionVersion + ":" + serviceVersions, StandardCharsets.UTF_8)
+                .toString();
+    }
+
+    public static String serviceRoleVersion(Integer serviceId, Integer roleId, Long serviceVersion) {
+        return serviceId + ":" + roleId + ":" + serviceVersion;
+    }
+
     public void addServiceRole(ServiceRoleEntity serviceRole) {
         serviceRole.setUser(this);
         this.servicesRoles.add(serviceRole);
@@ -0,0 +1,54 @@
+package uk.gov.pay.adminusers.resources;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.Inject;
+import uk.gov.pay.adminusers.app.config.AdminUsersConfig;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.CompletionCallback;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.userNotificationError;
+
+/**
+ * Resumes suspended requests once the work they are waiting on, typically a call to GOV.UK Notify, has finished.
+ * Requests still waiting after the configured timeout fail with the same error as a failed notification.
+ */
+public class AsyncResponder {
+
+    private final long timeoutMillis;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter timeouts;
+
+    @Inject
+    public AsyncResponder(AdminUsersConfig config, MetricRegistry metricRegistry) {
+        this.timeoutMillis = config.getNotifyConfiguration().getAsyncResponseTimeout().toMilliseconds();
+        Gauge<Integer> inFlightGauge = inFlight::get;
+        metricRegistry.gauge("async-responses.in_flight", () -> inFlightGauge);
+        this.timeouts = metricRegistry.counter("async-responses.timeouts");
+    }
+
+    public void resume(AsyncResponse asyncResponse, CompletionStage<Response> response) {
+        inFlight.incrementAndGet();
+        asyncResponse.register((CompletionCallback) throwable -> inFlight.decrementAndGet());
+        asyncResponse.setTimeoutHandler(timedOutResponse -> {
+            timeouts.inc();
+            timedOutResponse.resume(userNotificationError());
+        });
+        asyncResponse.setTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        response.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                asyncResponse.resume(result);
+            } else {
+                asyncResponse.resume(throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable);
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package uk.gov.pay.adminusers.resources;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.util.Optional;
+
+/* default */ final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /* default */ static EntityTag forUserSummary(Long version) {
+        return new EntityTag(String.valueOf(version));
+    }
+
+    /* default */ static EntityTag forUser(String versionFingerprint) {
+        return new EntityTag(versionFingerprint);
+    }
+
+    /* default */ static EntityTag forService(Long version) {
+        return new EntityTag(String.valueOf(version));
+    }
+
+    /**
+     * @return a 304 or 412 response if the request's conditional headers are not satisfied by the given tag,
+     * otherwise empty so the request can be processed as normal
+     */
+    /* default */ static Optional<Response> evaluatePreconditions(Request request, EntityTag entityTag) {
+        return Optional.ofNullable(request.evaluatePreconditions(entityTag))
+                .map(responseBuilder -> responseBuilder.tag(entityTag).build());
+    }
+
+    /**
+     * For checking a request's conditional headers against the state loaded inside the transaction that updates it.
+     */
+    /* default */ static boolean preconditionsMet(Request request, EntityTag entityTag) {
+        return request.evaluatePreconditions(entityTag) == null;
+    }
+}
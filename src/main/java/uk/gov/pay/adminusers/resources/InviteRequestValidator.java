@@ -46,8 +46,14 @@ public class InviteRequestValidator {
         return missingMandatoryFields.map(Errors::from);
     }
 
-    public Optional<Errors> validateGenerateOtpRequest(JsonNode payload) {
-        Optional<List<String>> missingMandatoryFields = requestValidations.checkExistsAndNotEmpty(payload, FIELD_TELEPHONE_NUMBER, FIELD_PASSWORD);
+    /**
+     * @param passwordRequired whether the password must be sent, as opposed to only checked when it is sent
+     */
+    public Optional<Errors> validateGenerateOtpRequest(JsonNode payload, boolean passwordRequired) {
+        boolean passwordSent = payload != null && payload.has(FIELD_PASSWORD);
+        Optional<List<String>> missingMandatoryFields = passwordRequired || passwordSent
+                ? requestValidations.checkExistsAndNotEmpty(payload, FIELD_TELEPHONE_NUMBER, FIELD_PASSWORD)
+                : requestValidations.checkExistsAndNotEmpty(payload, FIELD_TELEPHONE_NUMBER);
         if (missingMandatoryFields.isPresent()) {
             return Optional.of(Errors.from(missingMandatoryFields.get()));
         }
@@ -14,6 +14,7 @@ import uk.gov.pay.adminusers.model.InviteValidateOtpRequest;
 import uk.gov.pay.adminusers.model.User;
 import uk.gov.pay.adminusers.service.InviteCompleter;
 import uk.gov.pay.adminusers.service.InviteOtpDispatcher;
+import uk.gov.pay.adminusers.service.InviteOtpRateLimiter;
 import uk.gov.pay.adminusers.service.InviteService;
 import uk.gov.pay.adminusers.service.InviteServiceFactory;
 import uk.gov.pay.adminusers.service.ValidateOtpAndCreateUserResult;
@@ -39,7 +40,7 @@ import static javax.ws.rs.core.Response.Status.CREATED;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
-import static uk.gov.pay.adminusers.service.AdminUsersExceptions.internalServerError;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.tooManyInviteOtpRequests;
 
 @Path(InviteResource.INVITES_RESOURCE)
 public class InviteResource {
@@ -52,12 +53,15 @@ public class InviteResource {
     private final InviteService inviteService;
     private final InviteRequestValidator inviteValidator;
     private final InviteServiceFactory inviteServiceFactory;
+    private final InviteOtpRateLimiter inviteOtpRateLimiter;
 
     @Inject
-    public InviteResource(InviteService service, InviteRequestValidator inviteValidator, InviteServiceFactory inviteServiceFactory) {
+    public InviteResource(InviteService service, InviteRequestValidator inviteValidator, InviteServiceFactory inviteServiceFactory,
+                          InviteOtpRateLimiter inviteOtpRateLimiter) {
         inviteService = service;
         this.inviteServiceFactory = inviteServiceFactory;
         this.inviteValidator = inviteValidator;
+        this.inviteOtpRateLimiter = inviteOtpRateLimiter;
     }
 
     @GET
@@ -119,19 +123,20 @@ public class InviteResource {
 
         return inviteServiceFactory.inviteOtpRouter().routeOtpDispatch(inviteCode)
                 .map(inviteOtpDispatcherValidate -> {
+                    InviteOtpDispatcher otpDispatcher = inviteOtpDispatcherValidate.getLeft();
                     if(inviteOtpDispatcherValidate.getRight()){
-                        Optional<Errors> errors = inviteValidator.validateGenerateOtpRequest(payload);
+                        Optional<Errors> errors = inviteValidator.validateGenerateOtpRequest(payload, !otpDispatcher.inviteHasPassword());
                         if(errors.isPresent()){
                             return Response.status(BAD_REQUEST).entity(errors).build();
                         }
                     }
 
-                    InviteOtpDispatcher otpDispatcher = inviteOtpDispatcherValidate.getLeft();
-                    if(otpDispatcher.withData(InviteOtpRequest.from(payload)).dispatchOtp(inviteCode)){
-                        return Response.status(OK).build();
-                    } else {
-                        throw internalServerError("unable to dispatch otp at this moment");
+                    if (!inviteOtpRateLimiter.tryAcquire(inviteCode)) {
+                        throw tooManyInviteOtpRequests(inviteCode);
                     }
+
+                    otpDispatcher.withData(InviteOtpRequest.from(payload)).dispatchOtp();
+                    return Response.status(OK).build();
                 })
                 .orElseGet(() -> Response.status(NOT_FOUND).build());
     }
@@ -184,7 +189,11 @@ public class InviteResource {
         return inviteValidator.validateResendOtpRequest(payload)
                 .map(errors -> Response.status(BAD_REQUEST).entity(errors).build())
                 .orElseGet(() -> {
-                    inviteService.reGenerateOtp(InviteOtpRequest.from(payload));
+                    InviteOtpRequest inviteOtpRequest = InviteOtpRequest.from(payload);
+                    if (!inviteOtpRateLimiter.tryAcquire(inviteOtpRequest.getCode())) {
+                        throw tooManyInviteOtpRequests(inviteOtpRequest.getCode());
+                    }
+                    inviteService.reGenerateOtp(inviteOtpRequest);
                     return Response.status(OK).build();
                 });
     }
@@ -0,0 +1,65 @@
+package uk.gov.pay.adminusers.resources;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Writes a JSON array to the response one element at a time, taking each element from the iterator only when it is
+ * about to be written. Neither the list of elements nor the JSON for all of them is held in memory at once.
+ * <p>
+ * The first element is taken when this is created, inside the resource method, so a failure fetching it (such as the
+ * database being unavailable) still results in an error response. A failure after that, once the response has been
+ * committed, is logged and rethrown without ending the array, so the container aborts the connection and the client
+ * sees an incomplete response rather than a shorter list.
+ */
+public class JsonArrayStreamingOutput implements StreamingOutput {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonArrayStreamingOutput.class);
+
+    private final ObjectWriter elementWriter;
+    private final Iterator<?> elements;
+
+    /**
+     * @param elementWriter a writer for the type of the elements, from {@link #elementWriter(ObjectMapper, Class)}
+     */
+    public JsonArrayStreamingOutput(ObjectWriter elementWriter, Iterator<?> elements) {
+        this.elementWriter = elementWriter;
+        this.elements = elements;
+        elements.hasNext();
+    }
+
+    /**
+     * @return a writer for elements of the type, with its serialiser already looked up. Writers are immutable, so
+     * resources create one for each type they stream and reuse it for every response.
+     */
+    public static ObjectWriter elementWriter(ObjectMapper objectMapper, Class<?> elementType) {
+        return objectMapper.writerFor(elementType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        try (JsonGenerator generator = elementWriter.getFactory().createGenerator(output)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+            generator.writeStartArray();
+            try {
+                while (elements.hasNext()) {
+                    elementWriter.writeValue(generator, elements.next());
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to fetch the next element of a streamed JSON array, aborting the response", e);
+                throw e;
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package uk.gov.pay.adminusers.resources;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.lang3.EnumUtils;
 import uk.gov.pay.adminusers.exception.ValidationException;
+import uk.gov.pay.adminusers.model.GoLiveStage;
+import uk.gov.pay.adminusers.model.PspTestAccountStage;
 import uk.gov.pay.adminusers.utils.Errors;
 import uk.gov.pay.adminusers.validations.RequestValidations;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import static java.lang.String.format;
 import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.math.NumberUtils.isDigits;
+import static uk.gov.pay.adminusers.model.ServiceBulkUpdateRequest.FIELD_SERVICE_EXTERNAL_ID;
+import static uk.gov.pay.adminusers.model.ServiceBulkUpdateRequest.FIELD_UPDATES;
 
 public class ServiceRequestValidator {
 
@@ -23,6 +33,10 @@ public class ServiceRequestValidator {
 
     private static final int FIELD_MERCHANT_DETAILS_NAME_MAX_LENGTH = 255;
     private static final int FIELD_MERCHANT_DETAILS_EMAIL_MAX_LENGTH = 255;
+    /* default */ static final int BULK_UPDATE_MAX_SERVICES = 1000;
+    /* default */ static final int SEARCH_TERM_MIN_LENGTH = 3;
+    /* default */ static final int SEARCH_TERM_MAX_LENGTH = 255;
+    /* default */ static final int SEARCH_MAX_DISPLAY_SIZE = 100;
 
     private final RequestValidations requestValidations;
     private final ServiceUpdateOperationValidator serviceUpdateOperationValidator;
@@ -51,6 +65,38 @@ public class ServiceRequestValidator {
         return Optional.empty();
     }
 
+    /* default */ Optional<Errors> validateBulkUpdateRequest(JsonNode payload) {
+        if (payload == null || !payload.isArray() || payload.isEmpty()) {
+            return Optional.of(Errors.from("Request must be a non-empty array of service updates"));
+        }
+        if (payload.size() > BULK_UPDATE_MAX_SERVICES) {
+            return Optional.of(Errors.from(format("A maximum of %d services can be updated in one request", BULK_UPDATE_MAX_SERVICES)));
+        }
+
+        List<String> errors = new ArrayList<>();
+        Set<String> serviceExternalIds = new HashSet<>();
+        for (JsonNode serviceUpdate : payload) {
+            JsonNode serviceExternalId = serviceUpdate.get(FIELD_SERVICE_EXTERNAL_ID);
+            JsonNode updates = serviceUpdate.get(FIELD_UPDATES);
+            if (serviceExternalId == null || !serviceExternalId.isTextual() || isBlank(serviceExternalId.asText())) {
+                errors.add(format("Field [%s] is required", FIELD_SERVICE_EXTERNAL_ID));
+            } else if (!serviceExternalIds.add(serviceExternalId.asText())) {
+                errors.add(format("Service [%s] appears more than once", serviceExternalId.asText()));
+            }
+            if (updates == null || !updates.isArray() || updates.isEmpty()) {
+                errors.add(format("Field [%s] must be a non-empty array", FIELD_UPDATES));
+            } else {
+                validateUpdateAttributeRequest(updates).ifPresent(updateErrors -> errors.addAll(updateErrors.getErrors()));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            return Optional.of(Errors.from(errors));
+        }
+
+        return Optional.empty();
+    }
+
     /* default */ void validateUpdateMerchantDetailsRequest(JsonNode payload) throws ValidationException {
         Optional<List<String>> missingMandatoryFieldErrors = requestValidations.checkExistsAndNotEmpty(payload,
                 FIELD_MERCHANT_DETAILS_NAME, FIELD_MERCHANT_DETAILS_ADDRESS_LINE1,
@@ -91,4 +137,43 @@ public class ServiceRequestValidator {
         return Optional.empty();
     }
 
+    /* default */ Optional<Errors> validateSummaryRequest(String internal, String archived, String live,
+                                                         String goLiveStage, String pspTestAccountStage) {
+        List<String> errors = new ArrayList<>();
+        validateBooleanParam("internal", internal).ifPresent(errors::add);
+        validateBooleanParam("archived", archived).ifPresent(errors::add);
+        validateBooleanParam("live", live).ifPresent(errors::add);
+        if (goLiveStage != null && !EnumUtils.isValidEnum(GoLiveStage.class, goLiveStage)) {
+            errors.add(format("Parameter [go_live_stage] must be one of %s", Arrays.toString(GoLiveStage.values())));
+        }
+        if (pspTestAccountStage != null && !EnumUtils.isValidEnum(PspTestAccountStage.class, pspTestAccountStage)) {
+            errors.add(format("Parameter [psp_test_account_stage] must be one of %s", Arrays.toString(PspTestAccountStage.values())));
+        }
+        return errors.isEmpty() ? Optional.empty() : Optional.of(Errors.from(errors));
+    }
+
+    /* default */ Optional<Errors> validateSearchRequest(String searchTerm, String page, String displaySize) {
+        List<String> errors = new ArrayList<>();
+        if (isBlank(searchTerm) || searchTerm.strip().length() < SEARCH_TERM_MIN_LENGTH) {
+            errors.add(format("Parameter [q] must be at least %d characters", SEARCH_TERM_MIN_LENGTH));
+        } else if (searchTerm.length() > SEARCH_TERM_MAX_LENGTH) {
+            errors.add(format("Parameter [q] must be no more than %d characters", SEARCH_TERM_MAX_LENGTH));
+        }
+        if (!isDigits(page) || page.length() > 9 || Integer.parseInt(page) < 1) {
+            errors.add("Parameter [page] must be a positive integer");
+        }
+        if (!isDigits(displaySize) || displaySize.length() > 9 || Integer.parseInt(displaySize) < 1
+                || Integer.parseInt(displaySize) > SEARCH_MAX_DISPLAY_SIZE) {
+            errors.add(format("Parameter [display_size] must be between 1 and %d", SEARCH_MAX_DISPLAY_SIZE));
+        }
+        return errors.isEmpty() ? Optional.empty() : Optional.of(Errors.from(errors));
+    }
+
+    private static Optional<String> validateBooleanParam(String param, String value) {
+        if (value == null || "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+            return Optional.empty();
+        }
+        return Optional.of(format("Parameter [%s] must be true or false", param));
+    }
+
 }
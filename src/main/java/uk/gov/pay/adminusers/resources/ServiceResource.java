@@ -1,14 +1,22 @@
 package uk.gov.pay.adminusers.resources;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.Iterators;
 import com.google.inject.Inject;
 import io.dropwizard.jersey.PATCH;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.pay.adminusers.exception.ServiceNotFoundException;
 import uk.gov.pay.adminusers.exception.ValidationException;
+import uk.gov.pay.adminusers.model.GoLiveStage;
 import uk.gov.pay.adminusers.model.GovUkPayAgreement;
+import uk.gov.pay.adminusers.model.PspTestAccountStage;
 import uk.gov.pay.adminusers.model.Service;
+import uk.gov.pay.adminusers.model.ServiceBulkUpdateRequest;
+import uk.gov.pay.adminusers.model.ServiceSearchResults;
+import uk.gov.pay.adminusers.model.ServiceSummaryFilter;
 import uk.gov.pay.adminusers.model.ServiceUpdateRequest;
 import uk.gov.pay.adminusers.model.StripeAgreement;
 import uk.gov.pay.adminusers.model.StripeAgreementRequest;
@@ -17,8 +25,10 @@ import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
 import uk.gov.pay.adminusers.persistence.dao.UserDao;
 import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
 import uk.gov.pay.adminusers.persistence.entity.UserEntity;
+import uk.gov.pay.adminusers.service.BatchIterator;
 import uk.gov.pay.adminusers.service.GovUkPayAgreementService;
 import uk.gov.pay.adminusers.service.LinksBuilder;
+import uk.gov.pay.adminusers.service.OptimisticLockRetrier;
 import uk.gov.pay.adminusers.service.SendLiveAccountCreatedEmailService;
 import uk.gov.pay.adminusers.service.ServiceServicesFactory;
 import uk.gov.pay.adminusers.service.StripeAgreementService;
@@ -29,6 +39,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
@@ -38,20 +49,27 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toUnmodifiableList;
+import static javax.ws.rs.core.HttpHeaders.IF_MATCH;
+import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
@@ -73,6 +91,8 @@ public class ServiceResource {
 
     public static final String FIELD_NAME = "name";
 
+    /* default */ static final int LIST_BATCH_SIZE = 500;
+
     private final UserDao userDao;
     private final ServiceDao serviceDao;
     private final LinksBuilder linksBuilder;
@@ -82,6 +102,8 @@ public class ServiceResource {
     private final GovUkPayAgreementRequestValidator govUkPayAgreementRequestValidator;
     private final GovUkPayAgreementService govUkPayAgreementService;
     private final SendLiveAccountCreatedEmailService sendLiveAccountCreatedEmailService;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final ObjectWriter servicesWriter;
     
 
     @Inject
@@ -93,7 +115,9 @@ public class ServiceResource {
                            StripeAgreementService stripeAgreementService,
                            GovUkPayAgreementRequestValidator govUkPayAgreementRequestValidator,
                            GovUkPayAgreementService govUkPayAgreementService,
-                           SendLiveAccountCreatedEmailService sendLiveAccountCreatedEmailService) {
+                           SendLiveAccountCreatedEmailService sendLiveAccountCreatedEmailService,
+                           OptimisticLockRetrier optimisticLockRetrier,
+                           ObjectMapper objectMapper) {
         this.userDao = userDao;
         this.serviceDao = serviceDao;
         this.linksBuilder = linksBuilder;
@@ -103,6 +127,8 @@ public class ServiceResource {
         this.govUkPayAgreementRequestValidator = govUkPayAgreementRequestValidator;
         this.govUkPayAgreementService = govUkPayAgreementService;
         this.sendLiveAccountCreatedEmailService = sendLiveAccountCreatedEmailService;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+        this.servicesWriter = JsonArrayStreamingOutput.elementWriter(objectMapper, Service.class);
     }
 
     @GET
@@ -110,23 +136,78 @@ public class ServiceResource {
     @Produces(APPLICATION_JSON)
     public Response getServices() {
         LOGGER.info("Get Services request");
-        List<Service> services = serviceDao.listAll().stream().map(ServiceEntity::toService).map(linksBuilder::decorate).collect(toUnmodifiableList());
+        Iterator<ServiceEntity> serviceEntities = new BatchIterator<>(LIST_BATCH_SIZE,
+                last -> serviceDao.listAfterId(last.map(ServiceEntity::getId).orElse(0), LIST_BATCH_SIZE));
+        Iterator<Service> services = Iterators.transform(serviceEntities, serviceEntity -> linksBuilder.decorate(serviceEntity.toService()));
         return Response
                 .status(OK)
-                .entity(services)
+                .type(APPLICATION_JSON)
+                .entity(new JsonArrayStreamingOutput(servicesWriter, services))
                 .build();
     }
 
+    @GET
+    @Path("/summary")
+    @Produces(APPLICATION_JSON)
+    public Response getServicesSummary(@QueryParam("sector") String sector,
+                                       @QueryParam("internal") String internal,
+                                       @QueryParam("archived") String archived,
+                                       @QueryParam("live") String live,
+                                       @QueryParam("go_live_stage") String goLiveStage,
+                                       @QueryParam("psp_test_account_stage") String pspTestAccountStage) {
+        LOGGER.info("Get Services summary request");
+        return serviceRequestValidator.validateSummaryRequest(internal, archived, live, goLiveStage, pspTestAccountStage)
+                .map(errors -> Response.status(BAD_REQUEST).entity(errors).build())
+                .orElseGet(() -> {
+                    ServiceSummaryFilter filter = new ServiceSummaryFilter(
+                            sector,
+                            internal == null ? null : Boolean.valueOf(internal),
+                            archived == null ? null : Boolean.valueOf(archived),
+                            live == null ? null : Boolean.valueOf(live),
+                            goLiveStage == null ? null : GoLiveStage.valueOf(goLiveStage),
+                            pspTestAccountStage == null ? null : PspTestAccountStage.valueOf(pspTestAccountStage));
+                    return Response.status(OK).entity(serviceDao.summarise(filter)).build();
+                });
+    }
+
+    @GET
+    @Path("/search")
+    @Produces(APPLICATION_JSON)
+    public Response searchServices(@QueryParam("q") String searchTerm,
+                                   @QueryParam("page") @DefaultValue("1") String page,
+                                   @QueryParam("display_size") @DefaultValue("20") String displaySize) {
+        LOGGER.info("Search Services request");
+        return serviceRequestValidator.validateSearchRequest(searchTerm, page, displaySize)
+                .map(errors -> Response.status(BAD_REQUEST).entity(errors).build())
+                .orElseGet(() -> {
+                    int pageNumber = Integer.parseInt(page);
+                    int pageSize = Integer.parseInt(displaySize);
+                    List<Service> services = serviceDao.search(searchTerm.strip(), (pageNumber - 1L) * pageSize, pageSize)
+                            .stream()
+                            .map(serviceEntity -> linksBuilder.decorate(serviceEntity.toService()))
+                            .collect(toUnmodifiableList());
+                    return Response.status(OK).entity(new ServiceSearchResults(pageNumber, pageSize, services)).build();
+                });
+    }
+
     @GET
     @Path("/{serviceExternalId}")
     @Produces(APPLICATION_JSON)
-    public Response findService(@PathParam("serviceExternalId") String serviceExternalId) {
+    public Response findService(@PathParam("serviceExternalId") String serviceExternalId,
+                                @HeaderParam(IF_NONE_MATCH) String ifNoneMatch,
+                                @Context Request request) {
         LOGGER.info("Find Service request - [ {} ]", serviceExternalId);
-        return serviceDao.findByExternalId(serviceExternalId)
-                .map(serviceEntity ->
-                        Response.status(OK).entity(linksBuilder.decorate(serviceEntity.toService())).build())
-                .orElseGet(() ->
-                        Response.status(NOT_FOUND).build());
+        return evaluateConditionalHeader(serviceExternalId, ifNoneMatch, request)
+                .orElseGet(() -> serviceDao.findByExternalId(serviceExternalId)
+                        .map(serviceEntity -> {
+                            ResponseBuilder responseBuilder = Response.status(OK).entity(linksBuilder.decorate(serviceEntity.toService()));
+                            Optional.ofNullable(serviceEntity.getVersion())
+                                    .map(EntityTags::forService)
+                                    .ifPresent(responseBuilder::tag);
+                            return responseBuilder.build();
+                        })
+                        .orElseGet(() ->
+                                Response.status(NOT_FOUND).build()));
     }
 
     @GET
@@ -162,25 +243,66 @@ public class ServiceResource {
         return List.copyOf(gatewayAccountIds);
     }
 
+    @PATCH
+    @Produces(APPLICATION_JSON)
+    @Consumes(APPLICATION_JSON)
+    public Response bulkUpdateServiceAttributes(JsonNode payload) {
+        LOGGER.info("Service bulk PATCH request");
+        return serviceRequestValidator.validateBulkUpdateRequest(payload)
+                .map(errors -> Response.status(BAD_REQUEST).entity(errors).build())
+                .orElseGet(() -> {
+                    List<ServiceBulkUpdateRequest> bulkUpdateRequests = ServiceBulkUpdateRequest.getBulkUpdateRequests(payload);
+                    return Response.status(OK)
+                            .entity(serviceServicesFactory.serviceBulkUpdater().doBulkUpdate(bulkUpdateRequests))
+                            .build();
+                });
+    }
+
     @Path("/{serviceExternalId}")
     @PATCH
     @Produces(APPLICATION_JSON)
     @Consumes(APPLICATION_JSON)
-    public Response updateServiceAttribute(@PathParam("serviceExternalId") String serviceExternalId, JsonNode payload) {
+    public Response updateServiceAttribute(@PathParam("serviceExternalId") String serviceExternalId,
+                                           @HeaderParam(IF_MATCH) String ifMatch,
+                                           @Context Request request,
+                                           JsonNode payload) {
         LOGGER.info("Service PATCH request - [ {} ]", serviceExternalId);
         return serviceRequestValidator.validateUpdateAttributeRequest(payload)
                 .map(errors -> Response.status(BAD_REQUEST).entity(errors).build())
-                .orElseGet(() -> processUpdateServiceAttributePayload(serviceExternalId, payload));
+                .orElseGet(() -> processUpdateServiceAttributePayload(serviceExternalId, payload, ifMatch, request));
     }
 
-    private Response processUpdateServiceAttributePayload(String serviceExternalId, JsonNode payload) {
+    private Response processUpdateServiceAttributePayload(String serviceExternalId, JsonNode payload, String ifMatch, Request request) {
 
         final List<ServiceUpdateRequest> requests = ServiceUpdateRequest.getUpdateRequests(payload);
-        return serviceServicesFactory.serviceUpdater().doUpdate(serviceExternalId, requests)
-                .map(service -> Response.status(OK).entity(service).build())
+        boolean retryOnConflict = ifMatch == null && requests.stream().allMatch(ServiceUpdateRequest::isReplace);
+        Predicate<Long> precondition = version -> ifMatch == null
+                || EntityTags.preconditionsMet(request, EntityTags.forService(version));
+        return optimisticLockRetrier.execute(() -> serviceServicesFactory.serviceUpdater().doUpdate(serviceExternalId, requests, precondition),
+                retryOnConflict)
+                .map(service -> {
+                    ResponseBuilder responseBuilder = Response.status(OK).entity(service);
+                    Optional.ofNullable(service.getVersion())
+                            .map(EntityTags::forService)
+                            .ifPresent(responseBuilder::tag);
+                    return responseBuilder.build();
+                })
                 .orElseGet(() -> Response.status(NOT_FOUND).build());
     }
 
+    /**
+     * Only looks up the service version when the request is conditional, so the full service is never
+     * loaded to answer a 304. Updates check If-Match inside their own transaction instead.
+     */
+    private Optional<Response> evaluateConditionalHeader(String serviceExternalId, String conditionalHeader, Request request) {
+        if (conditionalHeader == null) {
+            return Optional.empty();
+        }
+        return serviceDao.findVersionByExternalId(serviceExternalId)
+                .map(EntityTags::forService)
+                .flatMap(entityTag -> EntityTags.evaluatePreconditions(request, entityTag));
+    }
+
     @Path("/{serviceExternalId}/merchant-details")
     @PUT
     @Produces(APPLICATION_JSON)
@@ -2,18 +2,29 @@ package uk.gov.pay.adminusers.resources;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.inject.Inject;
+import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import uk.gov.pay.adminusers.model.SecondFactorMethod;
+import uk.gov.pay.adminusers.model.ServiceRoleChange.Operation;
+import uk.gov.pay.adminusers.model.UserSearchMatch;
+import uk.gov.pay.adminusers.model.UserSearchResults;
 import uk.gov.pay.adminusers.utils.Errors;
 import uk.gov.pay.adminusers.validations.RequestValidations;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import static java.lang.String.format;
+import static org.apache.commons.lang3.math.NumberUtils.isDigits;
+import static uk.gov.pay.adminusers.model.CreateUserRequest.FIELD_GATEWAY_ACCOUNT_IDS;
+import static uk.gov.pay.adminusers.model.ServiceRoleChange.FIELD_OP;
 import static uk.gov.pay.adminusers.model.User.FIELD_EMAIL;
 import static uk.gov.pay.adminusers.model.User.FIELD_PASSWORD;
 import static uk.gov.pay.adminusers.model.User.FIELD_ROLE_NAME;
@@ -27,6 +38,10 @@ import static uk.gov.pay.adminusers.validations.UserPatchValidations.isPathAllow
 public class UserRequestValidator {
 
     private static final int MAX_LENGTH_FIELD_USERNAME = 255;
+    /* default */ static final int BATCH_CREATE_MAX_USERS = 1000;
+    /* default */ static final int BULK_SERVICE_ROLE_MAX_CHANGES = 1000;
+    /* default */ static final int SEARCH_SUBSTRING_MIN_LENGTH = 3;
+    /* default */ static final int SEARCH_MAX_DISPLAY_SIZE = 100;
     private final RequestValidations requestValidations;
 
     @Inject
@@ -52,6 +67,37 @@ public class UserRequestValidator {
         return invalidLength.map(Errors::from);
     }
 
+    public Optional<Errors> validateBatchCreateRequest(JsonNode payload) {
+        if (payload == null || !payload.isArray() || payload.isEmpty()) {
+            return Optional.of(Errors.from("Request must be a non-empty array of users"));
+        }
+        if (payload.size() > BATCH_CREATE_MAX_USERS) {
+            return Optional.of(Errors.from(format("A maximum of %d users can be created in one request", BATCH_CREATE_MAX_USERS)));
+        }
+
+        List<String> errors = new ArrayList<>();
+        Set<String> usernames = new HashSet<>();
+        for (JsonNode user : payload) {
+            validateCreateRequest(user).ifPresentOrElse(
+                    userErrors -> errors.addAll(userErrors.getErrors()),
+                    () -> {
+                        String username = user.get(FIELD_USERNAME).asText();
+                        if (!usernames.add(username.toLowerCase())) {
+                            errors.add(format("Username [%s] appears more than once", username));
+                        }
+                    });
+            if (user.has(FIELD_GATEWAY_ACCOUNT_IDS)) {
+                errors.add(format("Field [%s] is not supported when creating users in a batch", FIELD_GATEWAY_ACCOUNT_IDS));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            return Optional.of(Errors.from(errors));
+        }
+
+        return Optional.empty();
+    }
+
     public Optional<Errors> validateNewSecondFactorPasscodeRequest(JsonNode payload) {
         if (payload != null && payload.get("provisional") != null) {
             return requestValidations.checkIsBoolean(payload, "provisional").map(Errors::from);
@@ -96,6 +142,44 @@ public class UserRequestValidator {
         return missingMandatoryFields.map(Errors::from);
     }
 
+    public Optional<Errors> validateBulkServiceRoleRequest(JsonNode payload) {
+        if (payload == null || !payload.isArray() || payload.isEmpty()) {
+            return Optional.of(Errors.from("Request must be a non-empty array of service role changes"));
+        }
+        if (payload.size() > BULK_SERVICE_ROLE_MAX_CHANGES) {
+            return Optional.of(Errors.from(format("A maximum of %d service role changes can be made in one request", BULK_SERVICE_ROLE_MAX_CHANGES)));
+        }
+
+        List<String> errors = new ArrayList<>();
+        Set<String> serviceExternalIds = new HashSet<>();
+        for (JsonNode change : payload) {
+            Optional<List<String>> missingMandatoryFields = requestValidations.checkExistsAndNotEmpty(change, FIELD_OP, FIELD_SERVICE_EXTERNAL_ID);
+            if (missingMandatoryFields.isPresent()) {
+                errors.addAll(missingMandatoryFields.get());
+                continue;
+            }
+            String op = change.get(FIELD_OP).asText();
+            Optional<Operation> operation = Operation.fromOp(op);
+            if (operation.isEmpty()) {
+                errors.add(format("Operation [%s] not supported", op));
+                continue;
+            }
+            if (operation.get() != Operation.REMOVE) {
+                requestValidations.checkExistsAndNotEmpty(change, FIELD_ROLE_NAME).ifPresent(errors::addAll);
+            }
+            String serviceExternalId = change.get(FIELD_SERVICE_EXTERNAL_ID).asText();
+            if (!serviceExternalIds.add(serviceExternalId)) {
+                errors.add(format("Service [%s] appears more than once", serviceExternalId));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            return Optional.of(Errors.from(errors));
+        }
+
+        return Optional.empty();
+    }
+
     public Optional<Errors> validatePatchRequest(JsonNode payload) {
         Optional<List<String>> missingMandatoryFields = requestValidations.checkExistsAndNotEmpty(payload, "op", "path", "value");
         if (missingMandatoryFields.isPresent()) {
@@ -123,6 +207,32 @@ public class UserRequestValidator {
         return missingMandatoryFields.map(Errors::from);
     }
 
+    /**
+     * Substring searches need at least three characters, the length of a trigram, to be answered from an index.
+     */
+    public Optional<Errors> validateSearchRequest(String searchTerm, String match, String cursor, String displaySize) {
+        List<String> errors = new ArrayList<>();
+        boolean validMatch = EnumUtils.isValidEnumIgnoreCase(UserSearchMatch.class, match);
+        if (!validMatch) {
+            errors.add(format("Parameter [match] must be one of %s", Arrays.toString(UserSearchMatch.values()).toLowerCase(Locale.ROOT)));
+        }
+        int minLength = validMatch && EnumUtils.getEnumIgnoreCase(UserSearchMatch.class, match) == UserSearchMatch.SUBSTRING
+                ? SEARCH_SUBSTRING_MIN_LENGTH : 1;
+        if (searchTerm == null || searchTerm.strip().length() < minLength) {
+            errors.add(format("Parameter [q] must be at least %d characters", minLength));
+        } else if (searchTerm.length() > MAX_LENGTH_FIELD_USERNAME) {
+            errors.add(format("Parameter [q] must be no more than %d characters", MAX_LENGTH_FIELD_USERNAME));
+        }
+        if (cursor != null && UserSearchResults.idFromCursor(cursor).isEmpty()) {
+            errors.add("Parameter [cursor] must be a next_cursor from a previous search");
+        }
+        if (!isDigits(displaySize) || displaySize.length() > 9 || Integer.parseInt(displaySize) < 1
+                || Integer.parseInt(displaySize) > SEARCH_MAX_DISPLAY_SIZE) {
+            errors.add(format("Parameter [display_size] must be between 1 and %d", SEARCH_MAX_DISPLAY_SIZE));
+        }
+        return errors.isEmpty() ? Optional.empty() : Optional.of(Errors.from(errors));
+    }
+
     private Optional<List<String>> checkValidPatchValue(JsonNode valueNode, Collection<Pair<Function<JsonNode, Boolean>, String>> pathValidations) {
         List<String> errors = new ArrayList<>();
         pathValidations.forEach(validationPair -> {
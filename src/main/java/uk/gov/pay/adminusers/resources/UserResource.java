@@ -1,22 +1,33 @@
 package uk.gov.pay.adminusers.resources;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.base.Splitter;
 import com.google.inject.Inject;
 import io.dropwizard.jersey.PATCH;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.pay.adminusers.filters.RateLimited;
+import uk.gov.pay.adminusers.model.BatchCreateUserOutcome;
+import uk.gov.pay.adminusers.model.BatchCreateUserRequest;
 import uk.gov.pay.adminusers.model.CreateUserRequest;
 import uk.gov.pay.adminusers.model.PatchRequest;
 import uk.gov.pay.adminusers.model.SecondFactorMethod;
+import uk.gov.pay.adminusers.model.ServiceRoleChange;
 import uk.gov.pay.adminusers.model.User;
+import uk.gov.pay.adminusers.model.UserSearchMatch;
+import uk.gov.pay.adminusers.model.UserSearchResults;
 import uk.gov.pay.adminusers.service.ExistingUserOtpDispatcher;
+import uk.gov.pay.adminusers.service.OptimisticLockRetrier;
 import uk.gov.pay.adminusers.service.UserServices;
 import uk.gov.pay.adminusers.service.UserServicesFactory;
 
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -24,11 +35,19 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
+import static javax.ws.rs.core.HttpHeaders.IF_MATCH;
+import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.CREATED;
@@ -36,7 +55,9 @@ import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.OK;
 import static javax.ws.rs.core.Response.Status.UNAUTHORIZED;
 import static uk.gov.pay.adminusers.model.User.FIELD_USERNAME;
+import static uk.gov.pay.adminusers.resources.EntityTags.evaluatePreconditions;
 import static uk.gov.pay.adminusers.service.AdminUsersExceptions.conflictingUsername;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.conflictingUsernames;
 import static uk.gov.pay.adminusers.service.AdminUsersExceptions.internalServerError;
 
 @Path(UserResource.USERS_RESOURCE)
@@ -54,16 +75,21 @@ public class UserResource {
     private final UserServicesFactory userServicesFactory;
 
     private final ExistingUserOtpDispatcher existingUserOtpDispatcher;
+    private final OptimisticLockRetrier optimisticLockRetrier;
 
     private final UserRequestValidator validator;
+    private final ObjectWriter usersWriter;
 
     @Inject
     public UserResource(UserServices userServices, UserRequestValidator validator, UserServicesFactory userServicesFactory,
-                        ExistingUserOtpDispatcher existingUserOtpDispatcher) {
+                        ExistingUserOtpDispatcher existingUserOtpDispatcher, OptimisticLockRetrier optimisticLockRetrier,
+                        ObjectMapper objectMapper) {
         this.userServices = userServices;
         this.validator = validator;
         this.userServicesFactory = userServicesFactory;
         this.existingUserOtpDispatcher = existingUserOtpDispatcher;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+        this.usersWriter = JsonArrayStreamingOutput.elementWriter(objectMapper, User.class);
     }
 
 
@@ -80,14 +106,60 @@ public class UserResource {
                         .orElseGet(() -> Response.status(NOT_FOUND).build()));
     }
 
+    @Path("/search")
+    @GET
+    @Produces(APPLICATION_JSON)
+    public Response searchUsers(@QueryParam("q") String searchTerm,
+                                @QueryParam("match") @DefaultValue("prefix") String match,
+                                @QueryParam("cursor") String cursor,
+                                @QueryParam("display_size") @DefaultValue("20") String displaySize) {
+        LOGGER.info("User SEARCH request");
+        return validator.validateSearchRequest(searchTerm, match, cursor, displaySize)
+                .map(errors -> Response.status(BAD_REQUEST).entity(errors).build())
+                .orElseGet(() -> {
+                    int afterId = cursor == null ? 0 : UserSearchResults.idFromCursor(cursor).orElseThrow();
+                    UserSearchResults results = userServices.searchUsers(searchTerm.strip(),
+                            UserSearchMatch.valueOf(match.toUpperCase(Locale.ROOT)), afterId, Integer.parseInt(displaySize));
+                    return Response.status(OK).type(APPLICATION_JSON).entity(results).build();
+                });
+    }
+
     @Path("/{userExternalId}")
     @GET
     @Produces(APPLICATION_JSON)
     @Consumes(APPLICATION_JSON)
-    public Response getUser(@PathParam("userExternalId") String externalId) {
+    public Response getUser(@PathParam("userExternalId") String externalId,
+                            @HeaderParam(IF_NONE_MATCH) String ifNoneMatch,
+                            @Context Request request) {
         LOGGER.info("User GET request - [ {} ]", externalId);
+        if (ifNoneMatch != null) {
+            Optional<Response> notModified = userServices.findUserVersionFingerprint(externalId)
+                    .map(EntityTags::forUser)
+                    .flatMap(entityTag -> evaluatePreconditions(request, entityTag));
+            if (notModified.isPresent()) {
+                return notModified.get();
+            }
+        }
         return userServices.findUserByExternalId(externalId)
-                .map(user -> Response.status(OK).type(APPLICATION_JSON).entity(user).build())
+                .map(user -> {
+                    EntityTag entityTag = EntityTags.forUser(user.getVersionFingerprint());
+                    return evaluatePreconditions(request, entityTag)
+                            .orElseGet(() -> Response.status(OK).type(APPLICATION_JSON).entity(user).tag(entityTag).build());
+                })
+                .orElseGet(() -> Response.status(NOT_FOUND).build());
+    }
+
+    @Path("/{userExternalId}/summary")
+    @GET
+    @Produces(APPLICATION_JSON)
+    public Response getUserSummary(@PathParam("userExternalId") String externalId, @Context Request request) {
+        LOGGER.info("User summary GET request - [ {} ]", externalId);
+        return userServices.findUserSummaryByExternalId(externalId)
+                .map(userSummary -> {
+                    EntityTag entityTag = EntityTags.forUserSummary(userSummary.getVersion());
+                    return evaluatePreconditions(request, entityTag)
+                            .orElseGet(() -> Response.status(OK).type(APPLICATION_JSON).entity(userSummary).tag(entityTag).build());
+                })
                 .orElseGet(() -> Response.status(NOT_FOUND).build());
     }
     
@@ -106,9 +178,9 @@ public class UserResource {
         LOGGER.info("Users GET request - [ {} ]", externalIds);
         List<String> externalIdsList = COMMA_SEPARATOR.splitToList(externalIds);
 
-        List<User> users = userServices.findUsersByExternalIds(externalIdsList);
+        Iterator<User> users = userServices.findUsersByExternalIds(externalIdsList);
 
-        return Response.status(OK).type(APPLICATION_JSON).entity(users).build();
+        return Response.status(OK).type(APPLICATION_JSON).entity(new JsonArrayStreamingOutput(usersWriter, users)).build();
     }
     
     @POST
@@ -132,8 +204,35 @@ public class UserResource {
                 });
     }
 
+    @Path("/batch")
+    @POST
+    @Produces(APPLICATION_JSON)
+    @Consumes(APPLICATION_JSON)
+    public Response createUsers(JsonNode payload) {
+        LOGGER.info("Attempting user batch create request");
+        return validator.validateBatchCreateRequest(payload)
+                .map(errors -> Response.status(BAD_REQUEST).entity(errors).build())
+                .orElseGet(() -> {
+                    List<BatchCreateUserRequest> batchCreateRequests = BatchCreateUserRequest.getBatchCreateRequests(payload);
+                    try {
+                        List<BatchCreateUserOutcome> outcomes = userServicesFactory.userBatchCreator().doBatchCreate(batchCreateRequests);
+                        LOGGER.info("User batch create completed for {} users", outcomes.size());
+                        return Response.status(OK).type(APPLICATION_JSON).entity(outcomes).build();
+                    } catch (WebApplicationException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        if (e.getMessage() != null && e.getMessage().contains(CONSTRAINT_VIOLATION_MESSAGE)) {
+                            throw conflictingUsernames();
+                        }
+                        LOGGER.error("unknown database error during batch creation of {} users", batchCreateRequests.size(), e);
+                        throw internalServerError("unable to create users at this moment");
+                    }
+                });
+    }
+
     @Path("/authenticate")
     @POST
+    @RateLimited(name = "authenticate", bodyField = FIELD_USERNAME)
     @Produces(APPLICATION_JSON)
     @Consumes(APPLICATION_JSON)
     public Response authenticate(JsonNode node) {
@@ -156,6 +255,7 @@ public class UserResource {
 
     @Path("/{userExternalId}/second-factor")
     @POST
+    @RateLimited(name = "second-factor", pathParam = "userExternalId")
     @Produces(APPLICATION_JSON)
     @Consumes(APPLICATION_JSON)
     public Response sendOtpSms(@PathParam("userExternalId") String externalId, JsonNode payload) {
@@ -179,6 +279,7 @@ public class UserResource {
 
     @Path("/{userExternalId}/second-factor/authenticate")
     @POST
+    @RateLimited(name = "second-factor-authenticate", pathParam = "userExternalId")
     @Produces(APPLICATION_JSON)
     @Consumes(APPLICATION_JSON)
     public Response authenticateSecondFactor(@PathParam("userExternalId") String externalId, JsonNode payload) {
@@ -231,13 +332,22 @@ public class UserResource {
     @Path("/{userExternalId}")
     @Produces(APPLICATION_JSON)
     @Consumes(APPLICATION_JSON)
-    public Response updateUserAttribute(@PathParam("userExternalId") String externalId, JsonNode node) {
+    public Response updateUserAttribute(@PathParam("userExternalId") String externalId,
+                                        @HeaderParam(IF_MATCH) String ifMatch,
+                                        @Context Request request,
+                                        JsonNode node) {
         LOGGER.info("User update attribute attempt request");
         return validator.validatePatchRequest(node)
                 .map(errors -> Response.status(BAD_REQUEST).entity(errors).build())
-                .orElseGet(() -> userServices.patchUser(externalId, PatchRequest.from(node))
-                        .map(user -> Response.status(OK).entity(user).build())
-                        .orElseGet(() -> Response.status(NOT_FOUND).build()));
+                .orElseGet(() -> {
+                    PatchRequest patchRequest = PatchRequest.from(node);
+                    boolean retryOnConflict = ifMatch == null && patchRequest.isReplace();
+                    Predicate<String> precondition = versionFingerprint -> ifMatch == null
+                            || EntityTags.preconditionsMet(request, EntityTags.forUser(versionFingerprint));
+                    return optimisticLockRetrier.execute(() -> userServices.patchUser(externalId, patchRequest, precondition), retryOnConflict)
+                            .map(user -> Response.status(OK).entity(user).tag(EntityTags.forUser(user.getVersionFingerprint())).build())
+                            .orElseGet(() -> Response.status(NOT_FOUND).build());
+                });
     }
 
     @PUT
@@ -274,6 +384,20 @@ public class UserResource {
 
     }
 
+    @PATCH
+    @Path("/{userExternalId}/services")
+    @Produces(APPLICATION_JSON)
+    @Consumes(APPLICATION_JSON)
+    public Response updateServiceRoles(@PathParam("userExternalId") String userExternalId, JsonNode payload) {
+        LOGGER.info("Bulk update service roles for user {} request", userExternalId);
+        return validator.validateBulkServiceRoleRequest(payload)
+                .map(errors -> Response.status(BAD_REQUEST).entity(errors).build())
+                .orElseGet(() -> userServicesFactory.serviceRoleBulkUpdater()
+                        .doBulkUpdate(userExternalId, ServiceRoleChange.getServiceRoleChanges(payload))
+                        .map(user -> Response.status(OK).entity(user).build())
+                        .orElseGet(() -> Response.status(NOT_FOUND).build()));
+    }
+
     private Response handleCreateUserException(String userName, Exception e) {
         if (e.getMessage().contains(CONSTRAINT_VIOLATION_MESSAGE)) {
             throw conflictingUsername(userName);
@@ -13,6 +13,7 @@ import static javax.ws.rs.core.Response.Status.GONE;
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.PRECONDITION_FAILED;
+import static javax.ws.rs.core.Response.Status.TOO_MANY_REQUESTS;
 import static javax.ws.rs.core.Response.Status.UNAUTHORIZED;
 
 public class AdminUsersExceptions {
@@ -27,6 +28,10 @@ public class AdminUsersExceptions {
         return buildWebApplicationException(error, CONFLICT.getStatusCode());
     }
 
+    public static WebApplicationException conflictingUsernames() {
+        return buildWebApplicationException("one or more usernames were taken by another request, please retry", CONFLICT.getStatusCode());
+    }
+
     public static WebApplicationException conflictingEmail(String email) {
         String error = format("email [%s] already exists", email);
         return buildWebApplicationException(error, CONFLICT.getStatusCode());
@@ -99,6 +104,20 @@ public class AdminUsersExceptions {
         return buildWebApplicationException(error, CONFLICT.getStatusCode());
     }
 
+    public static WebApplicationException unsupportedServiceUpdatePath(String path) {
+        String error = format("Path [%s] is not supported for service updates", path);
+        return buildWebApplicationException(error, BAD_REQUEST.getStatusCode());
+    }
+
+    public static WebApplicationException tooManyInviteOtpRequests(String inviteCode) {
+        String error = format("Too many security codes requested for invite code %s, try again later", inviteCode);
+        return buildWebApplicationException(error, TOO_MANY_REQUESTS.getStatusCode());
+    }
+
+    public static WebApplicationException staleEntityTag() {
+        return buildWebApplicationException("resource has been modified since the version given in If-Match", PRECONDITION_FAILED.getStatusCode());
+    }
+
     public static WebApplicationException userNotificationError() {
         return buildWebApplicationException("error sending user notification", INTERNAL_SERVER_ERROR.getStatusCode());
     }
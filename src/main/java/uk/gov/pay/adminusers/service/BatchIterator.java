@@ -0,0 +1,48 @@
+package uk.gov.pay.adminusers.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Iterates over the results of a query that is run a batch at a time. Each batch is only fetched once the previous one
+ * has been used up, so at most one batch is held in memory.
+ */
+public class BatchIterator<T> implements Iterator<T> {
+
+    private final int batchSize;
+    private final Function<Optional<T>, List<T>> nextBatch;
+    private Iterator<T> batch;
+    private T last;
+    private boolean lastBatch;
+
+    /**
+     * @param nextBatch fetches up to {@code batchSize} results following the given one, which is empty for the first
+     *                  batch
+     */
+    public BatchIterator(int batchSize, Function<Optional<T>, List<T>> nextBatch) {
+        this.batchSize = batchSize;
+        this.nextBatch = nextBatch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if ((batch == null || !batch.hasNext()) && !lastBatch) {
+            List<T> results = nextBatch.apply(Optional.ofNullable(last));
+            lastBatch = results.size() < batchSize;
+            batch = results.iterator();
+        }
+        return batch.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        last = batch.next();
+        return last;
+    }
+}
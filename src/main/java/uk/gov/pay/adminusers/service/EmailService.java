@@ -16,6 +16,7 @@ import uk.gov.service.payments.commons.model.SupportedLanguage;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static uk.gov.pay.adminusers.model.PaymentType.DIRECT_DEBIT;
@@ -30,15 +31,18 @@ public class EmailService {
     private static final String ORGANISATION_EMAIL_ADDRESS_KEY = "organisation email address";
 
     private final NotificationService notificationService;
+    private final NotificationDispatcher notificationDispatcher;
     private final ServiceDao serviceDao;
     private final CountryConverter countryConverter;
 
     @Inject
     public EmailService(NotificationService notificationService,
+                        NotificationDispatcher notificationDispatcher,
                         CountryConverter countryConverter,
                         ServiceDao serviceDao) {
         this.serviceDao = serviceDao;
         this.notificationService = notificationService;
+        this.notificationDispatcher = notificationDispatcher;
         this.countryConverter = countryConverter;
     }
 
@@ -116,11 +120,16 @@ public class EmailService {
                 .orElseThrow(() -> new ServiceNotFoundException("Service not found"));
     }
 
-    public String sendEmail(String email, String gatewayAccountId, EmailTemplate template, Map<String, String> dynamicContent) throws InvalidMerchantDetailsException {
+    /**
+     * Looks up the merchant details for the email straight away, then sends it on the Notify executor.
+     *
+     * @return completes with the Notify notification id once the email has been sent
+     */
+    public CompletableFuture<String> sendEmail(String email, String gatewayAccountId, EmailTemplate template, Map<String, String> dynamicContent) throws InvalidMerchantDetailsException {
         StaticEmailContent staticEmailContent = getTemplateMappingsFor(gatewayAccountId).get(template);
         Map<String, String> staticContent = new HashMap<>(staticEmailContent.getPersonalisation());
         staticContent.putAll(dynamicContent);
         LOGGER.info("Sending direct debit email for " + template.toString());
-        return notificationService.sendEmail(DIRECT_DEBIT, staticEmailContent.getTemplateId(), email, staticContent);
+        return notificationDispatcher.dispatch(() -> notificationService.sendEmail(DIRECT_DEBIT, staticEmailContent.getTemplateId(), email, staticContent));
     }
 }
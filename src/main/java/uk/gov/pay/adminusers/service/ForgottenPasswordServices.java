@@ -26,14 +26,17 @@ public class ForgottenPasswordServices {
     private final ForgottenPasswordDao forgottenPasswordDao;
     private final LinksBuilder linksBuilder;
     private final NotificationService notificationService;
+    private final NotificationDispatcher notificationDispatcher;
     private final String selfserviceBaseUrl;
 
     @Inject
-    public ForgottenPasswordServices(UserDao userDao, ForgottenPasswordDao forgottenPasswordDao, LinksBuilder linksBuilder, NotificationService notificationService, AdminUsersConfig config) {
+    public ForgottenPasswordServices(UserDao userDao, ForgottenPasswordDao forgottenPasswordDao, LinksBuilder linksBuilder, NotificationService notificationService,
+                                     NotificationDispatcher notificationDispatcher, AdminUsersConfig config) {
         this.userDao = userDao;
         this.forgottenPasswordDao = forgottenPasswordDao;
         this.linksBuilder = linksBuilder;
         this.notificationService = notificationService;
+        this.notificationDispatcher = notificationDispatcher;
         this.selfserviceBaseUrl = config.getLinks().getSelfserviceUrl();
     }
 
@@ -44,14 +47,17 @@ public class ForgottenPasswordServices {
             ForgottenPasswordEntity forgottenPasswordEntity = new ForgottenPasswordEntity(randomUuid(), ZonedDateTime.now(), userEntity);
             forgottenPasswordDao.persist(forgottenPasswordEntity);
             String forgottenPasswordUrl = fromUri(selfserviceBaseUrl).path(SELFSERVICE_FORGOTTEN_PASSWORD_PATH).path(forgottenPasswordEntity.getCode()).build().toString();
-            
-            try {
-                String notificationId = notificationService.sendForgottenPasswordEmail(userEntity.getEmail(), forgottenPasswordUrl);
-                LOGGER.info("sent forgot password email successfully user [{}], notification id [{}]", userEntity.getExternalId(), notificationId);
-            } catch (Exception e) {
-                LOGGER.error(format("error sending forgotten password email for user [%s]", userEntity.getExternalId()), e);
-            }
-            
+
+            String email = userEntity.getEmail();
+            String userExternalId = userEntity.getExternalId();
+            notificationDispatcher.dispatch(() -> notificationService.sendForgottenPasswordEmail(email, forgottenPasswordUrl))
+                    .whenComplete((notificationId, e) -> {
+                        if (e == null) {
+                            LOGGER.info("sent forgot password email successfully user [{}], notification id [{}]", userExternalId, notificationId);
+                        } else {
+                            LOGGER.error(format("error sending forgotten password email for user [%s]", userExternalId), e);
+                        }
+                    });
         } else {
             LOGGER.warn("Attempted forgotten password for non existent user {}", username);
             throw AdminUsersExceptions.notFoundException();
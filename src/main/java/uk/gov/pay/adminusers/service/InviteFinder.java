@@ -1,9 +1,10 @@
 package uk.gov.pay.adminusers.service;
 
 import com.google.inject.Inject;
+import org.apache.commons.lang3.tuple.Pair;
 import uk.gov.pay.adminusers.model.Invite;
 import uk.gov.pay.adminusers.persistence.dao.InviteDao;
-import uk.gov.pay.adminusers.persistence.dao.UserDao;
+import uk.gov.pay.adminusers.persistence.entity.InviteEntity;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,42 +15,35 @@ import static uk.gov.pay.adminusers.service.AdminUsersExceptions.inviteLockedExc
 public class InviteFinder {
 
     private final InviteDao inviteDao;
-    private final UserDao userDao;
 
     @Inject
-    public InviteFinder(InviteDao inviteDao, UserDao userDao) {
+    public InviteFinder(InviteDao inviteDao) {
         this.inviteDao = inviteDao;
-        this.userDao = userDao;
     }
 
     public Optional<Invite> find(String code) {
-        return inviteDao.findByCode(code)
-                .map(inviteEntity -> {
+        return inviteDao.findByCodeWithUserExists(code)
+                .map(inviteAndUserExists -> {
+                    InviteEntity inviteEntity = inviteAndUserExists.getLeft();
                     if (inviteEntity.isExpired() || inviteEntity.isDisabled()) {
                         throw inviteLockedException(inviteEntity.getCode());
                     }
-                    Invite invite = inviteEntity.toInvite();
-                    return userDao.findByEmail(inviteEntity.getEmail()).map(userEntity -> {
-                        invite.setUserExist(true);
-                        return Optional.of(invite);
-                    }).orElse(Optional.of(invite));
-                })
-                .orElseGet(Optional::empty);
+                    return toInvite(inviteAndUserExists);
+                });
     }
 
-
     public List<Invite> findAllActiveInvites(String serviceId) {
-        return inviteDao.findAllByServiceId(serviceId)
+        return inviteDao.findAllByServiceIdWithUserExists(serviceId)
                 .stream()
-                .filter(inviteEntity -> !(inviteEntity.isDisabled()))
-                .filter(inviteEntity -> !(inviteEntity.isExpired()))
-                .map(inviteEntity -> {
-                    Invite invite = inviteEntity.toInvite();
-                    return userDao.findByEmail(inviteEntity.getEmail()).map(userEntity -> {
-                        invite.setUserExist(true);
-                        return invite;
-                    }).orElse(invite);
-                })
+                .filter(inviteAndUserExists -> !(inviteAndUserExists.getLeft().isDisabled()))
+                .filter(inviteAndUserExists -> !(inviteAndUserExists.getLeft().isExpired()))
+                .map(InviteFinder::toInvite)
                 .collect(toUnmodifiableList());
     }
+
+    private static Invite toInvite(Pair<InviteEntity, Boolean> inviteAndUserExists) {
+        Invite invite = inviteAndUserExists.getLeft().toInvite();
+        invite.setUserExist(inviteAndUserExists.getRight());
+        return invite;
+    }
 }
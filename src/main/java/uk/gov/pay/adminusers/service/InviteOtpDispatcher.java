@@ -1,6 +1,7 @@
 package uk.gov.pay.adminusers.service;
 
 import uk.gov.pay.adminusers.model.InviteOtpRequest;
+import uk.gov.pay.adminusers.persistence.entity.InviteEntity;
 
 public abstract class InviteOtpDispatcher {
 
@@ -8,10 +9,29 @@ public abstract class InviteOtpDispatcher {
 
     /* default */ InviteOtpRequest inviteOtpRequest = null;
 
-    public abstract boolean dispatchOtp(String inviteCode);
+    /* default */ InviteEntity inviteEntity = null;
+
+    public abstract void dispatchOtp();
+
+    /**
+     * @return whether the invite already holds a password hash from an earlier request for a security code, in which
+     * case a new request need not send the password again
+     */
+    public boolean inviteHasPassword() {
+        return inviteEntity != null && inviteEntity.getPassword() != null;
+    }
 
     public InviteOtpDispatcher withData(InviteOtpRequest data){
         this.inviteOtpRequest = data;
         return this;
     }
+
+    /**
+     * The invite to send the passcode for, as already loaded by the {@link InviteRouter} to pick the dispatcher, so
+     * that dispatching does not look it up again.
+     */
+    public InviteOtpDispatcher withInvite(InviteEntity inviteEntity) {
+        this.inviteEntity = inviteEntity;
+        return this;
+    }
 }
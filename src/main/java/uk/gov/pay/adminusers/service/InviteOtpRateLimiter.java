@@ -0,0 +1,78 @@
+package uk.gov.pay.adminusers.service;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Limits how often a security code can be sent for the same invite, using a sliding window of the times of the
+ * most recent sends. Invites with no sends in the last window are forgotten, and because the invite code comes
+ * from the caller, at most {@link #MAX_TRACKED_INVITES} invites are tracked at once, the least recently used being
+ * dropped first.
+ */
+public class InviteOtpRateLimiter {
+
+    static final int MAX_TRACKED_INVITES = 10_000;
+
+    private final int maxRequests;
+    private final Duration window;
+    private final Clock clock;
+    private final Cache<String, Deque<Instant>> requestTimesByInviteCode;
+    private final Counter requests;
+    private final Counter resends;
+    private final Counter rateLimited;
+
+    @Inject
+    public InviteOtpRateLimiter(@Named("INVITE_OTP_RATE_LIMIT_REQUESTS") Integer maxRequests,
+                                @Named("INVITE_OTP_RATE_LIMIT_WINDOW_SECONDS") Integer windowSeconds,
+                                Clock clock,
+                                MetricRegistry metricRegistry) {
+        this(maxRequests, windowSeconds, MAX_TRACKED_INVITES, clock, metricRegistry);
+    }
+
+    InviteOtpRateLimiter(int maxRequests, int windowSeconds, int maxTrackedInvites, Clock clock, MetricRegistry metricRegistry) {
+        this.maxRequests = maxRequests;
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.clock = clock;
+        this.requestTimesByInviteCode = CacheBuilder.newBuilder()
+                .maximumSize(maxTrackedInvites)
+                .expireAfterAccess(window)
+                .build();
+        this.requests = metricRegistry.counter("invite-otp.requests");
+        this.resends = metricRegistry.counter("invite-otp.resends");
+        this.rateLimited = metricRegistry.counter("invite-otp.rate_limited");
+    }
+
+    /**
+     * @return true if a security code may be sent for the invite now, in which case the send is recorded
+     */
+    public boolean tryAcquire(String inviteCode) {
+        Instant now = clock.instant();
+        Instant windowStart = now.minus(window);
+        Deque<Instant> requestTimes = requestTimesByInviteCode.asMap().computeIfAbsent(inviteCode, code -> new ArrayDeque<>());
+        synchronized (requestTimes) {
+            while (!requestTimes.isEmpty() && !requestTimes.peekFirst().isAfter(windowStart)) {
+                requestTimes.pollFirst();
+            }
+            if (requestTimes.size() >= maxRequests) {
+                rateLimited.inc();
+                return false;
+            }
+            if (!requestTimes.isEmpty()) {
+                resends.inc();
+            }
+            requestTimes.addLast(now);
+        }
+        requests.inc();
+        return true;
+    }
+}
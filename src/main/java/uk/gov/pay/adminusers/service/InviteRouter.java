@@ -33,7 +33,7 @@ public class InviteRouter {
                 inviteEntity -> {
                     boolean isUserType = inviteEntity.isUserType();
                     InviteOtpDispatcher inviteOtpDispatcher = isUserType ? inviteServiceFactory.dispatchUserOtp() : inviteServiceFactory.dispatchServiceOtp();
-                    return Optional.of(Pair.of(inviteOtpDispatcher, isUserType));
+                    return Optional.of(Pair.of(inviteOtpDispatcher.withInvite(inviteEntity), isUserType));
                 });
 
     }
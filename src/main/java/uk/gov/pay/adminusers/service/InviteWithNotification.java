@@ -0,0 +1,23 @@
+package uk.gov.pay.adminusers.service;
+
+import uk.gov.pay.adminusers.model.Invite;
+
+/**
+ * An invite saved by a transaction along with the email that tells the invitee about it, which is only sent once
+ * that transaction has committed.
+ */
+/* default */ final class InviteWithNotification {
+
+    private final Invite invite;
+    private final Runnable notification;
+
+    /* default */ InviteWithNotification(Invite invite, Runnable notification) {
+        this.invite = invite;
+        this.notification = notification;
+    }
+
+    /* default */ Invite sendNotification() {
+        notification.run();
+        return invite;
+    }
+}
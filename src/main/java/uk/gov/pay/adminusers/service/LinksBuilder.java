@@ -7,7 +7,6 @@ import uk.gov.pay.adminusers.model.Link.Rel;
 import uk.gov.pay.adminusers.model.Service;
 import uk.gov.pay.adminusers.model.User;
 
-import java.net.URI;
 import java.util.List;
 
 import static javax.ws.rs.core.UriBuilder.fromUri;
@@ -16,51 +15,88 @@ import static uk.gov.pay.adminusers.resources.InviteResource.INVITES_RESOURCE;
 import static uk.gov.pay.adminusers.resources.ServiceResource.SERVICES_RESOURCE;
 import static uk.gov.pay.adminusers.resources.UserResource.USERS_RESOURCE;
 
+/**
+ * Adds links to resources. The URL of each kind of resource is worked out once, so that most links are just that URL
+ * followed by the id. Ids with characters that are not safe to use in a URL as they are still go through a
+ * {@link javax.ws.rs.core.UriBuilder} to be encoded.
+ */
 public class LinksBuilder {
 
     private final String baseUrl;
+    private final String usersUrl;
+    private final String servicesUrl;
+    private final String forgottenPasswordsUrl;
+    private final String invitesUrl;
 
     public LinksBuilder(String baseUrl) {
         this.baseUrl = baseUrl;
+        this.usersUrl = resourceUrl(USERS_RESOURCE);
+        this.servicesUrl = resourceUrl(SERVICES_RESOURCE);
+        this.forgottenPasswordsUrl = resourceUrl(FORGOTTEN_PASSWORDS_RESOURCE);
+        this.invitesUrl = resourceUrl(INVITES_RESOURCE);
     }
 
     public User decorate(User user) {
-        URI uri = fromUri(baseUrl).path(USERS_RESOURCE).path(user.getExternalId())
-                .build();
-        Link selfLink = Link.from(Rel.SELF, "GET", uri.toString());
+        String href = href(usersUrl, USERS_RESOURCE, user.getExternalId());
+        Link selfLink = Link.from(Rel.SELF, "GET", href);
         user.setLinks(List.of(selfLink));
         return user;
     }
 
     public Service decorate(Service service) {
-        URI uri = fromUri(baseUrl).path(SERVICES_RESOURCE).path(String.valueOf(service.getExternalId()))
-                .build();
-        Link selfLink = Link.from(Rel.SELF, "GET", uri.toString());
+        String href = href(servicesUrl, SERVICES_RESOURCE, String.valueOf(service.getExternalId()));
+        Link selfLink = Link.from(Rel.SELF, "GET", href);
         service.setLinks(List.of(selfLink));
         return service;
     }
 
     public ForgottenPassword decorate(ForgottenPassword forgottenPassword) {
-        URI uri = fromUri(baseUrl).path(FORGOTTEN_PASSWORDS_RESOURCE).path(forgottenPassword.getCode())
-                .build();
-        Link selfLink = Link.from(Rel.SELF, "GET", uri.toString());
+        String href = href(forgottenPasswordsUrl, FORGOTTEN_PASSWORDS_RESOURCE, forgottenPassword.getCode());
+        Link selfLink = Link.from(Rel.SELF, "GET", href);
         forgottenPassword.setLinks(List.of(selfLink));
         return forgottenPassword;
     }
 
     public Invite decorate(Invite invite) {
-        URI uri = fromUri(baseUrl).path(INVITES_RESOURCE).path(invite.getCode())
-                .build();
-        Link selfLink = Link.from(Rel.SELF, "GET", uri.toString());
+        String href = href(invitesUrl, INVITES_RESOURCE, invite.getCode());
+        Link selfLink = Link.from(Rel.SELF, "GET", href);
         invite.getLinks().add(selfLink);
         return invite;
     }
 
     public Invite addUserLink(User user, Invite invite) {
-        URI uri = fromUri(baseUrl).path(USERS_RESOURCE).path(user.getExternalId())
-                .build();
-        Link userLink = Link.from(Rel.USER, "GET", uri.toString());
+        String href = href(usersUrl, USERS_RESOURCE, user.getExternalId());
+        Link userLink = Link.from(Rel.USER, "GET", href);
         invite.getLinks().add(userLink);
         return invite;
     }
+
+    private String resourceUrl(String resource) {
+        return fromUri(baseUrl).path(resource).build() + "/";
+    }
+
+    private String href(String resourceUrl, String resource, String id) {
+        if (isUrlSafe(id)) {
+            return resourceUrl + id;
+        }
+        return fromUri(baseUrl).path(resource).path(id).build().toString();
+    }
+
+    /**
+     * @return whether the id is made up only of the characters that a URL path never needs to encode
+     */
+    /* default */ static boolean isUrlSafe(String id) {
+        if (id == null || id.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            boolean unreserved = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~';
+            if (!unreserved) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
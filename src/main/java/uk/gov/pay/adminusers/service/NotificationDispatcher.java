@@ -0,0 +1,64 @@
+package uk.gov.pay.adminusers.service;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends notifications on the Notify executor so that request threads, and any database connections they hold,
+ * are not tied up for the round trip to GOV.UK Notify. The logging context of the request is carried over to the
+ * thread that sends the notification and runs any callbacks on its result.
+ */
+public class NotificationDispatcher {
+
+    private final ExecutorService notifyExecutor;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    @Inject
+    public NotificationDispatcher(@Named("NOTIFY_EXECUTOR") ExecutorService notifyExecutor, MetricRegistry metricRegistry) {
+        this.notifyExecutor = notifyExecutor;
+        Gauge<Integer> pendingGauge = pending::get;
+        metricRegistry.gauge("notify-operations.dispatch.pending", () -> pendingGauge);
+    }
+
+    /**
+     * @param notification sends the notification and returns its Notify notification id
+     * @return completes with the notification id once the notification has been sent, or exceptionally if sending
+     * it failed
+     */
+    public CompletableFuture<String> dispatch(Supplier<String> notification) {
+        pending.incrementAndGet();
+        return CompletableFuture.supplyAsync(notification, withLoggingContext())
+                .whenComplete((notificationId, throwable) -> pending.decrementAndGet());
+    }
+
+    private Executor withLoggingContext() {
+        Map<String, String> loggingContext = MDC.getCopyOfContextMap();
+        return task -> notifyExecutor.execute(() -> {
+            Map<String, String> previousContext = MDC.getCopyOfContextMap();
+            setLoggingContext(loggingContext);
+            try {
+                task.run();
+            } finally {
+                setLoggingContext(previousContext);
+            }
+        });
+    }
+
+    private static void setLoggingContext(Map<String, String> loggingContext) {
+        if (loggingContext == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(loggingContext);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.pay.adminusers.service;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Stopwatch;
 import org.slf4j.Logger;
@@ -12,8 +13,10 @@ import uk.gov.service.notify.NotificationClientException;
 import uk.gov.service.notify.SendEmailResponse;
 import uk.gov.service.notify.SendSmsResponse;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
 import static uk.gov.pay.adminusers.model.PaymentType.CARD;
@@ -25,6 +28,8 @@ public class NotificationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(NotificationService.class);
 
     private final NotifyClientProvider notifyClientProvider;
+    private final NotifyCircuitBreaker circuitBreaker;
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
     private final MetricRegistry metricRegistry;
     private final NotifyConfiguration notifyConfiguration;
     private final NotifyDirectDebitConfiguration notifyDirectDebitConfiguration;
@@ -39,10 +44,12 @@ public class NotificationService {
     private final String inviteExistingUserEmailTemplateId;
 
     public NotificationService(NotifyClientProvider notifyClientProvider,
+                               NotifyCircuitBreaker circuitBreaker,
                                NotifyConfiguration notifyConfiguration,
                                NotifyDirectDebitConfiguration notifyDirectDebitConfiguration,
                                MetricRegistry metricRegistry) {
         this.notifyClientProvider = notifyClientProvider;
+        this.circuitBreaker = circuitBreaker;
         this.notifyConfiguration = notifyConfiguration;
         this.notifyDirectDebitConfiguration = notifyDirectDebitConfiguration;
 
@@ -56,6 +63,11 @@ public class NotificationService {
         this.forgottenPasswordEmailTemplateId = notifyConfiguration.getForgottenPasswordEmailTemplateId();
 
         this.metricRegistry = metricRegistry;
+
+        Gauge<Integer> inFlightGauge = inFlightRequests::get;
+        Gauge<Integer> circuitStateGauge = () -> circuitBreaker.getState().ordinal();
+        metricRegistry.gauge("notify-operations.in_flight", () -> inFlightGauge);
+        metricRegistry.gauge("notify-operations.circuit_breaker.state", () -> circuitStateGauge);
     }
 
     public NotifyDirectDebitConfiguration getNotifyDirectDebitConfiguration() {
@@ -63,16 +75,22 @@ public class NotificationService {
     }
 
     public String sendSecondFactorPasscodeSms(String phoneNumber, String passcode, OtpNotifySmsTemplateId otpNotifySmsTemplateId) {
+        String templateId = resolveOtpNotifySmsTemplateId(otpNotifySmsTemplateId);
+        String e164PhoneNumber = TelephoneNumberUtility.formatToE164(phoneNumber);
+        rejectIfCircuitOpen("sms");
         Stopwatch responseTimeStopwatch = Stopwatch.createStarted();
+        inFlightRequests.incrementAndGet();
         try {
-            SendSmsResponse response = notifyClientProvider.get(CARD).sendSms(resolveOtpNotifySmsTemplateId(otpNotifySmsTemplateId),
-                    TelephoneNumberUtility.formatToE164(phoneNumber), Map.of("code", passcode), null);
+            SendSmsResponse response = notifyClientProvider.get(CARD).sendSms(templateId, e164PhoneNumber, Map.of("code", passcode), null);
+            circuitBreaker.recordSuccess();
             return response.getNotificationId().toString();
-        } catch (NotificationClientException e) {
+        } catch (Exception e) {
+            recordFailure(e);
             metricRegistry.counter("notify-operations.sms.failures").inc();
             LOGGER.info("Error sending Sms: " + e.getMessage());
             throw userNotificationError();
         } finally {
+            inFlightRequests.decrementAndGet();
             responseTimeStopwatch.stop();
             metricRegistry.histogram("notify-operations.sms.response_time").update(responseTimeStopwatch.elapsed(TimeUnit.MILLISECONDS));
         }
@@ -138,19 +156,46 @@ public class NotificationService {
     }
 
     public String sendEmail(PaymentType paymentType, final String templateId, final String email, final Map<String, String> personalisation) {
+        rejectIfCircuitOpen("email");
         Stopwatch responseTimeStopwatch = Stopwatch.createStarted();
+        inFlightRequests.incrementAndGet();
         try {
             SendEmailResponse response = notifyClientProvider.get(paymentType).sendEmail(templateId, email, personalisation, null);
+            circuitBreaker.recordSuccess();
             return response.getNotificationId().toString();
         } catch (Exception e) {
+            recordFailure(e);
             metricRegistry.counter("notify-operations.email.failures").inc();
             throw userNotificationError();
         } finally {
+            inFlightRequests.decrementAndGet();
             responseTimeStopwatch.stop();
             metricRegistry.histogram("notify-operations.email.response_time").update(responseTimeStopwatch.elapsed(TimeUnit.MILLISECONDS));
         }
     }
 
+    private void rejectIfCircuitOpen(String operation) {
+        if (!circuitBreaker.allowRequest()) {
+            metricRegistry.counter(format("notify-operations.%s.rejected", operation)).inc();
+            LOGGER.warn("Not sending {} as calls to Notify are suspended after repeated failures", operation);
+            throw userNotificationError();
+        }
+    }
+
+    /**
+     * Notify rejecting a request it considers invalid (a 4xx response) shows it is up, so only server errors,
+     * I/O failures and unexpected exceptions count towards opening the circuit.
+     */
+    private void recordFailure(Exception e) {
+        if (e instanceof NotificationClientException
+                && ((NotificationClientException) e).getHttpResult() < 500
+                && !(e.getCause() instanceof IOException)) {
+            circuitBreaker.recordSuccess();
+        } else {
+            circuitBreaker.recordFailure();
+        }
+    }
+
     private String resolveOtpNotifySmsTemplateId(OtpNotifySmsTemplateId otpNotifySmsTemplateId) {
         switch (otpNotifySmsTemplateId) {
             case SIGN_IN:
@@ -4,22 +4,33 @@ import uk.gov.pay.adminusers.app.config.NotifyConfiguration;
 import uk.gov.pay.adminusers.model.PaymentType;
 import uk.gov.service.notify.NotificationClient;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import static uk.gov.pay.adminusers.model.PaymentType.DIRECT_DEBIT;
 
+/**
+ * Holds one {@link NotificationClient} per {@link PaymentType}, created up front and shared by all requests.
+ * <p>
+ * The Notify client sends requests with {@link java.net.HttpURLConnection} and does not expose its connections,
+ * so keep-alive, the connection cache size and the connect/read timeouts come from the JDK's networking
+ * properties. Those are read once and apply to every {@code HttpURLConnection} in the process, including the Sentry
+ * log appender's, so they are set when the JVM starts, in {@code docker-startup.sh}.
+ */
 public class NotifyClientProvider {
 
-    private NotifyConfiguration configuration;
+    private final Map<PaymentType, NotificationClient> clients = new EnumMap<>(PaymentType.class);
 
     public NotifyClientProvider(NotifyConfiguration configuration) {
-        this.configuration = configuration;
+        for (PaymentType paymentType : PaymentType.values()) {
+            String apiKey = paymentType == DIRECT_DEBIT
+                    ? configuration.getDirectDebitApiKey()
+                    : configuration.getCardApiKey();
+            clients.put(paymentType, new NotificationClient(apiKey, configuration.getNotificationBaseURL(), null));
+        }
     }
 
     public NotificationClient get(PaymentType paymentType) {
-        String apiKey = paymentType == DIRECT_DEBIT
-                ? configuration.getDirectDebitApiKey()
-                : configuration.getCardApiKey();
-
-        return new NotificationClient(apiKey, configuration.getNotificationBaseURL(), null);
+        return clients.get(paymentType);
     }
-
 }
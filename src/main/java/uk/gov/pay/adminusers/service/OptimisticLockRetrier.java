@@ -0,0 +1,59 @@
+package uk.gov.pay.adminusers.service;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.pay.adminusers.exception.ConcurrentUpdateException;
+
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PersistenceException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a transactional operation and turns a version conflict on commit into a {@link ConcurrentUpdateException},
+ * optionally re-running the operation in a fresh transaction first.
+ * <p>
+ * Only retry operations that are safe to re-apply on top of whatever the concurrent request wrote,
+ * i.e. replacements rather than increments or appends.
+ */
+public class OptimisticLockRetrier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OptimisticLockRetrier.class);
+
+    private final int maxAttempts;
+
+    @Inject
+    public OptimisticLockRetrier(@Named("CONFLICT_RETRY_ATTEMPTS") Integer maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T execute(Supplier<T> operation, boolean retryOnConflict) {
+        int attempt = 1;
+        while (true) {
+            try {
+                return operation.get();
+            } catch (PersistenceException e) {
+                if (!isVersionConflict(e)) {
+                    throw e;
+                }
+                if (!retryOnConflict || attempt >= maxAttempts) {
+                    LOGGER.info("Optimistic lock conflict after {} attempt(s), giving up", attempt);
+                    throw new ConcurrentUpdateException();
+                }
+                LOGGER.info("Optimistic lock conflict on attempt {}, retrying", attempt);
+                attempt++;
+            }
+        }
+    }
+
+    private static boolean isVersionConflict(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException
+                    || cause instanceof org.eclipse.persistence.exceptions.OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
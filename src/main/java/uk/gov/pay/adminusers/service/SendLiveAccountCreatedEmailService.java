@@ -17,14 +17,17 @@ public class SendLiveAccountCreatedEmailService {
     
     private final GovUkPayAgreementDao govUkPayAgreementDao;
     private final NotificationService notificationService;
+    private final NotificationDispatcher notificationDispatcher;
     private final String selfserviceServicesUrl;
     
     @Inject
     public SendLiveAccountCreatedEmailService(GovUkPayAgreementDao govUkPayAgreementDao,
                                               NotificationService notificationService,
+                                              NotificationDispatcher notificationDispatcher,
                                               AdminUsersConfig config) {
         this.govUkPayAgreementDao = govUkPayAgreementDao;
         this.notificationService = notificationService;
+        this.notificationDispatcher = notificationDispatcher;
         this.selfserviceServicesUrl = config.getLinks().getSelfserviceServicesUrl();
     }
 
@@ -38,11 +41,14 @@ public class SendLiveAccountCreatedEmailService {
                 .build()
                 .toString();
 
-        try {
-            String notificationId = notificationService.sendLiveAccountCreatedEmail(agreement.getEmail(), serviceLiveAccountUrl);
-            LOGGER.info("Sent service is live email successfully, notification id [{}]", notificationId);
-        } catch(Exception e) {
-            LOGGER.error("Error sending service is live email", e);
-        }
+        String email = agreement.getEmail();
+        notificationDispatcher.dispatch(() -> notificationService.sendLiveAccountCreatedEmail(email, serviceLiveAccountUrl))
+                .whenComplete((notificationId, e) -> {
+                    if (e == null) {
+                        LOGGER.info("Sent service is live email successfully, notification id [{}]", notificationId);
+                    } else {
+                        LOGGER.error("Error sending service is live email", e);
+                    }
+                });
     }
 }
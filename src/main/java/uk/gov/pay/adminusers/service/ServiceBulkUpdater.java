@@ -0,0 +1,149 @@
+package uk.gov.pay.adminusers.service;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.pay.adminusers.exception.ConcurrentUpdateException;
+import uk.gov.pay.adminusers.model.ServiceBulkUpdateOutcome;
+import uk.gov.pay.adminusers.model.ServiceBulkUpdateRequest;
+import uk.gov.pay.adminusers.model.ServiceUpdateRequest;
+import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
+
+import javax.persistence.PersistenceException;
+import javax.ws.rs.WebApplicationException;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toUnmodifiableList;
+import static uk.gov.pay.adminusers.service.ServiceUpdater.FIELD_AGENT_INITIATED_MOTO_ENABLED;
+import static uk.gov.pay.adminusers.service.ServiceUpdater.FIELD_ARCHIVED;
+import static uk.gov.pay.adminusers.service.ServiceUpdater.FIELD_COLLECT_BILLING_ADDRESS;
+import static uk.gov.pay.adminusers.service.ServiceUpdater.FIELD_EXPERIMENTAL_FEATURES_ENABLED;
+import static uk.gov.pay.adminusers.service.ServiceUpdater.FIELD_INTERNAL;
+import static uk.gov.pay.adminusers.service.ServiceUpdater.FIELD_REDIRECT_NAME;
+import static uk.gov.pay.adminusers.service.ServiceUpdater.FIELD_SECTOR;
+import static uk.gov.pay.adminusers.service.ServiceUpdater.FIELD_WENT_LIVE_DATE;
+
+/**
+ * Applies updates to many services, a chunk at a time. Services whose updates are all replacements of plain
+ * columns are updated together with one statement per column and value in a single transaction per chunk;
+ * any other service goes through {@link ServiceUpdater} in its own transaction.
+ */
+public class ServiceBulkUpdater {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceBulkUpdater.class);
+
+    /* default */ static final int CHUNK_SIZE = 100;
+
+    private static final Map<String, Function<ServiceUpdateRequest, Object>> SET_BASED_COLUMN_VALUES = setBasedColumnValues();
+
+    private final ServiceDao serviceDao;
+    private final ServiceUpdater serviceUpdater;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+
+    @Inject
+    public ServiceBulkUpdater(ServiceDao serviceDao, ServiceUpdater serviceUpdater, OptimisticLockRetrier optimisticLockRetrier) {
+        this.serviceDao = serviceDao;
+        this.serviceUpdater = serviceUpdater;
+        this.optimisticLockRetrier = optimisticLockRetrier;
+    }
+
+    public List<ServiceBulkUpdateOutcome> doBulkUpdate(List<ServiceBulkUpdateRequest> bulkUpdateRequests) {
+        Map<String, ServiceBulkUpdateOutcome> outcomes = new HashMap<>();
+        for (List<ServiceBulkUpdateRequest> chunk : Lists.partition(bulkUpdateRequests, CHUNK_SIZE)) {
+            List<ServiceBulkUpdateRequest> setBasedRequests = new ArrayList<>();
+            for (ServiceBulkUpdateRequest bulkUpdateRequest : chunk) {
+                if (isSetBased(bulkUpdateRequest)) {
+                    setBasedRequests.add(bulkUpdateRequest);
+                } else {
+                    outcomes.put(bulkUpdateRequest.getServiceExternalId(), updateIndividually(bulkUpdateRequest));
+                }
+            }
+            if (!setBasedRequests.isEmpty()) {
+                outcomes.putAll(updateSetBased(setBasedRequests));
+            }
+        }
+        return bulkUpdateRequests.stream()
+                .map(bulkUpdateRequest -> outcomes.get(bulkUpdateRequest.getServiceExternalId()))
+                .collect(toUnmodifiableList());
+    }
+
+    private static Map<String, Function<ServiceUpdateRequest, Object>> setBasedColumnValues() {
+        Map<String, Function<ServiceUpdateRequest, Object>> columnValues = new HashMap<>();
+        List.of(FIELD_ARCHIVED, FIELD_EXPERIMENTAL_FEATURES_ENABLED, FIELD_INTERNAL, FIELD_AGENT_INITIATED_MOTO_ENABLED,
+                FIELD_COLLECT_BILLING_ADDRESS, FIELD_REDIRECT_NAME)
+                .forEach(path -> columnValues.put(path, ServiceUpdateRequest::valueAsBoolean));
+        columnValues.put(FIELD_SECTOR, ServiceUpdateRequest::valueAsString);
+        columnValues.put(FIELD_WENT_LIVE_DATE, serviceUpdateRequest -> Optional.ofNullable(serviceUpdateRequest.valueAsDateTime())
+                .map(ZonedDateTime::toInstant)
+                .map(Timestamp::from)
+                .orElse(null));
+        return Map.copyOf(columnValues);
+    }
+
+    private static boolean isSetBased(ServiceBulkUpdateRequest bulkUpdateRequest) {
+        return bulkUpdateRequest.getUpdates().stream()
+                .allMatch(update -> update.isReplace() && SET_BASED_COLUMN_VALUES.containsKey(update.getPath()));
+    }
+
+    private Map<String, ServiceBulkUpdateOutcome> updateSetBased(List<ServiceBulkUpdateRequest> bulkUpdateRequests) {
+        Map<String, Map<Object, List<String>>> serviceExternalIdsByValueByColumn = new HashMap<>();
+        for (ServiceBulkUpdateRequest bulkUpdateRequest : bulkUpdateRequests) {
+            Map<String, ServiceUpdateRequest> lastUpdateByPath = new LinkedHashMap<>();
+            bulkUpdateRequest.getUpdates().forEach(update -> lastUpdateByPath.put(update.getPath(), update));
+            lastUpdateByPath.forEach((path, update) -> serviceExternalIdsByValueByColumn
+                    .computeIfAbsent(path, column -> new HashMap<>())
+                    .computeIfAbsent(SET_BASED_COLUMN_VALUES.get(path).apply(update), value -> new ArrayList<>())
+                    .add(bulkUpdateRequest.getServiceExternalId()));
+        }
+
+        Map<String, ServiceBulkUpdateOutcome> outcomes = new HashMap<>();
+        try {
+            Set<String> updatedServiceExternalIds = serviceDao.updateColumnsForServices(serviceExternalIdsByValueByColumn);
+            bulkUpdateRequests.forEach(bulkUpdateRequest -> {
+                String serviceExternalId = bulkUpdateRequest.getServiceExternalId();
+                outcomes.put(serviceExternalId, updatedServiceExternalIds.contains(serviceExternalId)
+                        ? ServiceBulkUpdateOutcome.updated(serviceExternalId)
+                        : ServiceBulkUpdateOutcome.notFound(serviceExternalId));
+            });
+        } catch (PersistenceException e) {
+            LOGGER.error("Bulk update of {} services failed", bulkUpdateRequests.size(), e);
+            bulkUpdateRequests.forEach(bulkUpdateRequest -> outcomes.put(bulkUpdateRequest.getServiceExternalId(),
+                    ServiceBulkUpdateOutcome.failed(bulkUpdateRequest.getServiceExternalId(), List.of("Bulk update failed"))));
+        }
+        return outcomes;
+    }
+
+    private ServiceBulkUpdateOutcome updateIndividually(ServiceBulkUpdateRequest bulkUpdateRequest) {
+        String serviceExternalId = bulkUpdateRequest.getServiceExternalId();
+        boolean retryOnConflict = bulkUpdateRequest.getUpdates().stream().allMatch(ServiceUpdateRequest::isReplace);
+        try {
+            return optimisticLockRetrier.execute(() -> serviceUpdater.doBatchUpdate(serviceExternalId, bulkUpdateRequest.getUpdates()), retryOnConflict)
+                    .map(result -> ServiceBulkUpdateOutcome.updated(serviceExternalId))
+                    .orElseGet(() -> ServiceBulkUpdateOutcome.notFound(serviceExternalId));
+        } catch (WebApplicationException e) {
+            return ServiceBulkUpdateOutcome.failed(serviceExternalId, errorsFrom(e));
+        } catch (ConcurrentUpdateException e) {
+            return ServiceBulkUpdateOutcome.failed(serviceExternalId, List.of(e.getMessage()));
+        }
+    }
+
+    private static List<String> errorsFrom(WebApplicationException e) {
+        Object entity = e.getResponse().getEntity();
+        if (entity instanceof Map && ((Map<?, ?>) entity).get("errors") instanceof List) {
+            return ((List<?>) ((Map<?, ?>) entity).get("errors")).stream()
+                    .map(String::valueOf)
+                    .collect(toUnmodifiableList());
+        }
+        return List.of(e.getMessage());
+    }
+}
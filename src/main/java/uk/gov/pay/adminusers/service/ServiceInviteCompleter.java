@@ -8,6 +8,7 @@ import uk.gov.pay.adminusers.model.Service;
 import uk.gov.pay.adminusers.persistence.dao.InviteDao;
 import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
 import uk.gov.pay.adminusers.persistence.dao.UserDao;
+import uk.gov.pay.adminusers.persistence.entity.InviteEntity;
 import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
 import uk.gov.pay.adminusers.persistence.entity.ServiceRoleEntity;
 import uk.gov.pay.adminusers.persistence.entity.UserEntity;
@@ -39,16 +40,20 @@ public class ServiceInviteCompleter extends InviteCompleter {
      * Completes a service invite.
      * ie. it creates and persists a user from an invite or/and subscribe a user to an existing service
      * and if it is a service invite also creates a default service.
-     * It then disables the invite.
+     * The invite is claimed, and so disabled, before anything else is done, so completing it twice fails.
      */
     @Override
     @Transactional
     public Optional<InviteCompleteResponse> complete(String inviteCode) {
-        return inviteDao.findByCode(inviteCode)
+        Optional<InviteEntity> claimedInvite = inviteDao.claimByCode(inviteCode);
+        if (claimedInvite.isEmpty()) {
+            return inviteDao.findByCode(inviteCode).map(inviteEntity -> {
+                throw inviteLockedException(inviteEntity.getCode());
+            });
+        }
+
+        return claimedInvite
                 .map(inviteEntity -> {
-                    if (inviteEntity.isExpired() || inviteEntity.isDisabled()) {
-                        throw inviteLockedException(inviteEntity.getCode());
-                    }
                     if (userDao.findByEmail(inviteEntity.getEmail()).isPresent()) {
                         throw conflictingEmail(inviteEntity.getEmail());
                     }
@@ -66,7 +71,6 @@ public class ServiceInviteCompleter extends InviteCompleter {
                         userDao.merge(userEntity);
 
                         inviteEntity.setService(serviceEntity);
-                        inviteEntity.setDisabled(true);
                         inviteDao.merge(inviteEntity);
 
                         Invite invite = linksBuilder.addUserLink(userEntity.toUser(), inviteEntity.toInvite());
@@ -34,22 +34,33 @@ public class ServiceInviteCreator {
     private final LinksBuilder linksBuilder;
     private final LinksConfig linksConfig;
     private final NotificationService notificationService;
+    private final NotificationDispatcher notificationDispatcher;
     private final PasswordHasher passwordHasher;
 
     @Inject
     public ServiceInviteCreator(InviteDao inviteDao, UserDao userDao, RoleDao roleDao, LinksBuilder linksBuilder,
-                                LinksConfig linksConfig, NotificationService notificationService, PasswordHasher passwordHasher) {
+                                LinksConfig linksConfig, NotificationService notificationService, NotificationDispatcher notificationDispatcher,
+                                PasswordHasher passwordHasher) {
         this.inviteDao = inviteDao;
         this.userDao = userDao;
         this.roleDao = roleDao;
         this.linksBuilder = linksBuilder;
         this.linksConfig = linksConfig;
         this.notificationService = notificationService;
+        this.notificationDispatcher = notificationDispatcher;
         this.passwordHasher = passwordHasher;
     }
 
-    @Transactional
+    /**
+     * The invite email is sent only after the transaction that saves the invite has committed, so it never carries
+     * a code that was not saved.
+     */
     public Invite doInvite(InviteServiceRequest inviteServiceRequest) {
+        return saveInvite(inviteServiceRequest).sendNotification();
+    }
+
+    @Transactional
+    /* default */ InviteWithNotification saveInvite(InviteServiceRequest inviteServiceRequest) {
         String requestEmail = inviteServiceRequest.getEmail();
         Optional<UserEntity> anExistingUser = userDao.findByEmail(requestEmail);
         if (anExistingUser.isPresent()) {
@@ -69,7 +80,7 @@ public class ServiceInviteCreator {
 
         if(!existingValidServiceInvitesForSameEmail.isEmpty()) {
             InviteEntity foundInvite = existingValidServiceInvitesForSameEmail.get(0);
-            return constructInviteAndSendEmail(inviteServiceRequest, foundInvite, inviteEntity -> {
+            return constructInvite(inviteServiceRequest, foundInvite, inviteEntity -> {
                 inviteDao.merge(inviteEntity);
                 return null;
             });
@@ -79,7 +90,7 @@ public class ServiceInviteCreator {
                 .map(roleEntity -> {
                     InviteEntity inviteEntity = new InviteEntity(requestEmail, randomUuid(), inviteServiceRequest.getOtpKey(), roleEntity);
                     inviteEntity.setType(SERVICE);
-                    return constructInviteAndSendEmail(inviteServiceRequest, inviteEntity, inviteToPersist -> {
+                    return constructInvite(inviteServiceRequest, inviteEntity, inviteToPersist -> {
                         inviteDao.persist(inviteToPersist);
                         return null;
                     });
@@ -88,44 +99,52 @@ public class ServiceInviteCreator {
 
     }
 
-    private Invite constructInviteAndSendEmail(InviteServiceRequest inviteServiceRequest, InviteEntity inviteEntity, Function<InviteEntity, Void> saveOrUpdate) {
+    private InviteWithNotification constructInvite(InviteServiceRequest inviteServiceRequest, InviteEntity inviteEntity,
+                                                   Function<InviteEntity, Void> saveOrUpdate) {
         String inviteUrl = format("%s/%s", linksConfig.getSelfserviceInvitesUrl(), inviteEntity.getCode());
         inviteEntity.setTelephoneNumber(TelephoneNumberUtility.formatToE164(inviteServiceRequest.getTelephoneNumber()));
         inviteEntity.setPassword(passwordHasher.hash(inviteServiceRequest.getPassword()));
         saveOrUpdate.apply(inviteEntity);
-        sendServiceInviteNotification(inviteEntity, inviteUrl);
+        String email = inviteEntity.getEmail();
         Invite invite = inviteEntity.toInvite();
         invite.setInviteLink(inviteUrl);
-        return linksBuilder.decorate(invite);
+        return new InviteWithNotification(linksBuilder.decorate(invite), () -> sendServiceInviteNotification(email, inviteUrl));
     }
 
-    private void sendServiceInviteNotification(InviteEntity invite, String targetUrl) {
+    private void sendServiceInviteNotification(String email, String targetUrl) {
         LOGGER.info("New service creation invitation created");
-        try {
-            String notificationId = notificationService.sendServiceInviteEmail(invite.getEmail(), targetUrl);
-            LOGGER.info("sent create service invitation email successfully, notification id [{}]", notificationId);
-        } catch(Exception e) {
-            LOGGER.error("error sending create service invitation", e);
-        }
+        notificationDispatcher.dispatch(() -> notificationService.sendServiceInviteEmail(email, targetUrl))
+                .whenComplete((notificationId, e) -> {
+                    if (e == null) {
+                        LOGGER.info("sent create service invitation email successfully, notification id [{}]", notificationId);
+                    } else {
+                        LOGGER.error("error sending create service invitation", e);
+                    }
+                });
     }
 
     private void sendUserDisabledNotification(String email, String userExternalId) {
         LOGGER.info("Disabled existing user tried to create a service - user_id={}", userExternalId);
-        try {
-            String notificationId = notificationService.sendServiceInviteUserDisabledEmail(email, linksConfig.getSupportUrl());
-            LOGGER.info("sent create service, user account disabled email successfully, notification id [{}]", notificationId);
-        } catch (Exception e) {
-            LOGGER.error("error sending service creation, user account disabled email", e);
-        }
+        notificationDispatcher.dispatch(() -> notificationService.sendServiceInviteUserDisabledEmail(email, linksConfig.getSupportUrl()))
+                .whenComplete((notificationId, e) -> {
+                    if (e == null) {
+                        LOGGER.info("sent create service, user account disabled email successfully, notification id [{}]", notificationId);
+                    } else {
+                        LOGGER.error("error sending service creation, user account disabled email", e);
+                    }
+                });
     }
 
     private void sendUserExistsNotification(String email, String userExternalId) {
         LOGGER.info("Existing user tried to create a service - user_id={}", userExternalId);
-        try {
-            String notificationId = notificationService.sendServiceInviteUserExistsEmail(email, linksConfig.getSelfserviceLoginUrl(), linksConfig.getSelfserviceForgottenPasswordUrl(), linksConfig.getSupportUrl());
-            LOGGER.info("sent create service, user exists email successfully, notification id [{}]", notificationId);
-        } catch (Exception e) {
-            LOGGER.error("error sending service creation, users exists email", e);
-        }
+        notificationDispatcher.dispatch(() -> notificationService.sendServiceInviteUserExistsEmail(email, linksConfig.getSelfserviceLoginUrl(),
+                        linksConfig.getSelfserviceForgottenPasswordUrl(), linksConfig.getSupportUrl()))
+                .whenComplete((notificationId, e) -> {
+                    if (e == null) {
+                        LOGGER.info("sent create service, user exists email successfully, notification id [{}]", notificationId);
+                    } else {
+                        LOGGER.error("error sending service creation, users exists email", e);
+                    }
+                });
     }
 }
@@ -0,0 +1,150 @@
+package uk.gov.pay.adminusers.service;
+
+import com.google.inject.Inject;
+import com.google.inject.persist.Transactional;
+import uk.gov.pay.adminusers.model.ServiceRoleChange;
+import uk.gov.pay.adminusers.model.ServiceRoleChange.Operation;
+import uk.gov.pay.adminusers.model.User;
+import uk.gov.pay.adminusers.persistence.dao.RoleDao;
+import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
+import uk.gov.pay.adminusers.persistence.dao.ServiceRoleDao;
+import uk.gov.pay.adminusers.persistence.dao.UserDao;
+import uk.gov.pay.adminusers.persistence.entity.Role;
+import uk.gov.pay.adminusers.persistence.entity.RoleEntity;
+import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
+import uk.gov.pay.adminusers.persistence.entity.ServiceRoleEntity;
+import uk.gov.pay.adminusers.persistence.entity.UserEntity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toUnmodifiableList;
+import static java.util.stream.Collectors.toUnmodifiableSet;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.adminRoleLimitException;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.conflictingServiceForUser;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.conflictingServiceRoleForUser;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.serviceDoesNotExistError;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.undefinedRoleException;
+import static uk.gov.pay.adminusers.service.ServiceRoleUpdater.ADMINS_PER_SERVICE_LIMIT;
+
+/**
+ * Assigns a user to, updates their role in and removes them from many services in a single transaction. Roles and
+ * services are each looked up once and the admin limit is checked for all affected services with a single query;
+ * if any change is invalid, none of them are applied.
+ */
+public class ServiceRoleBulkUpdater {
+
+    private final UserDao userDao;
+    private final ServiceDao serviceDao;
+    private final RoleDao roleDao;
+    private final ServiceRoleDao serviceRoleDao;
+    private final LinksBuilder linksBuilder;
+
+    @Inject
+    public ServiceRoleBulkUpdater(UserDao userDao, ServiceDao serviceDao, RoleDao roleDao, ServiceRoleDao serviceRoleDao,
+                                  LinksBuilder linksBuilder) {
+        this.userDao = userDao;
+        this.serviceDao = serviceDao;
+        this.roleDao = roleDao;
+        this.serviceRoleDao = serviceRoleDao;
+        this.linksBuilder = linksBuilder;
+    }
+
+    @Transactional
+    public Optional<User> doBulkUpdate(String userExternalId, List<ServiceRoleChange> changes) {
+        Optional<UserEntity> userMaybe = userDao.findByExternalId(userExternalId);
+        if (userMaybe.isEmpty()) {
+            return Optional.empty();
+        }
+        UserEntity userEntity = userMaybe.get();
+
+        Map<String, RoleEntity> rolesByName = findRoles(changes);
+        Map<String, ServiceEntity> servicesToAssign = findServicesToAssign(changes);
+        checkMembership(userEntity, changes);
+        checkAdminLimit(userEntity, changes, rolesByName);
+
+        for (ServiceRoleChange change : changes) {
+            String serviceExternalId = change.getServiceExternalId();
+            switch (change.getOperation()) {
+                case ASSIGN:
+                    userEntity.addServiceRole(new ServiceRoleEntity(servicesToAssign.get(serviceExternalId), rolesByName.get(change.getRoleName())));
+                    break;
+                case UPDATE:
+                    userEntity.getServicesRole(serviceExternalId).orElseThrow().setRole(rolesByName.get(change.getRoleName()));
+                    break;
+                case REMOVE:
+                    ServiceRoleEntity serviceRole = userEntity.getServicesRole(serviceExternalId).orElseThrow();
+                    userEntity.remove(serviceRole);
+                    serviceRoleDao.remove(serviceRole);
+                    break;
+            }
+        }
+        userDao.merge(userEntity);
+
+        return Optional.of(linksBuilder.decorate(userEntity.toUser()));
+    }
+
+    private Map<String, RoleEntity> findRoles(List<ServiceRoleChange> changes) {
+        Map<String, RoleEntity> rolesByName = new HashMap<>();
+        changes.stream()
+                .filter(change -> change.getOperation() != Operation.REMOVE)
+                .map(ServiceRoleChange::getRoleName)
+                .distinct()
+                .forEach(roleName -> rolesByName.put(roleName, roleDao.findByRoleName(roleName)
+                        .orElseThrow(() -> undefinedRoleException(roleName))));
+        return rolesByName;
+    }
+
+    private Map<String, ServiceEntity> findServicesToAssign(List<ServiceRoleChange> changes) {
+        List<String> serviceExternalIds = changes.stream()
+                .filter(change -> change.getOperation() == Operation.ASSIGN)
+                .map(ServiceRoleChange::getServiceExternalId)
+                .collect(toUnmodifiableList());
+        Map<String, ServiceEntity> servicesByExternalId = serviceDao.findByExternalIds(serviceExternalIds).stream()
+                .collect(toMap(ServiceEntity::getExternalId, identity()));
+        serviceExternalIds.stream()
+                .filter(serviceExternalId -> !servicesByExternalId.containsKey(serviceExternalId))
+                .findFirst()
+                .ifPresent(serviceExternalId -> {
+                    throw serviceDoesNotExistError(serviceExternalId);
+                });
+        return servicesByExternalId;
+    }
+
+    private static void checkMembership(UserEntity userEntity, List<ServiceRoleChange> changes) {
+        for (ServiceRoleChange change : changes) {
+            String serviceExternalId = change.getServiceExternalId();
+            boolean isMember = userEntity.getServicesRole(serviceExternalId).isPresent();
+            if (change.getOperation() == Operation.ASSIGN && isMember) {
+                throw conflictingServiceRoleForUser(userEntity.getExternalId(), serviceExternalId);
+            }
+            if (change.getOperation() != Operation.ASSIGN && !isMember) {
+                throw conflictingServiceForUser(userEntity.getExternalId(), serviceExternalId);
+            }
+        }
+    }
+
+    private void checkAdminLimit(UserEntity userEntity, List<ServiceRoleChange> changes, Map<String, RoleEntity> rolesByName) {
+        Set<String> servicesLosingAnAdmin = changes.stream()
+                .filter(change -> change.getOperation() != Operation.ASSIGN)
+                .filter(change -> userEntity.getServicesRole(change.getServiceExternalId()).orElseThrow().getRole().isAdmin())
+                .filter(change -> change.getOperation() == Operation.REMOVE || !rolesByName.get(change.getRoleName()).isAdmin())
+                .map(ServiceRoleChange::getServiceExternalId)
+                .collect(toUnmodifiableSet());
+        if (servicesLosingAnAdmin.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> adminCounts = serviceDao.countOfUsersWithRoleForServices(servicesLosingAnAdmin, Role.ADMIN.getId());
+        boolean limitReached = servicesLosingAnAdmin.stream()
+                .anyMatch(serviceExternalId -> adminCounts.getOrDefault(serviceExternalId, 0L) <= ADMINS_PER_SERVICE_LIMIT);
+        if (limitReached) {
+            throw adminRoleLimitException(ADMINS_PER_SERVICE_LIMIT);
+        }
+    }
+}
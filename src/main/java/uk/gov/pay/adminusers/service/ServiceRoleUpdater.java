@@ -27,7 +27,7 @@ public class ServiceRoleUpdater {
     private final RoleDao roleDao;
     private final LinksBuilder linksBuilder;
 
-    private final Integer adminsPerServiceLimit = 1;
+    /* default */ static final int ADMINS_PER_SERVICE_LIMIT = 1;
 
     @Inject
     public ServiceRoleUpdater(UserDao userDao, ServiceDao serviceDao, RoleDao roleDao, LinksBuilder linksBuilder) {
@@ -68,8 +68,8 @@ public class ServiceRoleUpdater {
         RoleEntity currentRoleEntity = serviceRoleEntity.getRole();
 
         if (currentRoleEntity.isAdmin() && !targetRoleEntity.isAdmin()) {
-            if (serviceDao.countOfUsersWithRoleForService(serviceExternalId, Role.ADMIN.getId()) <= adminsPerServiceLimit) {
-                throw adminRoleLimitException(adminsPerServiceLimit);
+            if (serviceDao.countOfUsersWithRoleForService(serviceExternalId, Role.ADMIN.getId()) <= ADMINS_PER_SERVICE_LIMIT) {
+                throw adminRoleLimitException(ADMINS_PER_SERVICE_LIMIT);
             }
         }
         serviceRoleEntity.setRole(targetRoleEntity);
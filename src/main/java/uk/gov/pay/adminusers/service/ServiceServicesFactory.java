@@ -6,6 +6,8 @@ public interface ServiceServicesFactory {
 
     ServiceUpdater serviceUpdater();
 
+    ServiceBulkUpdater serviceBulkUpdater();
+
     ServiceUserRemover serviceUserRemover();
 
     ServiceFinder serviceFinder();
@@ -7,6 +7,9 @@ import uk.gov.pay.adminusers.model.GoLiveStage;
 import uk.gov.pay.adminusers.model.PspTestAccountStage;
 import uk.gov.pay.adminusers.model.Service;
 import uk.gov.pay.adminusers.model.ServiceUpdateRequest;
+import uk.gov.pay.adminusers.model.ServiceUpdateResult;
+import uk.gov.pay.adminusers.model.ServiceUpdateResult.OperationResult;
+import uk.gov.pay.adminusers.model.ServiceUpdateResult.Outcome;
 import uk.gov.pay.adminusers.model.UpdateMerchantDetailsRequest;
 import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
 import uk.gov.pay.adminusers.persistence.entity.MerchantDetailsEntity;
@@ -14,6 +17,7 @@ import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
 import uk.gov.pay.adminusers.persistence.entity.service.ServiceNameEntity;
 import uk.gov.service.payments.commons.model.SupportedLanguage;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -21,9 +25,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
 import static java.util.Map.entry;
 import static uk.gov.pay.adminusers.service.AdminUsersExceptions.conflictingServiceGatewayAccounts;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.staleEntityTag;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.unsupportedServiceUpdatePath;
 
 public class ServiceUpdater {
 
@@ -54,7 +61,6 @@ public class ServiceUpdater {
     @Inject
     public ServiceUpdater(ServiceDao serviceDao) {
         Map<String, BiConsumer<ServiceUpdateRequest, ServiceEntity>> attributeUpdaters = new HashMap<>(Map.ofEntries(
-                entry(FIELD_GATEWAY_ACCOUNT_IDS, assignGatewayAccounts()),
                 entry(FIELD_CUSTOM_BRANDING, updateCustomBranding()),
                 entry(FIELD_REDIRECT_NAME, updateRedirectImmediately()),
                 entry(FIELD_EXPERIMENTAL_FEATURES_ENABLED, updateExperimentalFeaturesEnabled()),
@@ -89,14 +95,78 @@ public class ServiceUpdater {
 
     @Transactional
     public Optional<Service> doUpdate(String serviceExternalId, List<ServiceUpdateRequest> updateRequests) {
+        return doUpdate(serviceExternalId, updateRequests, version -> true);
+    }
+
+    /**
+     * @param precondition tested against the version of the service as loaded in this transaction; if it fails the
+     *                     service is not modified and a 412 is thrown
+     */
+    @Transactional
+    public Optional<Service> doUpdate(String serviceExternalId, List<ServiceUpdateRequest> updateRequests, Predicate<Long> precondition) {
+        return doBatchUpdate(serviceExternalId, updateRequests, precondition).map(ServiceUpdateResult::getService);
+    }
+
+    /**
+     * Applies all the update requests as one change set: every path is checked before anything is touched,
+     * a later replacement of a path supersedes an earlier one, gateway account ids from all operations are
+     * checked for conflicts in a single query and the service is merged once. The change is flushed before
+     * returning, so the service returned carries the version it was written with.
+     */
+    @Transactional
+    public Optional<ServiceUpdateResult> doBatchUpdate(String serviceExternalId, List<ServiceUpdateRequest> updateRequests) {
+        return doBatchUpdate(serviceExternalId, updateRequests, version -> true);
+    }
+
+    private Optional<ServiceUpdateResult> doBatchUpdate(String serviceExternalId, List<ServiceUpdateRequest> updateRequests,
+                                                        Predicate<Long> precondition) {
+        updateRequests.stream()
+                .map(ServiceUpdateRequest::getPath)
+                .filter(path -> !FIELD_GATEWAY_ACCOUNT_IDS.equals(path) && !attributeUpdaters.containsKey(path))
+                .findFirst()
+                .ifPresent(path -> {
+                    throw unsupportedServiceUpdatePath(path);
+                });
+
         return serviceDao.findByExternalId(serviceExternalId)
                 .map(serviceEntity -> {
-                    updateRequests.forEach(req -> {
-                        attributeUpdaters.get(req.getPath())
-                                .accept(req, serviceEntity);
-                        serviceDao.merge(serviceEntity);
-                    });
-                    return serviceEntity.toService();
+                    if (!precondition.test(serviceEntity.getVersion())) {
+                        throw staleEntityTag();
+                    }
+                    List<String> gatewayAccountIds = new ArrayList<>();
+                    Map<String, Integer> lastIndexByPath = new HashMap<>();
+                    for (int i = 0; i < updateRequests.size(); i++) {
+                        ServiceUpdateRequest updateRequest = updateRequests.get(i);
+                        if (FIELD_GATEWAY_ACCOUNT_IDS.equals(updateRequest.getPath())) {
+                            gatewayAccountIds.addAll(updateRequest.valueAsList());
+                        } else {
+                            lastIndexByPath.put(updateRequest.getPath(), i);
+                        }
+                    }
+
+                    if (!gatewayAccountIds.isEmpty()) {
+                        if (serviceDao.checkIfGatewayAccountsUsed(gatewayAccountIds)) {
+                            throw conflictingServiceGatewayAccounts(gatewayAccountIds);
+                        }
+                        serviceEntity.addGatewayAccountIds(gatewayAccountIds.toArray(new String[0]));
+                    }
+
+                    List<OperationResult> operationResults = new ArrayList<>(updateRequests.size());
+                    for (int i = 0; i < updateRequests.size(); i++) {
+                        ServiceUpdateRequest updateRequest = updateRequests.get(i);
+                        boolean superseded = lastIndexByPath.containsKey(updateRequest.getPath())
+                                && lastIndexByPath.get(updateRequest.getPath()) != i;
+                        if (!superseded && attributeUpdaters.containsKey(updateRequest.getPath())) {
+                            attributeUpdaters.get(updateRequest.getPath()).accept(updateRequest, serviceEntity);
+                        }
+                        operationResults.add(new OperationResult(updateRequest.getOp(), updateRequest.getPath(),
+                                superseded ? Outcome.SUPERSEDED : Outcome.APPLIED));
+                    }
+
+                    serviceDao.merge(serviceEntity);
+                    serviceDao.forceVersionIncrement(serviceEntity);
+                    serviceDao.flush();
+                    return new ServiceUpdateResult(serviceEntity.toService(), operationResults);
                 });
     }
 
@@ -111,17 +181,6 @@ public class ServiceUpdater {
                 }).orElseThrow(() -> new ServiceNotFoundException(serviceExternalId));
     }
 
-    private BiConsumer<ServiceUpdateRequest, ServiceEntity> assignGatewayAccounts() {
-        return (serviceUpdateRequest, serviceEntity) -> {
-            List<String> gatewayAccountIds = serviceUpdateRequest.valueAsList();
-            if (serviceDao.checkIfGatewayAccountsUsed(gatewayAccountIds)) {
-                throw conflictingServiceGatewayAccounts(gatewayAccountIds);
-            } else {
-                serviceEntity.addGatewayAccountIds(gatewayAccountIds.toArray(new String[0]));
-            }
-        };
-    }
-
     private BiConsumer<ServiceUpdateRequest, ServiceEntity> updateCustomBranding() {
         return (serviceUpdateRequest, serviceEntity) -> serviceEntity.setCustomBranding(serviceUpdateRequest.valueAsObject());
     }
@@ -0,0 +1,85 @@
+package uk.gov.pay.adminusers.service;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An in-memory token bucket per key. Each bucket holds up to {@code capacity} tokens and is refilled continuously at
+ * {@code refillPerMinute} tokens a minute; every request takes one token.
+ * <p>
+ * Buckets live in a cache striped into {@link #STRIPES} segments and are updated with compare-and-set. An existing
+ * bucket is looked up without taking a lock, so only a key's first request, which creates its bucket under the lock
+ * of its segment, can wait on other requests. Buckets that have not been used for
+ * long enough to have refilled completely are dropped, as are the least recently used ones once
+ * {@code maxTrackedKeys} is reached.
+ */
+public class TokenBucketRateLimiter {
+
+    /* default */ static final int STRIPES = 16;
+
+    private final int capacity;
+    private final double nanosPerToken;
+    private final Ticker ticker;
+    private final Cache<String, AtomicReference<Bucket>> buckets;
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxTrackedKeys) {
+        this(capacity, refillPerMinute, maxTrackedKeys, Ticker.systemTicker());
+    }
+
+    /* default */ TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxTrackedKeys, Ticker ticker) {
+        this.capacity = capacity;
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / (double) refillPerMinute;
+        this.ticker = ticker;
+        this.buckets = CacheBuilder.newBuilder()
+                .concurrencyLevel(STRIPES)
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(timeToRefill(capacity), TimeUnit.NANOSECONDS)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes a token from the bucket for the key, if there is one.
+     *
+     * @return empty if the request may go ahead, otherwise how long until a token will be available
+     */
+    public Optional<Duration> tryAcquire(String key) {
+        long now = ticker.read();
+        AtomicReference<Bucket> bucketReference = buckets.getIfPresent(key);
+        if (bucketReference == null) {
+            bucketReference = buckets.asMap()
+                    .computeIfAbsent(key, newKey -> new AtomicReference<>(new Bucket(capacity, now)));
+        }
+        while (true) {
+            Bucket bucket = bucketReference.get();
+            double tokens = Math.min(capacity, bucket.tokens + Math.max(0, now - bucket.lastRefillNanos) / nanosPerToken);
+            if (tokens < 1) {
+                return Optional.of(Duration.ofNanos(timeToRefill(1 - tokens)));
+            }
+            if (bucketReference.compareAndSet(bucket, new Bucket(tokens - 1, Math.max(now, bucket.lastRefillNanos)))) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private long timeToRefill(double tokens) {
+        return (long) Math.ceil(tokens * nanosPerToken);
+    }
+
+    private static final class Bucket {
+
+        private final double tokens;
+        private final long lastRefillNanos;
+
+        private Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package uk.gov.pay.adminusers.service;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.google.inject.persist.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.pay.adminusers.model.BatchCreateUserOutcome;
+import uk.gov.pay.adminusers.model.BatchCreateUserRequest;
+import uk.gov.pay.adminusers.model.CreateUserRequest;
+import uk.gov.pay.adminusers.persistence.dao.RoleDao;
+import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
+import uk.gov.pay.adminusers.persistence.dao.UserDao;
+import uk.gov.pay.adminusers.persistence.entity.RoleEntity;
+import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
+import uk.gov.pay.adminusers.persistence.entity.ServiceRoleEntity;
+import uk.gov.pay.adminusers.persistence.entity.UserEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static java.lang.String.format;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * Creates many users at once. Passwords are hashed in parallel before any database work starts, so the deliberately
+ * slow hashing does not hold a connection open; the users are then created in a single transaction, resolving each
+ * role once and all referenced services together.
+ */
+public class UserBatchCreator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserBatchCreator.class);
+
+    /* default */ static final int SERVICE_LOOKUP_CHUNK_SIZE = 1000;
+
+    private final UserDao userDao;
+    private final RoleDao roleDao;
+    private final ServiceDao serviceDao;
+    private final PasswordHasher passwordHasher;
+    private final LinksBuilder linksBuilder;
+    private final ExecutorService passwordHashingExecutor;
+
+    @Inject
+    public UserBatchCreator(UserDao userDao, RoleDao roleDao, ServiceDao serviceDao, PasswordHasher passwordHasher, LinksBuilder linksBuilder,
+                            @Named("PASSWORD_HASHING_EXECUTOR") ExecutorService passwordHashingExecutor) {
+        this.userDao = userDao;
+        this.roleDao = roleDao;
+        this.serviceDao = serviceDao;
+        this.passwordHasher = passwordHasher;
+        this.linksBuilder = linksBuilder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
+
+    public List<BatchCreateUserOutcome> doBatchCreate(List<BatchCreateUserRequest> batchCreateRequests) {
+        List<String> hashedPasswords = hashPasswords(batchCreateRequests);
+        return createUsers(batchCreateRequests, hashedPasswords);
+    }
+
+    /**
+     * Must not be private, or Guice will not intercept it when called from {@link #doBatchCreate(List)}.
+     */
+    @Transactional
+    protected List<BatchCreateUserOutcome> createUsers(List<BatchCreateUserRequest> batchCreateRequests, List<String> hashedPasswords) {
+        Set<String> existingUsernames = userDao.findExistingUsernames(batchCreateRequests.stream()
+                .map(batchCreateRequest -> batchCreateRequest.getUserRequest().getUsername())
+                .collect(toUnmodifiableList()));
+        Map<String, ServiceEntity> servicesByExternalId = findServices(batchCreateRequests);
+        Map<String, Optional<RoleEntity>> rolesByName = new HashMap<>();
+
+        List<BatchCreateUserOutcome> outcomes = new ArrayList<>(batchCreateRequests.size());
+        for (int i = 0; i < batchCreateRequests.size(); i++) {
+            CreateUserRequest userRequest = batchCreateRequests.get(i).getUserRequest();
+            String username = userRequest.getUsername();
+            String roleName = batchCreateRequests.get(i).getRoleName();
+            Optional<RoleEntity> role = rolesByName.computeIfAbsent(roleName, roleDao::findByRoleName);
+
+            if (existingUsernames.contains(username.toLowerCase())) {
+                outcomes.add(BatchCreateUserOutcome.conflict(username, List.of(format("username [%s] already exists", username))));
+            } else if (role.isEmpty()) {
+                outcomes.add(BatchCreateUserOutcome.failed(username, List.of(format("role [%s] not recognised", roleName))));
+            } else {
+                UserEntity userEntity = UserEntity.from(userRequest);
+                userEntity.setPassword(hashedPasswords.get(i));
+                addServiceRolesToUser(userEntity, role.get(), serviceExternalIdsOf(userRequest), servicesByExternalId);
+                userDao.persist(userEntity);
+                outcomes.add(BatchCreateUserOutcome.created(linksBuilder.decorate(userEntity.toUser())));
+            }
+        }
+        return outcomes;
+    }
+
+    private List<String> hashPasswords(List<BatchCreateUserRequest> batchCreateRequests) {
+        List<CompletableFuture<String>> hashedPasswords = batchCreateRequests.stream()
+                .map(batchCreateRequest -> CompletableFuture.supplyAsync(
+                        () -> passwordHasher.hash(batchCreateRequest.getUserRequest().getPassword()), passwordHashingExecutor))
+                .collect(toUnmodifiableList());
+        return hashedPasswords.stream()
+                .map(CompletableFuture::join)
+                .collect(toUnmodifiableList());
+    }
+
+    private Map<String, ServiceEntity> findServices(List<BatchCreateUserRequest> batchCreateRequests) {
+        Set<String> serviceExternalIds = new LinkedHashSet<>();
+        batchCreateRequests.forEach(batchCreateRequest -> serviceExternalIds.addAll(serviceExternalIdsOf(batchCreateRequest.getUserRequest())));
+
+        Map<String, ServiceEntity> servicesByExternalId = new HashMap<>();
+        for (List<String> chunk : Lists.partition(List.copyOf(serviceExternalIds), SERVICE_LOOKUP_CHUNK_SIZE)) {
+            servicesByExternalId.putAll(serviceDao.findByExternalIds(chunk).stream()
+                    .collect(toMap(ServiceEntity::getExternalId, identity())));
+        }
+        return servicesByExternalId;
+    }
+
+    private static List<String> serviceExternalIdsOf(CreateUserRequest userRequest) {
+        return userRequest.getServiceExternalIds() == null ? List.of() : userRequest.getServiceExternalIds();
+    }
+
+    private static void addServiceRolesToUser(UserEntity user, RoleEntity role, List<String> serviceExternalIds,
+                                              Map<String, ServiceEntity> servicesByExternalId) {
+        serviceExternalIds.forEach(serviceExternalId -> {
+            ServiceEntity serviceEntity = servicesByExternalId.get(serviceExternalId);
+            if (serviceEntity == null) {
+                LOGGER.error("Unable to assign service with external id {} to user, as it does not exist", serviceExternalId);
+            } else {
+                ServiceRoleEntity serviceRole = new ServiceRoleEntity(serviceEntity, role);
+                serviceRole.setUser(user);
+                user.addServiceRole(serviceRole);
+            }
+        });
+    }
+}
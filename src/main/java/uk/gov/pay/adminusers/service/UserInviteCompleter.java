@@ -5,7 +5,7 @@ import com.google.inject.persist.Transactional;
 import uk.gov.pay.adminusers.model.InviteCompleteResponse;
 import uk.gov.pay.adminusers.persistence.dao.InviteDao;
 import uk.gov.pay.adminusers.persistence.dao.UserDao;
-import uk.gov.pay.adminusers.persistence.entity.ServiceRoleEntity;
+import uk.gov.pay.adminusers.persistence.entity.InviteEntity;
 
 import java.util.Optional;
 
@@ -25,35 +25,32 @@ public class UserInviteCompleter extends InviteCompleter {
         this.userDao = userDao;
     }
 
+    /**
+     * Claims the invite, which disables it, then gives the invited user the invited role in the service.
+     * Completing the same invite twice, even at the same time, fails the second time as the invite is disabled.
+     */
     @Override
     @Transactional
     public Optional<InviteCompleteResponse> complete(String inviteCode) {
-        return inviteDao.findByCode(inviteCode)
-                .map(inviteEntity -> {
-                    if (inviteEntity.isExpired() || inviteEntity.isDisabled()) {
-                        throw inviteLockedException(inviteEntity.getCode());
-                    }
-                    return userDao.findByEmail(inviteEntity.getEmail())
-                            .map(userEntity -> {
-                                if (inviteEntity.getService() != null && inviteEntity.isUserType()) {
-                                    ServiceRoleEntity serviceRole = new ServiceRoleEntity(inviteEntity.getService(), inviteEntity.getRole());
-                                    userEntity.addServiceRole(serviceRole);
-                                    userDao.merge(userEntity);
-
-                                    inviteEntity.setDisabled(true);
-                                    inviteDao.merge(inviteEntity);
-
-                                    InviteCompleteResponse response = new InviteCompleteResponse(inviteEntity.toInvite());
-                                    response.setUserExternalId(userEntity.getExternalId());
-                                    response.setServiceExternalId(inviteEntity.getService().getExternalId());
-                                    return Optional.of(response);
-                                } else {
-                                    throw internalServerError(format("Attempting to complete user subscription to a service for a non existent service. invite-code = %s", inviteEntity.getCode()));
-                                }
-                            }).orElseGet(() -> {
-                                throw internalServerError(format("Attempting to complete user subscription to a service for a non existent user. invite-code = %s", inviteEntity.getCode()));
-                            });
-                }).orElseGet(Optional::empty);
-
+        Optional<InviteEntity> claimedInvite = inviteDao.claimByCode(inviteCode);
+        if (claimedInvite.isEmpty()) {
+            return inviteDao.findByCode(inviteCode).map(inviteEntity -> {
+                throw inviteLockedException(inviteEntity.getCode());
+            });
+        }
+
+        InviteEntity inviteEntity = claimedInvite.get();
+        if (inviteEntity.getService() == null || !inviteEntity.isUserType()) {
+            throw internalServerError(format("Attempting to complete user subscription to a service for a non existent service. invite-code = %s", inviteEntity.getCode()));
+        }
+
+        String userExternalId = userDao.addServiceRoleByEmail(inviteEntity.getEmail(),
+                inviteEntity.getService().getId(), inviteEntity.getRole().getId())
+                .orElseThrow(() -> internalServerError(format("Attempting to complete user subscription to a service for a non existent user. invite-code = %s", inviteEntity.getCode())));
+
+        InviteCompleteResponse response = new InviteCompleteResponse(inviteEntity.toInvite());
+        response.setUserExternalId(userExternalId);
+        response.setServiceExternalId(inviteEntity.getService().getExternalId());
+        return Optional.of(response);
     }
 }
@@ -18,6 +18,7 @@ import uk.gov.service.payments.commons.model.SupportedLanguage;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toUnmodifiableList;
@@ -38,20 +39,31 @@ public class UserInviteCreator {
     private final RoleDao roleDao;
     private final LinksConfig linksConfig;
     private final NotificationService notificationService;
+    private final NotificationDispatcher notificationDispatcher;
     private final ServiceDao serviceDao;
 
     @Inject
-    public UserInviteCreator(InviteDao inviteDao, UserDao userDao, RoleDao roleDao, LinksConfig linksConfig, NotificationService notificationService, ServiceDao serviceDao) {
+    public UserInviteCreator(InviteDao inviteDao, UserDao userDao, RoleDao roleDao, LinksConfig linksConfig, NotificationService notificationService,
+                             NotificationDispatcher notificationDispatcher, ServiceDao serviceDao) {
         this.inviteDao = inviteDao;
         this.userDao = userDao;
         this.roleDao = roleDao;
         this.linksConfig = linksConfig;
         this.notificationService = notificationService;
+        this.notificationDispatcher = notificationDispatcher;
         this.serviceDao = serviceDao;
     }
 
-    @Transactional
+    /**
+     * The invite email is sent only after the transaction that saves the invite has committed, so it never carries
+     * a code that was not saved.
+     */
     public Optional<Invite> doInvite(InviteUserRequest inviteUserRequest) {
+        return saveInvite(inviteUserRequest).map(InviteWithNotification::sendNotification);
+    }
+
+    @Transactional
+    /* default */ Optional<InviteWithNotification> saveInvite(InviteUserRequest inviteUserRequest) {
         Optional<ServiceEntity> serviceEntityOptional = serviceDao.findByExternalId(inviteUserRequest.getServiceExternalId());
         if (!serviceEntityOptional.isPresent()) {
             return Optional.empty();
@@ -74,10 +86,10 @@ public class UserInviteCreator {
             InviteEntity existingInvite = validInvitesToTheSameService.get(0);
             if (inviteUserRequest.getSender().equals(existingInvite.getSender().getExternalId())) {
                 String inviteUrl = fromUri(linksConfig.getSelfserviceInvitesUrl()).path(existingInvite.getCode()).build().toString();
-                sendUserInviteNotification(existingInvite, inviteUrl, existingInvite.getService(), existingUser);
                 Invite invite = existingInvite.toInvite();
                 invite.setInviteLink(inviteUrl);
-                return Optional.of(invite);
+                return Optional.of(new InviteWithNotification(invite,
+                        userInviteNotification(existingInvite, inviteUrl, existingInvite.getService(), existingUser)));
             } else {
                 throw conflictingInvite(inviteUserRequest.getEmail());
             }
@@ -95,10 +107,10 @@ public class UserInviteCreator {
                         inviteEntity.setType(USER);
                         inviteDao.persist(inviteEntity);
                         String inviteUrl = fromUri(linksConfig.getSelfserviceInvitesUrl()).path(inviteEntity.getCode()).build().toString();
-                        sendUserInviteNotification(inviteEntity, inviteUrl, serviceEntity, existingUser);
                         Invite invite = inviteEntity.toInvite();
                         invite.setInviteLink(inviteUrl);
-                        return Optional.of(invite);
+                        return Optional.of(new InviteWithNotification(invite,
+                                userInviteNotification(inviteEntity, inviteUrl, serviceEntity, existingUser)));
                     } else {
                         throw forbiddenOperationException(inviteUserRequest.getSender(), "invite", serviceEntity.getExternalId());
                     }
@@ -106,22 +118,33 @@ public class UserInviteCreator {
                 .orElseThrow(() -> undefinedRoleException(inviteUserRequest.getRoleName()));
     }
 
-    private void sendUserInviteNotification(InviteEntity inviteEntity, String inviteUrl, ServiceEntity serviceEntity, Optional<UserEntity> existingUser) {
+    /**
+     * Reads everything the email needs from the entities now, while the transaction is open, and returns the
+     * sending of it for later.
+     */
+    private Runnable userInviteNotification(InviteEntity inviteEntity, String inviteUrl, ServiceEntity serviceEntity,
+                                            Optional<UserEntity> existingUser) {
         UserEntity sender = inviteEntity.getSender();
         LOGGER.info("New invite created by User [{}]", sender.getExternalId());
-        try {
-            String notificationId;
-            
-            if (existingUser.isPresent()) {
-                String serviceName = serviceEntity.getServiceNames().get(SupportedLanguage.ENGLISH).getName();
-                notificationId = notificationService.sendInviteExistingUserEmail(inviteEntity.getSender().getEmail(), inviteEntity.getEmail(), inviteUrl, serviceName);
-            } else {
-                notificationId = notificationService.sendInviteEmail(inviteEntity.getSender().getEmail(), inviteEntity.getEmail(), inviteUrl);
-            }
+        String senderEmail = sender.getEmail();
+        String senderExternalId = sender.getExternalId();
+        String email = inviteEntity.getEmail();
 
-            LOGGER.info("sent invite email successfully by user [{}], notification id [{}]", sender.getExternalId(), notificationId);
-        } catch(Exception e) {
-            LOGGER.error(format("error sending email by user [%s]", sender.getExternalId()), e);
+        Supplier<String> notification;
+        if (existingUser.isPresent()) {
+            String serviceName = serviceEntity.getServiceNames().get(SupportedLanguage.ENGLISH).getName();
+            notification = () -> notificationService.sendInviteExistingUserEmail(senderEmail, email, inviteUrl, serviceName);
+        } else {
+            notification = () -> notificationService.sendInviteEmail(senderEmail, email, inviteUrl);
         }
+
+        return () -> notificationDispatcher.dispatch(notification)
+                .whenComplete((notificationId, e) -> {
+                    if (e == null) {
+                        LOGGER.info("sent invite email successfully by user [{}], notification id [{}]", senderExternalId, notificationId);
+                    } else {
+                        LOGGER.error(format("error sending email by user [%s]", senderExternalId), e);
+                    }
+                });
     }
 }
@@ -1,7 +1,6 @@
 package uk.gov.pay.adminusers.service;
 
 import com.google.inject.Inject;
-import com.google.inject.persist.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.gov.pay.adminusers.persistence.dao.InviteDao;
@@ -31,30 +30,24 @@ public class UserOtpDispatcher extends InviteOtpDispatcher {
         this.notificationService = notificationService;
     }
 
-    @Transactional
     @Override
-    public boolean dispatchOtp(String inviteCode) {
-        return inviteDao.findByCode(inviteCode)
-                .map(inviteEntity -> {
-                    inviteEntity.setTelephoneNumber(TelephoneNumberUtility.formatToE164(inviteOtpRequest.getTelephoneNumber()));
-                    inviteEntity.setPassword(passwordHasher.hash(inviteOtpRequest.getPassword()));
-                    inviteDao.merge(inviteEntity);
-                    int newPassCode = secondFactorAuthenticator.newPassCode(inviteEntity.getOtpKey());
-                    String passcode = format(Locale.ENGLISH, SIX_DIGITS_WITH_LEADING_ZEROS, newPassCode);
-                    LOGGER.info("New 2FA token generated for invite code [{}]", inviteCode);
-                    
-                    try {
-                        String notificationId = notificationService.sendSecondFactorPasscodeSms(inviteOtpRequest.getTelephoneNumber(), passcode,
-                                CREATE_USER_IN_RESPONSE_TO_INVITATION_TO_SERVICE);
-                        LOGGER.info("sent 2FA token successfully for invite code [{}], notification id [{}]", inviteCode, notificationId);
-                    } catch (Exception e) {
-                        LOGGER.info(format("error sending 2FA token for invite code [%s]", inviteCode), e);
-                    }
-                    
-                    return true;
-                }).orElseGet(() -> {
-                    LOGGER.info("New 2FA token generated for invite code [{}]", inviteCode);
-                    return false;
-                });
+    public void dispatchOtp() {
+        String inviteCode = inviteEntity.getCode();
+        String telephoneNumber = TelephoneNumberUtility.formatToE164(inviteOtpRequest.getTelephoneNumber());
+        String password = inviteOtpRequest.getPassword() == null
+                ? inviteEntity.getPassword()
+                : passwordHasher.hash(inviteOtpRequest.getPassword());
+        inviteDao.updateTelephoneNumberAndPassword(inviteCode, telephoneNumber, password);
+        int newPassCode = secondFactorAuthenticator.newPassCode(inviteEntity.getOtpKey());
+        String passcode = format(Locale.ENGLISH, SIX_DIGITS_WITH_LEADING_ZEROS, newPassCode);
+        LOGGER.info("New 2FA token generated for invite code [{}]", inviteCode);
+
+        try {
+            String notificationId = notificationService.sendSecondFactorPasscodeSms(inviteOtpRequest.getTelephoneNumber(), passcode,
+                    CREATE_USER_IN_RESPONSE_TO_INVITATION_TO_SERVICE);
+            LOGGER.info("sent 2FA token successfully for invite code [{}], notification id [{}]", inviteCode, notificationId);
+        } catch (Exception e) {
+            LOGGER.info(format("error sending 2FA token for invite code [%s]", inviteCode), e);
+        }
     }
 }
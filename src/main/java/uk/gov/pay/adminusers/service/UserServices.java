@@ -1,5 +1,7 @@
 package uk.gov.pay.adminusers.service;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.name.Named;
@@ -9,6 +11,10 @@ import org.slf4j.LoggerFactory;
 import uk.gov.pay.adminusers.model.PatchRequest;
 import uk.gov.pay.adminusers.model.SecondFactorMethod;
 import uk.gov.pay.adminusers.model.User;
+import uk.gov.pay.adminusers.model.UserSearchMatch;
+import uk.gov.pay.adminusers.model.UserSearchResult;
+import uk.gov.pay.adminusers.model.UserSearchResults;
+import uk.gov.pay.adminusers.model.UserSummary;
 import uk.gov.pay.adminusers.persistence.dao.UserDao;
 import uk.gov.pay.adminusers.persistence.entity.UserEntity;
 import uk.gov.pay.adminusers.utils.telephonenumber.TelephoneNumberUtility;
@@ -16,24 +22,28 @@ import uk.gov.pay.adminusers.utils.telephonenumber.TelephoneNumberUtility;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toUnmodifiableList;
 import static uk.gov.pay.adminusers.model.PatchRequest.PATH_DISABLED;
 import static uk.gov.pay.adminusers.model.PatchRequest.PATH_FEATURES;
 import static uk.gov.pay.adminusers.model.PatchRequest.PATH_SESSION_VERSION;
 import static uk.gov.pay.adminusers.model.PatchRequest.PATH_TELEPHONE_NUMBER;
 import static uk.gov.pay.adminusers.model.SecondFactorMethod.SMS;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.staleEntityTag;
 
 public class UserServices {
 
     private static Logger logger = LoggerFactory.getLogger(UserServices.class);
 
+    /* default */ static final int FIND_BATCH_SIZE = 500;
+
     private final UserDao userDao;
     private final PasswordHasher passwordHasher;
     private final LinksBuilder linksBuilder;
@@ -92,12 +102,35 @@ public class UserServices {
         return userEntityOptional.map(userEntity -> linksBuilder.decorate(userEntity.toUser()));
     }
 
-    public List<User> findUsersByExternalIds(List<String> externalIds) {
-        return userDao.findByExternalIds(externalIds)
-                .stream()
-                .map(UserEntity::toUser)
-                .map(linksBuilder::decorate)
-                .collect(toUnmodifiableList());
+    /**
+     * @return the version fingerprint the user would be tagged with if loaded, looked up without loading it
+     */
+    public Optional<String> findUserVersionFingerprint(String externalId) {
+        return userDao.findVersionFingerprintByExternalId(externalId);
+    }
+
+    public Optional<UserSummary> findUserSummaryByExternalId(String externalId) {
+        return userDao.findSummaryByExternalId(externalId);
+    }
+
+    /**
+     * @param afterId the id of the last user on the previous page, or 0 for the first page
+     * @return up to {@code limit} matching users, with a cursor for the next page if this one is full
+     */
+    public UserSearchResults searchUsers(String searchTerm, UserSearchMatch match, int afterId, int limit) {
+        List<UserSearchResult> results = userDao.search(searchTerm, match, afterId, limit);
+        String nextCursor = results.size() < limit ? null : UserSearchResults.cursorAfter(results.get(results.size() - 1));
+        return new UserSearchResults(results, nextCursor);
+    }
+
+    /**
+     * @return the users, looked up {@value #FIND_BATCH_SIZE} at a time as the iterator is used
+     */
+    public Iterator<User> findUsersByExternalIds(List<String> externalIds) {
+        Iterator<UserEntity> userEntities = Iterators.concat(Iterators.transform(
+                Lists.partition(externalIds, FIND_BATCH_SIZE).iterator(),
+                batch -> userDao.findByExternalIds(batch).iterator()));
+        return Iterators.transform(userEntities, userEntity -> linksBuilder.decorate(userEntity.toUser()));
     }
 
     public Optional<User> findUserByUsername(String username) {
@@ -230,6 +263,16 @@ public class UserServices {
 
     @Transactional
     public Optional<User> patchUser(String externalId, PatchRequest patchRequest) {
+        return patchUser(externalId, patchRequest, versionFingerprint -> true);
+    }
+
+    /**
+     * @param precondition tested against the version fingerprint of the user as loaded in this transaction; if it
+     *                     fails the user is not modified and a 412 is thrown
+     * @return the patched user, whose version fingerprint reflects the change
+     */
+    @Transactional
+    public Optional<User> patchUser(String externalId, PatchRequest patchRequest, Predicate<String> precondition) {
 
         Optional<UserEntity> userOptional = userDao.findByExternalId(externalId);
 
@@ -239,6 +282,10 @@ public class UserServices {
 
         UserEntity user = userOptional.get();
 
+        if (!precondition.test(user.getVersionFingerprint())) {
+            throw staleEntityTag();
+        }
+
         if (PATH_SESSION_VERSION.equals(patchRequest.getPath())) {
             incrementSessionVersion(user, parseInt(patchRequest.getValue()));
         } else if (PATH_DISABLED.equals(patchRequest.getPath())) {
@@ -253,6 +300,7 @@ public class UserServices {
             throw new RuntimeException(error);
         }
 
+        userDao.flush();
         return Optional.of(linksBuilder.decorate(user.toUser()));
     }
 
@@ -6,5 +6,9 @@ public interface UserServicesFactory {
 
     ServiceRoleCreator serviceRoleCreator();
 
+    ServiceRoleBulkUpdater serviceRoleBulkUpdater();
+
     UserCreator userCreator();
+
+    UserBatchCreator userBatchCreator();
 }
@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset uk.gov.pay:alter_table_services_add_column_version
+ALTER TABLE services ADD COLUMN version INTEGER DEFAULT 0 NOT NULL;
+
+--rollback ALTER TABLE services DROP COLUMN version;
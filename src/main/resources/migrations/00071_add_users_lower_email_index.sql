@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset uk.gov.pay:add_users_lower_email_index
+CREATE INDEX users_lower_email_idx ON users (LOWER(email));
+
+--rollback DROP INDEX users_lower_email_idx;
@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset uk.gov.pay:alter_services_custom_branding_to_jsonb
+ALTER TABLE services ALTER COLUMN custom_branding TYPE jsonb USING custom_branding::jsonb;
+
+--rollback ALTER TABLE services ALTER COLUMN custom_branding TYPE json USING custom_branding::json;
@@ -0,0 +1,77 @@
+--liquibase formatted sql
+
+--changeset uk.gov.pay:create_table_service_summaries
+CREATE TABLE service_summaries (
+    service_id INTEGER PRIMARY KEY REFERENCES services (id) ON DELETE CASCADE,
+    external_id VARCHAR(32) NOT NULL,
+    name VARCHAR(255),
+    sector VARCHAR(50),
+    internal BOOLEAN,
+    archived BOOLEAN,
+    current_go_live_stage VARCHAR(50),
+    current_psp_test_account_stage VARCHAR(50),
+    created_date TIMESTAMP WITH TIME ZONE,
+    went_live_date TIMESTAMP WITH TIME ZONE
+);
+CREATE INDEX service_summaries_current_go_live_stage_idx ON service_summaries (current_go_live_stage);
+CREATE INDEX service_summaries_sector_idx ON service_summaries (sector);
+
+--rollback DROP TABLE service_summaries;
+
+--changeset uk.gov.pay:create_service_summaries_triggers splitStatements:false
+CREATE OR REPLACE FUNCTION refresh_service_summary() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO service_summaries (service_id, external_id, name, sector, internal, archived, current_go_live_stage,
+                                   current_psp_test_account_stage, created_date, went_live_date)
+    VALUES (NEW.id, NEW.external_id,
+            (SELECT name FROM service_names WHERE service_id = NEW.id AND language = 'en'),
+            NEW.sector, NEW.internal, NEW.archived, NEW.current_go_live_stage,
+            NEW.current_psp_test_account_stage, NEW.created_date, NEW.went_live_date)
+    ON CONFLICT (service_id) DO UPDATE SET
+        external_id = EXCLUDED.external_id,
+        sector = EXCLUDED.sector,
+        internal = EXCLUDED.internal,
+        archived = EXCLUDED.archived,
+        current_go_live_stage = EXCLUDED.current_go_live_stage,
+        current_psp_test_account_stage = EXCLUDED.current_psp_test_account_stage,
+        created_date = EXCLUDED.created_date,
+        went_live_date = EXCLUDED.went_live_date;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER services_refresh_service_summary
+    AFTER INSERT OR UPDATE ON services
+    FOR EACH ROW EXECUTE PROCEDURE refresh_service_summary();
+
+CREATE OR REPLACE FUNCTION refresh_service_summary_name() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF OLD.language = 'en' THEN
+            UPDATE service_summaries SET name = NULL WHERE service_id = OLD.service_id;
+        END IF;
+        RETURN NULL;
+    END IF;
+    IF NEW.language = 'en' THEN
+        UPDATE service_summaries SET name = NEW.name WHERE service_id = NEW.service_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER service_names_refresh_service_summary
+    AFTER INSERT OR UPDATE OR DELETE ON service_names
+    FOR EACH ROW EXECUTE PROCEDURE refresh_service_summary_name();
+
+--rollback DROP TRIGGER service_names_refresh_service_summary ON service_names; DROP FUNCTION refresh_service_summary_name(); DROP TRIGGER services_refresh_service_summary ON services; DROP FUNCTION refresh_service_summary();
+
+--changeset uk.gov.pay:backfill_service_summaries
+INSERT INTO service_summaries (service_id, external_id, name, sector, internal, archived, current_go_live_stage,
+                               current_psp_test_account_stage, created_date, went_live_date)
+SELECT s.id, s.external_id, sn.name, s.sector, s.internal, s.archived, s.current_go_live_stage,
+       s.current_psp_test_account_stage, s.created_date, s.went_live_date
+FROM services s
+LEFT JOIN service_names sn ON sn.service_id = s.id AND sn.language = 'en'
+ON CONFLICT (service_id) DO NOTHING;
+
+--rollback DELETE FROM service_summaries;
@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset uk.gov.pay:create_extension_pg_trgm
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+--rollback DROP EXTENSION IF EXISTS pg_trgm;
+
+--changeset uk.gov.pay:add_service_names_name_trgm_index
+CREATE INDEX service_names_name_trgm_idx ON service_names USING gin (name gin_trgm_ops);
+
+--rollback DROP INDEX service_names_name_trgm_idx;
+
+--changeset uk.gov.pay:add_services_merchant_name_trgm_index
+CREATE INDEX services_merchant_name_trgm_idx ON services USING gin (merchant_name gin_trgm_ops);
+
+--rollback DROP INDEX services_merchant_name_trgm_idx;
@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+--changeset uk.gov.pay:add_users_lower_email_pattern_index
+CREATE INDEX users_lower_email_pattern_idx ON users (LOWER(email) text_pattern_ops);
+
+--rollback DROP INDEX users_lower_email_pattern_idx;
+
+--changeset uk.gov.pay:add_users_lower_username_pattern_index
+CREATE INDEX users_lower_username_pattern_idx ON users (LOWER(username) text_pattern_ops);
+
+--rollback DROP INDEX users_lower_username_pattern_idx;
+
+--changeset uk.gov.pay:add_users_lower_email_trgm_index
+CREATE INDEX users_lower_email_trgm_idx ON users USING gin (LOWER(email) gin_trgm_ops);
+
+--rollback DROP INDEX users_lower_email_trgm_idx;
+
+--changeset uk.gov.pay:add_users_lower_username_trgm_index
+CREATE INDEX users_lower_username_trgm_idx ON users USING gin (LOWER(username) gin_trgm_ops);
+
+--rollback DROP INDEX users_lower_username_trgm_idx;
@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+--changeset uk.gov.pay:refresh_service_summary_only_when_mirrored_columns_change splitStatements:false
+DROP TRIGGER services_refresh_service_summary ON services;
+
+CREATE TRIGGER services_insert_service_summary
+    AFTER INSERT ON services
+    FOR EACH ROW EXECUTE PROCEDURE refresh_service_summary();
+
+CREATE TRIGGER services_refresh_service_summary
+    AFTER UPDATE ON services
+    FOR EACH ROW
+    WHEN (OLD.external_id IS DISTINCT FROM NEW.external_id
+        OR OLD.sector IS DISTINCT FROM NEW.sector
+        OR OLD.internal IS DISTINCT FROM NEW.internal
+        OR OLD.archived IS DISTINCT FROM NEW.archived
+        OR OLD.current_go_live_stage IS DISTINCT FROM NEW.current_go_live_stage
+        OR OLD.current_psp_test_account_stage IS DISTINCT FROM NEW.current_psp_test_account_stage
+        OR OLD.created_date IS DISTINCT FROM NEW.created_date
+        OR OLD.went_live_date IS DISTINCT FROM NEW.went_live_date)
+    EXECUTE PROCEDURE refresh_service_summary();
+
+--rollback DROP TRIGGER services_refresh_service_summary ON services; DROP TRIGGER services_insert_service_summary ON services; CREATE TRIGGER services_refresh_service_summary AFTER INSERT OR UPDATE ON services FOR EACH ROW EXECUTE PROCEDURE refresh_service_summary();
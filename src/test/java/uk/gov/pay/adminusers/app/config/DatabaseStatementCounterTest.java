@@ -0,0 +1,68 @@
+package uk.gov.pay.adminusers.app.config;
+
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+
+public class DatabaseStatementCounterTest {
+
+    private final DatabaseStatementCounter counter = new DatabaseStatementCounter();
+    private final SessionEvent event = mock(SessionEvent.class);
+
+    @AfterEach
+    public void after() {
+        DatabaseStatementCounter.stopCounting();
+    }
+
+    @Test
+    public void shouldCountStatementsExecutedWhileCounting() {
+        DatabaseStatementCounter.startCounting();
+        executeStatement();
+        executeStatement();
+
+        DatabaseStatementCounter.Stats stats = DatabaseStatementCounter.stopCounting();
+
+        assertThat(stats.getStatementCount(), is(2));
+        assertThat(stats.getTotalNanos(), greaterThanOrEqualTo(0L));
+    }
+
+    @Test
+    public void shouldKeepCounting_afterTakingTheCurrentCount() {
+        DatabaseStatementCounter.startCounting();
+        executeStatement();
+
+        DatabaseStatementCounter.Stats current = DatabaseStatementCounter.currentCount();
+        executeStatement();
+
+        assertThat(current.getStatementCount(), is(1));
+        assertThat(DatabaseStatementCounter.stopCounting().getStatementCount(), is(2));
+    }
+
+    @Test
+    public void shouldIgnoreStatements_whenNotCounting() {
+        executeStatement();
+
+        assertThat(DatabaseStatementCounter.stopCounting().getStatementCount(), is(0));
+    }
+
+    @Test
+    public void shouldStartFromZero_eachTimeCountingStarts() {
+        DatabaseStatementCounter.startCounting();
+        executeStatement();
+        DatabaseStatementCounter.stopCounting();
+
+        DatabaseStatementCounter.startCounting();
+
+        assertThat(DatabaseStatementCounter.stopCounting().getStatementCount(), is(0));
+    }
+
+    private void executeStatement() {
+        counter.preExecuteCall(event);
+        counter.postExecuteCall(event);
+    }
+}
@@ -0,0 +1,61 @@
+package uk.gov.pay.adminusers.app.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+
+public class QueryProfilerTest {
+
+    private final QueryProfiler queryProfiler = new QueryProfiler();
+
+    @Test
+    public void shouldFingerprintQueriesIgnoringLiteralsParameterListsAndWhitespace() {
+        assertThat(QueryProfiler.fingerprint("SELECT t0.ID FROM users t0 WHERE (t0.username = 'bob' AND t0.login_counter > 10)"),
+                is("SELECT t0.ID FROM users t0 WHERE (t0.username = ? AND t0.login_counter > ?)"));
+        assertThat(QueryProfiler.fingerprint("SELECT id FROM services\n  WHERE external_id IN (?, ?,?)"),
+                is("SELECT id FROM services WHERE external_id IN (?...)"));
+    }
+
+    @Test
+    public void shouldGroupStatsByFingerprint_slowestInTotalFirst() {
+        queryProfiler.record("SELECT * FROM users WHERE id = 1", List.of(), TimeUnit.MILLISECONDS.toNanos(2));
+        queryProfiler.record("SELECT * FROM users WHERE id = 2", List.of(), TimeUnit.MILLISECONDS.toNanos(4));
+        queryProfiler.record("SELECT * FROM services WHERE id = ?", List.of(1), TimeUnit.MILLISECONDS.toNanos(1));
+
+        List<Map<String, Object>> stats = queryProfiler.getStats();
+
+        assertThat(stats, hasSize(2));
+        assertThat(stats.get(0).get("fingerprint"), is("SELECT * FROM users WHERE id = ?"));
+        assertThat(stats.get(0).get("count"), is(2L));
+        assertThat(stats.get(0).get("total_ms"), is(6L));
+        assertThat(stats.get(1).get("count"), is(1L));
+    }
+
+    @Test
+    public void shouldCollectNewFingerprintsUnderOther_onceLimitReached() {
+        for (int i = 0; i < QueryProfiler.MAX_FINGERPRINTS + 5; i++) {
+            queryProfiler.record("SELECT * FROM table_" + (char) ('a' + i % 26) + i / 26, List.of(), 1000);
+        }
+
+        List<Map<String, Object>> stats = queryProfiler.getStats();
+
+        assertThat(stats, hasSize(QueryProfiler.MAX_FINGERPRINTS + 1));
+    }
+
+    @Test
+    public void shouldClearStats_whenReset() {
+        queryProfiler.setSlowQueryThreshold(Duration.ofMillis(1));
+        queryProfiler.record("SELECT * FROM users", List.of(), TimeUnit.MILLISECONDS.toNanos(5));
+
+        queryProfiler.reset();
+
+        assertThat(queryProfiler.getStats(), hasSize(0));
+    }
+}
@@ -0,0 +1,117 @@
+package uk.gov.pay.adminusers.filters;
+
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import uk.gov.pay.adminusers.app.config.DatabaseStatementCounter;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.gov.pay.adminusers.filters.ResourceMethodMetricsListener.DB_STATEMENT_COUNT;
+
+public class ResourceMethodMetricsListenerTest {
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final DatabaseStatementCounter counter = new DatabaseStatementCounter();
+    private final ExecutorService resumingThread = Executors.newSingleThreadExecutor();
+    private RequestEventListener requestListener;
+
+    @BeforeEach
+    public void before() {
+        requestListener = new ResourceMethodMetricsListener(metricRegistry).onRequest(mock(RequestEvent.class));
+    }
+
+    @AfterEach
+    public void after() {
+        resumingThread.shutdownNow();
+        DatabaseStatementCounter.stopCounting();
+        MDC.clear();
+    }
+
+    @Test
+    public void shouldCountStatements_untilASynchronousRequestFinishes() {
+        fire(RequestEvent.Type.RESOURCE_METHOD_START, "GET");
+        executeStatement();
+        fire(RequestEvent.Type.RESOURCE_METHOD_FINISHED, "GET");
+
+        assertThat(MDC.get(DB_STATEMENT_COUNT), is("1"));
+
+        executeStatement();
+        fire(RequestEvent.Type.FINISHED, "GET");
+
+        assertThat(metricRegistry.histogram("resource-methods.TestResource.get.db_statements").getSnapshot().getMax(), is(2L));
+        assertThat(MDC.get(DB_STATEMENT_COUNT), is(nullValue()));
+        assertThat(DatabaseStatementCounter.currentCount().getStatementCount(), is(0));
+    }
+
+    @Test
+    public void shouldRecordStatementsAndLeaveNothingOnTheRequestThread_whenASuspendedRequestFinishesOnAnotherThread() throws Exception {
+        fire(RequestEvent.Type.RESOURCE_METHOD_START, "POST");
+        executeStatement();
+        fire(RequestEvent.Type.RESOURCE_METHOD_FINISHED, "POST");
+
+        assertThat(MDC.get(DB_STATEMENT_COUNT), is(nullValue()));
+        executeStatement();
+        assertThat(DatabaseStatementCounter.currentCount().getStatementCount(), is(0));
+
+        resumingThread.submit(() -> fire(RequestEvent.Type.FINISHED, "POST")).get();
+
+        assertThat(metricRegistry.histogram("resource-methods.TestResource.suspended.db_statements").getCount(), is(1L));
+        assertThat(metricRegistry.histogram("resource-methods.TestResource.suspended.db_statements").getSnapshot().getMax(), is(1L));
+    }
+
+    private void fire(RequestEvent.Type type, String httpMethod) {
+        RequestEvent event = mock(RequestEvent.class);
+        ExtendedUriInfo uriInfo = mock(ExtendedUriInfo.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getUriInfo()).thenReturn(uriInfo);
+        when(uriInfo.getMatchedResourceMethod()).thenReturn(resourceMethod(httpMethod));
+        requestListener.onEvent(event);
+    }
+
+    private ResourceMethod resourceMethod(String httpMethod) {
+        return Resource.from(TestResource.class).getResourceMethods().stream()
+                .filter(method -> method.getHttpMethod().equals(httpMethod))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void executeStatement() {
+        SessionEvent event = mock(SessionEvent.class);
+        counter.preExecuteCall(event);
+        counter.postExecuteCall(event);
+    }
+
+    @Path("/")
+    public static class TestResource {
+
+        @GET
+        public String get() {
+            return "";
+        }
+
+        @POST
+        public void suspended(@Suspended AsyncResponse asyncResponse) {
+            asyncResponse.resume("");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.pay.adminusers.fixtures;
 
+import uk.gov.pay.adminusers.model.CustomBranding;
 import uk.gov.pay.adminusers.model.GoLiveStage;
 import uk.gov.pay.adminusers.model.MerchantDetails;
 import uk.gov.pay.adminusers.model.PspTestAccountStage;
@@ -86,7 +87,7 @@ public class ServiceDbFixture {
         service.setMerchantDetails(merchantDetails);
         service.setCollectBillingAddress(collectBillingAddress);
         service.setGoLiveStage(goLiveStage);
-        service.setCustomBranding(customBranding);
+        service.setCustomBranding(CustomBranding.fromMap(customBranding));
         service.setExperimentalFeaturesEnabled(experimentalFeaturesEnabled);
         service.setCurrentPspTestAccountStage(currentPspTestAccountStage);
         databaseHelper.addService(service, gatewayAccountIds.toArray(new String[0]));
@@ -103,4 +104,9 @@ public class ServiceDbFixture {
         this.externalId = externalId;
         return this;
     }
+
+    public ServiceDbFixture withName(String name) {
+        this.name = name;
+        return this;
+    }
 }
@@ -0,0 +1,54 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.Jackson;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CustomBrandingTest {
+
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+
+    @Test
+    public void shouldWriteStoredJsonWithoutParsingIt() throws Exception {
+        CustomBranding customBranding = CustomBranding.fromJson("{\"css_url\": \"css url\", \"image_url\": \"image url\"}");
+
+        String json = objectMapper.writeValueAsString(Map.of("custom_branding", customBranding));
+
+        assertThat(json, is("{\"custom_branding\":{\"css_url\": \"css url\", \"image_url\": \"image url\"}}"));
+    }
+
+    @Test
+    public void shouldNotParseStoredJsonUntilReadAsAMap() {
+        CustomBranding customBranding = CustomBranding.fromJson("{not json");
+
+        assertThrows(RuntimeException.class, customBranding::asMap);
+    }
+
+    @Test
+    public void shouldParseStoredJsonWhenReadAsAMap() {
+        CustomBranding customBranding = CustomBranding.fromJson("{\"css_url\": \"css url\", \"nested\": {\"a\": 1}}");
+
+        assertThat(customBranding.asMap(), is(Map.of("css_url", "css url", "nested", Map.of("a", 1))));
+    }
+
+    @Test
+    public void shouldBeEmptyWhenStoredJsonHasNoMembers() {
+        assertThat(CustomBranding.fromJson("{}").isEmpty(), is(true));
+        assertThat(CustomBranding.fromJson("null").isEmpty(), is(true));
+        assertThat(CustomBranding.fromJson("{\"css_url\": \"css url\"}").isEmpty(), is(false));
+    }
+
+    @Test
+    public void shouldNotIncludeEmptyCustomBrandingInService() throws Exception {
+        Service service = Service.from();
+        service.setCustomBranding(CustomBranding.fromMap(Map.of()));
+
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(service)).has("custom_branding"), is(false));
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.pay.adminusers.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.dropwizard.jackson.Jackson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.gov.pay.adminusers.service.LinksBuilder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
+
+/**
+ * Compares serialising a user with an unconfigured object mapper, with the application's object mapper, and with
+ * a writer for users taken from the application's object mapper once and reused.
+ * Not run as part of the build; run the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSerialisationBenchmark {
+
+    private final ObjectMapper unconfiguredObjectMapper = new ObjectMapper();
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+    private final ObjectWriter userWriter = objectMapper.writerFor(User.class);
+    private User user;
+
+    @Setup
+    public void setUp() {
+        Role role = Role.role(2, "admin", "Administrator");
+        role.setPermissions(Set.of(Permission.permission(1, "users-service:read", "View users"),
+                Permission.permission(2, "users-service:create", "Create users")));
+        Service service = Service.from(1, randomUuid(), new ServiceName(Service.DEFAULT_NAME_VALUE));
+        user = new LinksBuilder("http://localhost:8080").decorate(User.from(1, randomUuid(), "a-username", "a-password",
+                "email@example.com", "otp-key", "+441134960000", List.of(ServiceRole.from(service, role)), null,
+                SecondFactorMethod.SMS, null, null, null));
+    }
+
+    @Benchmark
+    public byte[] unconfiguredObjectMapper() throws JsonProcessingException {
+        return unconfiguredObjectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] cachedUserWriter() throws JsonProcessingException {
+        return userWriter.writeValueAsBytes(user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UserSerialisationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.pay.adminusers.app.config.AdminUsersSessionCustomiser;
 import uk.gov.pay.adminusers.infra.GuicedTestEnvironment;
 import uk.gov.pay.adminusers.model.Permission;
 import uk.gov.pay.adminusers.utils.DatabaseTestHelper;
@@ -38,6 +39,7 @@ public class DaoTestBase {
         properties.put("javax.persistence.jdbc.url", postgres.getConnectionUrl());
         properties.put("javax.persistence.jdbc.user", postgres.getUsername());
         properties.put("javax.persistence.jdbc.password", postgres.getPassword());
+        properties.put("eclipselink.session.customizer", AdminUsersSessionCustomiser.class.getName());
 
         JpaPersistModule jpaModule = new JpaPersistModule("AdminUsersUnit").properties(properties);
 
@@ -1,24 +1,32 @@
 package uk.gov.pay.adminusers.persistence.dao;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.app.config.DatabaseStatementCounter;
 import uk.gov.pay.adminusers.model.Role;
+import uk.gov.pay.adminusers.model.Service;
 import uk.gov.pay.adminusers.model.User;
 import uk.gov.pay.adminusers.persistence.entity.InviteEntity;
 import uk.gov.pay.adminusers.persistence.entity.RoleEntity;
 import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
 import uk.gov.pay.adminusers.persistence.entity.UserEntity;
 
+import javax.persistence.EntityManager;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static java.sql.Timestamp.from;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
+import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomInt;
 import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
 import static uk.gov.pay.adminusers.fixtures.InviteDbFixture.inviteDbFixture;
 import static uk.gov.pay.adminusers.fixtures.RoleDbFixture.roleDbFixture;
@@ -88,6 +96,46 @@ public class InviteDaoIT extends DaoTestBase {
         assertThat(invite.isPresent(), is(true));
     }
 
+    @Test
+    public void claimByCode_shouldDisableTheInvite_andOnlySucceedOnce() {
+
+        String code = inviteDbFixture(databaseHelper).insertInvite();
+
+        Optional<InviteEntity> firstClaim = inviteDao.claimByCode(code);
+        Optional<InviteEntity> secondClaim = inviteDao.claimByCode(code);
+
+        assertThat(firstClaim.isPresent(), is(true));
+        assertThat(firstClaim.get().getCode(), is(code));
+        assertThat(firstClaim.get().isDisabled(), is(true));
+        assertThat(firstClaim.get().getVersion(), is(1L));
+        assertThat(databaseHelper.findInviteById(firstClaim.get().getId()).get(0).get("disabled"), is(true));
+        assertThat(secondClaim.isPresent(), is(false));
+    }
+
+    @Test
+    public void claimByCode_shouldNotClaimAnExpiredOrDisabledInvite() {
+
+        String expiredCode = inviteDbFixture(databaseHelper).expired().insertInvite();
+        String disabledCode = inviteDbFixture(databaseHelper).disabled().insertInvite();
+
+        assertThat(inviteDao.claimByCode(expiredCode).isPresent(), is(false));
+        assertThat(inviteDao.claimByCode(disabledCode).isPresent(), is(false));
+        assertThat(inviteDao.claimByCode("non-existent-code").isPresent(), is(false));
+    }
+
+    @Test
+    public void updateTelephoneNumberAndPassword_shouldUpdateTheInvite() {
+
+        String code = inviteDbFixture(databaseHelper).insertInvite();
+
+        inviteDao.updateTelephoneNumberAndPassword(code, "+441134960000", "a-password-hash");
+
+        InviteEntity invite = inviteDao.findByCode(code).get();
+        assertThat(invite.getTelephoneNumber(), is("+441134960000"));
+        assertThat(invite.getPassword(), is("a-password-hash"));
+        assertThat(invite.getVersion(), is(1L));
+    }
+
     @Test
     public void findByEmail_shouldFindAnExistingInvite() {
 
@@ -109,4 +157,59 @@ public class InviteDaoIT extends DaoTestBase {
         
         assertThat(invites.size(), is(1));
     }
+
+    @Test
+    public void findByCodeWithUserExists_shouldFindInviteAndWhetherAUserHasItsEmailAddress() {
+        String existingUserEmail = userDbFixture(databaseHelper).insertUser().getEmail();
+        String codeForExistingUser = inviteDbFixture(databaseHelper).withEmail(existingUserEmail.toUpperCase()).insertInvite();
+        String codeForNewUser = inviteDbFixture(databaseHelper).insertInvite();
+
+        Optional<Pair<InviteEntity, Boolean>> inviteForExistingUser = inviteDao.findByCodeWithUserExists(codeForExistingUser);
+        Optional<Pair<InviteEntity, Boolean>> inviteForNewUser = inviteDao.findByCodeWithUserExists(codeForNewUser);
+
+        assertThat(inviteForExistingUser.isPresent(), is(true));
+        assertThat(inviteForExistingUser.get().getLeft().getCode(), is(codeForExistingUser));
+        assertThat(inviteForExistingUser.get().getRight(), is(true));
+        assertThat(inviteForNewUser.isPresent(), is(true));
+        assertThat(inviteForNewUser.get().getRight(), is(false));
+        assertThat(inviteDao.findByCodeWithUserExists("non-existent-code").isPresent(), is(false));
+    }
+
+    @Test
+    public void findAllByServiceIdWithUserExists_shouldNotRunAStatementPerInvite() {
+        Role role = roleDbFixture(databaseHelper).insertRole();
+        User sender = userDbFixture(databaseHelper).insertUser();
+        String existingUserEmail = userDbFixture(databaseHelper).insertUser().getEmail();
+        Service serviceWithOneInvite = serviceDbFixture(databaseHelper).insertService();
+        Service serviceWithThreeInvites = serviceDbFixture(databaseHelper).insertService();
+        addInvite(sender, serviceWithOneInvite, role, randomUuid() + "@example.com");
+        addInvite(sender, serviceWithThreeInvites, role, existingUserEmail.toUpperCase());
+        addInvite(sender, serviceWithThreeInvites, role, randomUuid() + "@example.com");
+        addInvite(sender, serviceWithThreeInvites, role, randomUuid() + "@example.com");
+
+        int statementsForOneInvite = countStatements(() -> inviteDao.findAllByServiceIdWithUserExists(serviceWithOneInvite.getExternalId()));
+        DatabaseStatementCounter.startCounting();
+        List<Pair<InviteEntity, Boolean>> invites = inviteDao.findAllByServiceIdWithUserExists(serviceWithThreeInvites.getExternalId());
+        int statementsForThreeInvites = DatabaseStatementCounter.stopCounting().getStatementCount();
+
+        assertThat(invites.size(), is(3));
+        assertThat(invites.stream().filter(Pair::getRight).map(invite -> invite.getLeft().getEmail()).collect(toList()),
+                is(List.of(existingUserEmail.toUpperCase())));
+        assertThat(statementsForThreeInvites, is(statementsForOneInvite));
+    }
+
+    private void addInvite(User sender, Service service, Role role, String email) {
+        databaseHelper.addInvite(randomInt(), sender.getId(), service.getId(), role.getId(), email, randomAlphanumeric(100),
+                randomAlphanumeric(100), ZonedDateTime.now(ZoneOffset.UTC), ZonedDateTime.now(ZoneOffset.UTC).plusDays(1),
+                null, null, false, 0);
+    }
+
+    private int countStatements(Runnable query) {
+        env.getInstance(EntityManager.class).clear();
+        DatabaseStatementCounter.startCounting();
+        query.run();
+        int statements = DatabaseStatementCounter.stopCounting().getStatementCount();
+        env.getInstance(EntityManager.class).clear();
+        return statements;
+    }
 }
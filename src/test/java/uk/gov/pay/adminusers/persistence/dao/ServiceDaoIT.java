@@ -7,12 +7,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.postgresql.util.PGobject;
 import uk.gov.pay.adminusers.fixtures.UserDbFixture;
+import uk.gov.pay.adminusers.model.CustomBranding;
 import uk.gov.pay.adminusers.model.GoLiveStage;
 import uk.gov.pay.adminusers.model.Permission;
 import uk.gov.pay.adminusers.model.PspTestAccountStage;
 import uk.gov.pay.adminusers.model.Role;
 import uk.gov.pay.adminusers.model.Service;
 import uk.gov.pay.adminusers.model.ServiceName;
+import uk.gov.pay.adminusers.model.ServiceSummaryFilter;
+import uk.gov.pay.adminusers.model.ServiceSummaryReport;
 import uk.gov.pay.adminusers.model.User;
 import uk.gov.pay.adminusers.persistence.entity.CustomBrandingConverter;
 import uk.gov.pay.adminusers.persistence.entity.GatewayAccountIdEntity;
@@ -33,6 +36,7 @@ import java.util.Set;
 
 import static java.time.ZoneOffset.UTC;
 import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toUnmodifiableSet;
 import static java.util.stream.IntStream.range;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItems;
@@ -42,6 +46,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomInt;
 import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
+import static uk.gov.pay.adminusers.fixtures.ServiceDbFixture.serviceDbFixture;
 import static uk.gov.pay.adminusers.model.Role.role;
 
 class ServiceDaoIT extends DaoTestBase {
@@ -76,6 +81,122 @@ class ServiceDaoIT extends DaoTestBase {
         assertThat(savedService.get(0).get("experimental_features_enabled"), is(true));
     }
 
+    @Test
+    void shouldListServicesAfterAnId_inOrderOfId() {
+        int firstId = serviceDbFixture(databaseHelper).insertService().getId();
+        int secondId = serviceDbFixture(databaseHelper).insertService().getId();
+        int thirdId = serviceDbFixture(databaseHelper).insertService().getId();
+
+        List<ServiceEntity> services = serviceDao.listAfterId(firstId, 2);
+
+        assertThat(services.size(), is(2));
+        assertThat(services.get(0).getId(), is(secondId));
+        assertThat(services.get(1).getId(), is(thirdId));
+    }
+
+    @Test
+    void shouldSummariseServices_keepingSummariesUpToDateOnWrite() {
+        String sector = "sector-" + randomUuid();
+        serviceDao.persist(ServiceEntityBuilder.aServiceEntity().withSector(sector).withGoLiveStage(GoLiveStage.LIVE).build());
+        serviceDao.persist(ServiceEntityBuilder.aServiceEntity().withSector(sector)
+                .withPspTestAccountStage(PspTestAccountStage.REQUEST_SUBMITTED).build());
+        ServiceEntity archivedService = ServiceEntityBuilder.aServiceEntity().withSector(sector).build();
+        serviceDao.persist(archivedService);
+        serviceDao.updateColumnsForServices(Map.of("archived", Map.of(true, List.of(archivedService.getExternalId()))));
+
+        ServiceSummaryReport report = serviceDao.summarise(new ServiceSummaryFilter(sector, null, false, null, null, null));
+
+        assertThat(report.getTotal(), is(2L));
+        assertThat(report.getLive(), is(1L));
+        assertThat(report.getGoLiveStages(), is(Map.of("LIVE", 1L, "NOT_STARTED", 1L)));
+        assertThat(report.getPspTestAccountStages(), is(Map.of("NOT_STARTED", 1L, "REQUEST_SUBMITTED", 1L)));
+        assertThat(report.getSectors(), is(Map.of(sector, 2L)));
+    }
+
+    @Test
+    void shouldOnlyRefreshServiceSummary_whenAMirroredColumnChanges() {
+        String sector = "sector-" + randomUuid();
+        ServiceEntity service = ServiceEntityBuilder.aServiceEntity().withSector(sector).build();
+        serviceDao.persist(service);
+        databaseHelper.updateServiceSummarySector(service.getId(), "stale");
+
+        serviceDao.updateColumnsForServices(Map.of("experimental_features_enabled", Map.of(true, List.of(service.getExternalId()))));
+
+        assertThat(databaseHelper.findServiceSummaryByServiceId(service.getId()).get(0).get("sector"), is("stale"));
+
+        serviceDao.updateColumnsForServices(Map.of("internal", Map.of(true, List.of(service.getExternalId()))));
+
+        Map<String, Object> summary = databaseHelper.findServiceSummaryByServiceId(service.getId()).get(0);
+        assertThat(summary.get("sector"), is(sector));
+        assertThat(summary.get("internal"), is(true));
+    }
+
+    @Test
+    void shouldSummariseServices_filteringByLiveStatus() {
+        String sector = "sector-" + randomUuid();
+        serviceDao.persist(ServiceEntityBuilder.aServiceEntity().withSector(sector).withGoLiveStage(GoLiveStage.LIVE).build());
+        serviceDao.persist(ServiceEntityBuilder.aServiceEntity().withSector(sector).withGoLiveStage(GoLiveStage.DENIED).build());
+
+        ServiceSummaryReport report = serviceDao.summarise(new ServiceSummaryFilter(sector, null, null, false, null, null));
+
+        assertThat(report.getTotal(), is(1L));
+        assertThat(report.getLive(), is(0L));
+        assertThat(report.getGoLiveStages(), is(Map.of("DENIED", 1L)));
+    }
+
+    @Test
+    void shouldSearchServices_byServiceOrMerchantName_bestMatchFirst() {
+        String token = randomUuid().substring(0, 12);
+        ServiceEntity closeMatch = ServiceEntityBuilder.aServiceEntity()
+                .withServiceNameEntity(SupportedLanguage.ENGLISH, "Licence " + token)
+                .build();
+        ServiceEntity weakerMatch = ServiceEntityBuilder.aServiceEntity()
+                .withServiceNameEntity(SupportedLanguage.ENGLISH, "Fishing licence " + token)
+                .build();
+        ServiceEntity merchantMatch = ServiceEntityBuilder.aServiceEntity()
+                .withMerchantDetailsEntity(MerchantDetailsEntityBuilder.aMerchantDetailsEntity().withName("Council " + token).build())
+                .build();
+        serviceDao.persist(weakerMatch);
+        serviceDao.persist(closeMatch);
+        serviceDao.persist(merchantMatch);
+
+        List<ServiceEntity> licenceResults = serviceDao.search("licence " + token, 0, 10);
+        List<ServiceEntity> tokenResults = serviceDao.search(token.toUpperCase(), 0, 10);
+
+        assertThat(licenceResults.get(0).getExternalId(), is(closeMatch.getExternalId()));
+        assertThat(licenceResults.get(1).getExternalId(), is(weakerMatch.getExternalId()));
+        assertThat(tokenResults.size(), is(3));
+        assertThat(tokenResults.stream().map(ServiceEntity::getExternalId).collect(toUnmodifiableSet()),
+                is(Set.of(closeMatch.getExternalId(), weakerMatch.getExternalId(), merchantMatch.getExternalId())));
+    }
+
+    @Test
+    void shouldSearchServices_onePageAtATime() {
+        String token = randomUuid().substring(0, 12);
+        range(0, 3).forEach(i -> serviceDao.persist(ServiceEntityBuilder.aServiceEntity()
+                .withServiceNameEntity(SupportedLanguage.ENGLISH, "Service " + i + " " + token)
+                .build()));
+
+        List<ServiceEntity> firstPage = serviceDao.search(token, 0, 2);
+        List<ServiceEntity> secondPage = serviceDao.search(token, 2, 2);
+
+        assertThat(firstPage.size(), is(2));
+        assertThat(secondPage.size(), is(1));
+        assertThat(firstPage.stream().map(ServiceEntity::getExternalId).collect(toUnmodifiableSet())
+                .contains(secondPage.get(0).getExternalId()), is(false));
+    }
+
+    @Test
+    void shouldSearchServices_treatingLikeWildcardsAsLiterals() {
+        String token = randomUuid().substring(0, 12);
+        serviceDao.persist(ServiceEntityBuilder.aServiceEntity()
+                .withServiceNameEntity(SupportedLanguage.ENGLISH, "100% " + token)
+                .build());
+
+        assertThat(serviceDao.search("100% " + token, 0, 10).size(), is(1));
+        assertThat(serviceDao.search("%%%", 0, 10).size(), is(0));
+    }
+
     @Test
     void shouldSaveAService_withMultipleServiceNames() {
         ServiceEntity insertedServiceEntity = ServiceEntityBuilder.aServiceEntity()
@@ -115,7 +236,7 @@ class ServiceDaoIT extends DaoTestBase {
 
         assertThat(savedService.size(), is(1));
         assertThat(savedService.get(0).get("external_id"), is(insertedServiceEntity.getExternalId()));
-        Map<String, Object> storedBranding = new CustomBrandingConverter().convertToEntityAttribute((PGobject) savedService.get(0).get("custom_branding"));
+        CustomBranding storedBranding = new CustomBrandingConverter().convertToEntityAttribute((PGobject) savedService.get(0).get("custom_branding"));
         assertNull(storedBranding);
 
         List<Map<String, Object>> savedServiceName = databaseHelper.findServiceNameByServiceId(insertedServiceEntity.getId());
@@ -191,6 +312,21 @@ class ServiceDaoIT extends DaoTestBase {
         assertServiceEntity(insertedServiceEntity, foundServiceEntity);
     }
 
+    @Test
+    void shouldFindByServiceExternalIds() {
+        ServiceEntity serviceEntity1 = ServiceEntityBuilder.aServiceEntity().withExternalId(randomUuid()).build();
+        ServiceEntity serviceEntity2 = ServiceEntityBuilder.aServiceEntity().withExternalId(randomUuid()).build();
+        databaseHelper.insertServiceEntity(serviceEntity1);
+        databaseHelper.insertServiceEntity(serviceEntity2);
+
+        List<ServiceEntity> serviceEntities = serviceDao.findByExternalIds(
+                List.of(serviceEntity1.getExternalId(), serviceEntity2.getExternalId(), randomUuid()));
+
+        assertThat(serviceEntities.size(), is(2));
+        assertThat(serviceEntities.stream().map(ServiceEntity::getExternalId).collect(toUnmodifiableSet()),
+                is(Set.of(serviceEntity1.getExternalId(), serviceEntity2.getExternalId())));
+    }
+
     @Test
     void shouldFindServiceWithMultipleLanguage_byServiceExternalId() {
         Set<ServiceNameEntity> serviceNames = new HashSet<>(List.of(
@@ -235,6 +371,39 @@ class ServiceDaoIT extends DaoTestBase {
         assertServiceEntity(insertedServiceEntity, foundServiceEntity);
     }
 
+    @Test
+    void shouldDetectUsedGatewayAccount_amongMultipleGatewayAccountIds() {
+        GatewayAccountIdEntity gatewayAccountIdEntity = new GatewayAccountIdEntity();
+        String gatewayAccountId = randomUuid();
+        gatewayAccountIdEntity.setGatewayAccountId(gatewayAccountId);
+        ServiceEntity insertedServiceEntity = ServiceEntityBuilder.aServiceEntity()
+                .withGatewayAccounts(Collections.singletonList(gatewayAccountIdEntity)).build();
+        gatewayAccountIdEntity.setService(insertedServiceEntity);
+        databaseHelper.insertServiceEntity(insertedServiceEntity);
+
+        assertThat(serviceDao.checkIfGatewayAccountsUsed(List.of(randomUuid(), gatewayAccountId)), is(true));
+        assertThat(serviceDao.checkIfGatewayAccountsUsed(List.of(randomUuid(), randomUuid())), is(false));
+    }
+
+    @Test
+    void shouldUpdateColumnsForServices_andReturnExternalIdsOfUpdatedServices() {
+        ServiceEntity serviceEntity1 = ServiceEntityBuilder.aServiceEntity().build();
+        ServiceEntity serviceEntity2 = ServiceEntityBuilder.aServiceEntity().build();
+        databaseHelper.insertServiceEntity(serviceEntity1);
+        databaseHelper.insertServiceEntity(serviceEntity2);
+        String nonExistentExternalId = randomUuid();
+
+        Set<String> updatedExternalIds = serviceDao.updateColumnsForServices(Map.of(
+                "archived", Map.of(true, List.of(serviceEntity1.getExternalId(), serviceEntity2.getExternalId(), nonExistentExternalId)),
+                "sector", Map.of("local government", List.of(serviceEntity1.getExternalId()))));
+
+        assertThat(updatedExternalIds, is(Set.of(serviceEntity1.getExternalId(), serviceEntity2.getExternalId())));
+        Map<String, Object> service1 = databaseHelper.findServiceByExternalId(serviceEntity1.getExternalId()).get(0);
+        assertThat(service1.get("archived"), is(true));
+        assertThat(service1.get("sector"), is("local government"));
+        assertThat(databaseHelper.findServiceByExternalId(serviceEntity2.getExternalId()).get(0).get("archived"), is(true));
+    }
+
     @Test
     void shouldGetRoleCountForAService() {
         String serviceExternalId = randomUuid();
@@ -245,6 +414,17 @@ class ServiceDaoIT extends DaoTestBase {
 
         assertThat(count, is(3L));
     }
+
+    @Test
+    void shouldGetRoleCountsForServicesInOneQuery_omittingServicesWithoutThatRole() {
+        String serviceExternalId = randomUuid();
+        Integer roleId = randomInt();
+        setupUsersForServiceAndRole(serviceExternalId, roleId, 3);
+
+        Map<String, Long> counts = serviceDao.countOfUsersWithRoleForServices(List.of(serviceExternalId, randomUuid()), roleId);
+
+        assertThat(counts, is(Map.of(serviceExternalId, 3L)));
+    }
     
     @Test
     void shouldMergeGoLiveStage() {
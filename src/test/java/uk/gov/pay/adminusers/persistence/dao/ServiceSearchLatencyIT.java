@@ -0,0 +1,76 @@
+package uk.gov.pay.adminusers.persistence.dao;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
+import uk.gov.service.payments.commons.model.SupportedLanguage;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Checks that searching stays within its latency budget against a realistically sized dataset. Each search is
+ * run a few times first so that the budget applies to a warm database rather than to the first read from disk.
+ */
+class ServiceSearchLatencyIT extends DaoTestBase {
+
+    private static final int SEEDED_SERVICES = 100_000;
+    private static final int FIRST_SEEDED_ID = 1_000_000;
+    private static final int WARM_UP_RUNS = 3;
+    private static final Duration LATENCY_BUDGET = Duration.ofMillis(500);
+
+    private static ServiceDao serviceDao;
+
+    @BeforeAll
+    static void seedServices() {
+        databaseHelper.seedServices(FIRST_SEEDED_ID, SEEDED_SERVICES);
+        serviceDao = env.getInstance(ServiceDao.class);
+    }
+
+    @Test
+    void shouldFindServiceByPartialName_withinLatencyBudget() {
+        int serviceId = FIRST_SEEDED_ID + 4244;
+
+        List<ServiceEntity> results = searchWithinBudget("licence " + serviceId);
+
+        assertThat(results.get(0).getId(), is(serviceId));
+        assertThat(results.get(0).getServiceNames().get(SupportedLanguage.ENGLISH).getName(), endsWith(" " + serviceId));
+    }
+
+    @Test
+    void shouldFindServiceByMisspeltMerchantName_withinLatencyBudget() {
+        int serviceId = FIRST_SEEDED_ID + 777;
+
+        List<ServiceEntity> results = searchWithinBudget("Agnecy " + serviceId);
+
+        assertThat(results.get(0).getId(), is(serviceId));
+    }
+
+    @Test
+    void shouldPageThroughCommonTerm_withinLatencyBudget() {
+        List<ServiceEntity> results = searchWithinBudget("parking permit", 500, 20);
+
+        assertThat(results.size(), is(20));
+    }
+
+    private List<ServiceEntity> searchWithinBudget(String searchTerm) {
+        return searchWithinBudget(searchTerm, 0, 20);
+    }
+
+    private List<ServiceEntity> searchWithinBudget(String searchTerm, long offset, int limit) {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            serviceDao.search(searchTerm, offset, limit);
+        }
+        long start = System.nanoTime();
+        List<ServiceEntity> results = serviceDao.search(searchTerm, offset, limit);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat("search for [" + searchTerm + "] took " + elapsed.toMillis() + "ms", elapsed, lessThan(LATENCY_BUDGET));
+        return results;
+    }
+}
@@ -6,11 +6,15 @@ import uk.gov.pay.adminusers.model.Role;
 import uk.gov.pay.adminusers.model.SecondFactorMethod;
 import uk.gov.pay.adminusers.model.Service;
 import uk.gov.pay.adminusers.model.User;
+import uk.gov.pay.adminusers.model.UserSearchMatch;
+import uk.gov.pay.adminusers.model.UserSearchResult;
+import uk.gov.pay.adminusers.model.UserSummary;
 import uk.gov.pay.adminusers.persistence.entity.RoleEntity;
 import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
 import uk.gov.pay.adminusers.persistence.entity.ServiceRoleEntity;
 import uk.gov.pay.adminusers.persistence.entity.UserEntity;
 
+import javax.persistence.EntityManager;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
@@ -18,11 +22,17 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.lang.String.valueOf;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toUnmodifiableList;
+import static java.util.stream.Collectors.toUnmodifiableSet;
+import static java.util.stream.IntStream.range;
 import static org.apache.commons.lang3.RandomUtils.nextInt;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItems;
@@ -147,6 +157,54 @@ public class UserDaoIT extends DaoTestBase {
         assertThat(foundUser.getRoles().get(0).getId(), is(role.getId()));
     }
 
+    @Test
+    public void shouldFindExistingUsernames_ignoringCase() {
+        String username = randomUuid();
+        userDbFixture(databaseHelper).withUsername(username).insertUser();
+
+        Set<String> existingUsernames = userDao.findExistingUsernames(List.of(username.toUpperCase(Locale.ENGLISH), randomUuid()));
+
+        assertThat(existingUsernames, is(Set.of(username.toLowerCase(Locale.ENGLISH))));
+    }
+
+    @Test
+    public void shouldFindUserSummaryBy_ExternalId() {
+        User user = userDbFixture(databaseHelper).insertUser();
+
+        Optional<UserSummary> userSummaryMaybe = userDao.findSummaryByExternalId(user.getExternalId().toUpperCase(Locale.ENGLISH));
+        assertTrue(userSummaryMaybe.isPresent());
+
+        UserSummary userSummary = userSummaryMaybe.get();
+        assertThat(userSummary.getExternalId(), is(user.getExternalId()));
+        assertThat(userSummary.getSessionVersion(), is(0));
+        assertThat(userSummary.isDisabled(), is(false));
+        assertThat(userSummary.getSecondFactor(), is(SecondFactorMethod.SMS));
+        assertThat(userSummary.getVersion(), is(userDao.findByExternalId(user.getExternalId()).get().getVersion()));
+    }
+
+    @Test
+    public void shouldFindVersionFingerprintBy_ExternalId_matchingTheLoadedUser() {
+        Role role = roleDbFixture(databaseHelper).insertRole();
+        Service service = serviceDbFixture(databaseHelper).insertService();
+        Service otherService = serviceDbFixture(databaseHelper).insertService();
+        User user = userDbFixture(databaseHelper)
+                .withServiceRole(service.getId(), role.getId())
+                .withServiceRole(otherService.getId(), role.getId())
+                .insertUser();
+        User userWithoutServices = userDbFixture(databaseHelper).insertUser();
+
+        assertThat(userDao.findVersionFingerprintByExternalId(user.getExternalId()),
+                is(Optional.of(userDao.findByExternalId(user.getExternalId()).get().getVersionFingerprint())));
+        assertThat(userDao.findVersionFingerprintByExternalId(userWithoutServices.getExternalId()),
+                is(Optional.of(userDao.findByExternalId(userWithoutServices.getExternalId()).get().getVersionFingerprint())));
+        assertThat(userDao.findVersionFingerprintByExternalId(randomUuid()).isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldNotFindUserSummaryBy_UnknownExternalId() {
+        assertThat(userDao.findSummaryByExternalId(randomUuid()).isPresent(), is(false));
+    }
+
     @Test
     public void shouldFindUsersBy_ExternalIds() {
         Role role = roleDbFixture(databaseHelper).insertRole();
@@ -239,6 +297,93 @@ public class UserDaoIT extends DaoTestBase {
         assertThat(foundUser.getRoles().get(0).getId(), is(role.getId()));
     }
 
+    @Test
+    public void addServiceRoleByEmail_shouldAddRoleToExistingUser() {
+        Role role = roleDbFixture(databaseHelper).insertRole();
+        int serviceId = serviceDbFixture(databaseHelper).insertService().getId();
+        User user = userDbFixture(databaseHelper).insertUser();
+
+        Optional<String> userExternalId = userDao.addServiceRoleByEmail(user.getEmail().toUpperCase(Locale.ENGLISH), serviceId, role.getId());
+
+        assertThat(userExternalId.isPresent(), is(true));
+        assertThat(userExternalId.get(), is(user.getExternalId()));
+        List<Map<String, Object>> serviceRoles = databaseHelper.findServiceRoleForUser(user.getId());
+        assertThat(serviceRoles.size(), is(1));
+        assertThat(serviceRoles.get(0).get("service_id"), is(serviceId));
+        assertThat(serviceRoles.get(0).get("id"), is(role.getId()));
+        assertThat(userDao.addServiceRoleByEmail("non-existent@example.com", serviceId, role.getId()).isPresent(), is(false));
+    }
+
+    @Test
+    public void search_shouldFindUsersByEmailOrUsernamePrefix_ignoringCase() {
+        String token = randomUuid().substring(0, 12);
+        User byUsername = userDbFixture(databaseHelper).withUsername(token + "-username").withEmail(randomUuid() + "@example.com").insertUser();
+        User byEmail = userDbFixture(databaseHelper).withUsername(randomUuid()).withEmail(token + "@example.com").insertUser();
+        userDbFixture(databaseHelper).withUsername("x" + token).withEmail("x" + token + "@example.com").insertUser();
+
+        List<UserSearchResult> results = userDao.search(token.toUpperCase(Locale.ENGLISH), UserSearchMatch.PREFIX, 0, 10);
+
+        assertThat(results.stream().map(UserSearchResult::getExternalId).collect(toUnmodifiableSet()),
+                is(Set.of(byUsername.getExternalId(), byEmail.getExternalId())));
+    }
+
+    @Test
+    public void search_shouldFindUsersBySubstring() {
+        String token = randomUuid().substring(0, 12);
+        User user = userDbFixture(databaseHelper).withUsername("prefix-" + token + "-suffix").insertUser();
+
+        List<UserSearchResult> results = userDao.search(token, UserSearchMatch.SUBSTRING, 0, 10);
+
+        assertThat(results.size(), is(1));
+        assertThat(results.get(0).getExternalId(), is(user.getExternalId()));
+        assertThat(userDao.search(token, UserSearchMatch.PREFIX, 0, 10).isEmpty(), is(true));
+    }
+
+    @Test
+    public void search_shouldReturnUsersAfterTheGivenId_inOrderOfId() {
+        String token = randomUuid().substring(0, 12);
+        List<User> users = range(0, 3)
+                .mapToObj(i -> userDbFixture(databaseHelper).withUsername(token + i).insertUser())
+                .sorted(comparing(User::getId))
+                .collect(toUnmodifiableList());
+
+        List<UserSearchResult> firstPage = userDao.search(token, UserSearchMatch.PREFIX, 0, 2);
+        List<UserSearchResult> secondPage = userDao.search(token, UserSearchMatch.PREFIX, firstPage.get(1).getId(), 2);
+
+        assertThat(firstPage.stream().map(UserSearchResult::getExternalId).collect(toUnmodifiableList()),
+                is(List.of(users.get(0).getExternalId(), users.get(1).getExternalId())));
+        assertThat(secondPage.size(), is(1));
+        assertThat(secondPage.get(0).getExternalId(), is(users.get(2).getExternalId()));
+    }
+
+    @Test
+    public void search_shouldAnswerPrefixSearchesFromThePatternIndexes() {
+        String plan = explainSearch("abc", UserSearchMatch.PREFIX);
+
+        assertThat(plan, containsString("users_lower_email_pattern_idx"));
+        assertThat(plan, containsString("users_lower_username_pattern_idx"));
+        assertThat(plan, not(containsString("users_pkey")));
+    }
+
+    @Test
+    public void search_shouldAnswerSubstringSearchesFromTheTrigramIndexes() {
+        String plan = explainSearch("abc", UserSearchMatch.SUBSTRING);
+
+        assertThat(plan, containsString("users_lower_email_trgm_idx"));
+        assertThat(plan, containsString("users_lower_username_trgm_idx"));
+        assertThat(plan, not(containsString("users_pkey")));
+    }
+
+    @Test
+    public void search_shouldTreatLikeWildcardsAsLiterals() {
+        String token = randomUuid().substring(0, 12);
+        userDbFixture(databaseHelper).withUsername(token + "_1").insertUser();
+        userDbFixture(databaseHelper).withUsername(token + "a1").insertUser();
+
+        assertThat(userDao.search(token + "_", UserSearchMatch.PREFIX, 0, 10).size(), is(1));
+        assertThat(userDao.search("%", UserSearchMatch.SUBSTRING, 0, 10).isEmpty(), is(true));
+    }
+
     @Test
     public void shouldFindUser_ByEmail_caseInsensitive() {
         Role role = roleDbFixture(databaseHelper).insertRole();
@@ -349,4 +494,23 @@ public class UserDaoIT extends DaoTestBase {
 
         assertThat(users.isEmpty(), is(true));
     }
+
+    /**
+     * Sequential scans are disabled because the test table is small enough for one to be cheaper than any index.
+     */
+    private String explainSearch(String searchTerm, UserSearchMatch match) {
+        EntityManager entityManager = env.getInstance(EntityManager.class);
+        entityManager.getTransaction().begin();
+        try {
+            entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+            List<?> plan = entityManager.createNativeQuery("EXPLAIN " + UserDao.SEARCH_QUERY)
+                    .setParameter(1, UserDao.searchPattern(searchTerm, match))
+                    .setParameter(2, 0)
+                    .setParameter(3, 10)
+                    .getResultList();
+            return plan.stream().map(String::valueOf).collect(joining("\n"));
+        } finally {
+            entityManager.getTransaction().rollback();
+        }
+    }
 }
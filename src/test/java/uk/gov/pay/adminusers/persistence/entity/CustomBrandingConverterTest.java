@@ -0,0 +1,45 @@
+package uk.gov.pay.adminusers.persistence.entity;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGobject;
+import uk.gov.pay.adminusers.model.CustomBranding;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class CustomBrandingConverterTest {
+
+    private final CustomBrandingConverter customBrandingConverter = new CustomBrandingConverter();
+
+    @Test
+    public void customBrandingConvertsToJsonbAndBack() {
+        CustomBranding customBranding = CustomBranding.fromMap(Map.of("css_url", "css url", "image_url", "image url", "nested", Map.of("a", 1)));
+
+        PGobject databaseColumnValue = customBrandingConverter.convertToDatabaseColumn(customBranding);
+
+        assertThat(databaseColumnValue.getType(), is("jsonb"));
+        assertThat(customBrandingConverter.convertToEntityAttribute(databaseColumnValue), is(customBranding));
+    }
+
+    @Test
+    public void databaseColumnValueIsKeptAsItIs() throws Exception {
+        PGobject databaseColumnValue = new PGobject();
+        databaseColumnValue.setType("jsonb");
+        databaseColumnValue.setValue("{\"css_url\": \"css url\"}");
+
+        assertThat(customBrandingConverter.convertToEntityAttribute(databaseColumnValue).toJson(), is("{\"css_url\": \"css url\"}"));
+    }
+
+    @Test
+    public void nullCustomBrandingConvertsToNullDatabaseValue() {
+        assertThat(customBrandingConverter.convertToDatabaseColumn(null).getValue(), is(nullValue()));
+    }
+
+    @Test
+    public void nullDatabaseColumnValueConvertsToNullCustomBranding() {
+        assertThat(customBrandingConverter.convertToEntityAttribute(null), is(nullValue()));
+    }
+}
@@ -17,6 +17,7 @@ import static javax.ws.rs.core.Response.Status.CREATED;
 import static javax.ws.rs.core.Response.Status.GONE;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.OK;
+import static javax.ws.rs.core.Response.Status.TOO_MANY_REQUESTS;
 import static javax.ws.rs.core.Response.Status.UNAUTHORIZED;
 import static org.apache.commons.lang3.RandomStringUtils.random;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -221,6 +222,37 @@ public class InviteResourceOtpIT extends IntegrationTest {
         assertThat(foundInvite.get("telephone_number"), is(newTelephoneNumber));
     }
 
+    @Test
+    public void resendOtp_shouldFail_whenTooManyCodesRequestedForInvite() throws Exception {
+        code = InviteDbFixture.inviteDbFixture(databaseHelper)
+                .withEmail(EMAIL)
+                .withOtpKey(OTP_KEY)
+                .withPassword(PASSWORD)
+                .insertInvite();
+        String resendRequest = mapper.writeValueAsString(Map.of(
+                "code", code,
+                "telephone_number", TELEPHONE_NUMBER));
+
+        for (int i = 0; i < 5; i++) {
+            givenSetup()
+                    .when()
+                    .body(resendRequest)
+                    .contentType(JSON)
+                    .post(INVITES_RESEND_OTP_RESOURCE_URL)
+                    .then()
+                    .statusCode(OK.getStatusCode());
+        }
+
+        givenSetup()
+                .when()
+                .body(resendRequest)
+                .contentType(JSON)
+                .post(INVITES_RESEND_OTP_RESOURCE_URL)
+                .then()
+                .statusCode(TOO_MANY_REQUESTS.getStatusCode())
+                .body("errors", hasSize(1));
+    }
+
     @Test
     public void resendOtp_shouldFail_whenAllMandatoryFieldsAreMissing() throws Exception {
 
@@ -108,7 +108,7 @@ class InviteUserRequestValidatorTest {
 
         String invalidPayload = "{}";
         JsonNode jsonNode = objectMapper.readTree(invalidPayload);
-        Optional<Errors> optionalErrors = validator.validateGenerateOtpRequest(jsonNode);
+        Optional<Errors> optionalErrors = validator.validateGenerateOtpRequest(jsonNode, true);
 
         assertTrue(optionalErrors.isPresent());
         Errors errors = optionalErrors.get();
@@ -127,7 +127,7 @@ class InviteUserRequestValidatorTest {
                 "}";
         JsonNode jsonNode = objectMapper.readTree(invalidPayload);
 
-        Optional<Errors> optionalErrors = validator.validateGenerateOtpRequest(jsonNode);
+        Optional<Errors> optionalErrors = validator.validateGenerateOtpRequest(jsonNode, true);
 
         assertTrue(optionalErrors.isPresent());
         Errors errors = optionalErrors.get();
@@ -146,7 +146,7 @@ class InviteUserRequestValidatorTest {
                 "}";
         JsonNode jsonNode = objectMapper.readTree(invalidPayload);
 
-        Optional<Errors> optionalErrors = validator.validateGenerateOtpRequest(jsonNode);
+        Optional<Errors> optionalErrors = validator.validateGenerateOtpRequest(jsonNode, true);
 
         assertTrue(optionalErrors.isPresent());
         Errors errors = optionalErrors.get();
@@ -165,7 +165,7 @@ class InviteUserRequestValidatorTest {
                 "}";
         JsonNode jsonNode = objectMapper.readTree(invalidPayload);
 
-        Optional<Errors> optionalErrors = validator.validateGenerateOtpRequest(jsonNode);
+        Optional<Errors> optionalErrors = validator.validateGenerateOtpRequest(jsonNode, true);
 
         assertTrue(optionalErrors.isPresent());
         Errors errors = optionalErrors.get();
@@ -175,6 +175,32 @@ class InviteUserRequestValidatorTest {
                 "Field [password] is required"));
     }
 
+    @Test
+    void validateGenerateOtpRequest_shouldAllowPasswordToBeLeftOut_whenNotRequired() throws Exception {
+
+        String payload = "{" +
+                "\"telephone_number\": \"a-telephone_number\"" +
+                "}";
+        JsonNode jsonNode = objectMapper.readTree(payload);
+
+        assertThat(validator.validateGenerateOtpRequest(jsonNode, false).isPresent(), is(false));
+    }
+
+    @Test
+    void validateGenerateOtpRequest_shouldError_ifPasswordIsSentEmpty_whenNotRequired() throws Exception {
+
+        String invalidPayload = "{" +
+                "\"telephone_number\": \"a-telephone_number\"," +
+                "\"password\": \"\"" +
+                "}";
+        JsonNode jsonNode = objectMapper.readTree(invalidPayload);
+
+        Optional<Errors> optionalErrors = validator.validateGenerateOtpRequest(jsonNode, false);
+
+        assertTrue(optionalErrors.isPresent());
+        assertThat(optionalErrors.get().getErrors(), hasItems("Field [password] is required"));
+    }
+
     @Test
     void validateResendOtpRequest_shouldError_ifAllMandatoryFieldsAreMissing() throws Exception {
 
@@ -0,0 +1,114 @@
+package uk.gov.pay.adminusers.resources;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.io.CountingOutputStream;
+import io.dropwizard.jackson.Jackson;
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.model.SecondFactorMethod;
+import uk.gov.pay.adminusers.model.User;
+import uk.gov.pay.adminusers.service.BatchIterator;
+
+import javax.persistence.PersistenceException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonArrayStreamingOutputTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson.newObjectMapper();
+    private static final ObjectWriter USER_WRITER = JsonArrayStreamingOutput.elementWriter(OBJECT_MAPPER, User.class);
+    private static final int USERS = 10_000;
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_BUFFERED_USERS = 100;
+
+    @Test
+    void shouldWriteTheSameJsonAsSerialisingTheWholeList() throws IOException {
+        List<User> users = IntStream.rangeClosed(1, 100).mapToObj(this::aUser).collect(toList());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        new JsonArrayStreamingOutput(USER_WRITER, users.iterator()).write(output);
+
+        assertThat(output.toString(UTF_8), is(OBJECT_MAPPER.writeValueAsString(users)));
+    }
+
+    @Test
+    void shouldWriteAnEmptyArray_whenThereAreNoElements() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        new JsonArrayStreamingOutput(USER_WRITER, List.of().iterator()).write(output);
+
+        assertThat(output.toString(UTF_8), is("[]"));
+    }
+
+    @Test
+    void shouldFetchTheFirstBatch_beforeTheResponseIsWritten() {
+        Iterator<User> users = new BatchIterator<>(BATCH_SIZE, last -> {
+            throw new PersistenceException("database unavailable");
+        });
+
+        assertThrows(PersistenceException.class, () -> new JsonArrayStreamingOutput(USER_WRITER, users));
+    }
+
+    @Test
+    void shouldNotEndTheArray_whenFetchingALaterBatchFails() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Iterator<User> users = new BatchIterator<>(BATCH_SIZE, last -> {
+            if (last.isPresent()) {
+                throw new PersistenceException("database unavailable");
+            }
+            return IntStream.rangeClosed(1, BATCH_SIZE).mapToObj(this::aUser).collect(toList());
+        });
+        JsonArrayStreamingOutput streamingOutput = new JsonArrayStreamingOutput(USER_WRITER, users);
+
+        assertThrows(PersistenceException.class, () -> streamingOutput.write(output));
+
+        assertThat(output.toString(UTF_8), startsWith("[{"));
+        assertThat(output.toString(UTF_8), not(endsWith("]")));
+    }
+
+    @Test
+    void shouldWriteTenThousandUsers_withOnlyOneBatchInMemoryAtOnce() throws IOException {
+        CountingOutputStream output = new CountingOutputStream(OutputStream.nullOutputStream());
+        List<Long> bytesWrittenWhenBatchFetched = new ArrayList<>();
+        Iterator<User> users = new BatchIterator<>(BATCH_SIZE, last -> {
+            bytesWrittenWhenBatchFetched.add(output.getCount());
+            int afterId = last.map(User::getId).orElse(0);
+            return IntStream.rangeClosed(afterId + 1, Math.min(afterId + BATCH_SIZE, USERS)).mapToObj(this::aUser).collect(toList());
+        });
+
+        new JsonArrayStreamingOutput(USER_WRITER, users).write(output);
+
+        long expectedSize = 2 + (USERS - 1);
+        for (int id = 1; id <= USERS; id++) {
+            expectedSize += OBJECT_MAPPER.writeValueAsBytes(aUser(id)).length;
+        }
+        assertThat(output.getCount(), is(expectedSize));
+
+        long smallestUserSize = OBJECT_MAPPER.writeValueAsBytes(aUser(1)).length;
+        assertThat(bytesWrittenWhenBatchFetched.size(), is(USERS / BATCH_SIZE + 1));
+        for (int batch = 1; batch < bytesWrittenWhenBatchFetched.size(); batch++) {
+            long usersWrittenBeforeBatch = (long) batch * BATCH_SIZE - MAX_BUFFERED_USERS;
+            assertThat(bytesWrittenWhenBatchFetched.get(batch), is(greaterThanOrEqualTo(usersWrittenBeforeBatch * smallestUserSize)));
+        }
+    }
+
+    private User aUser(int id) {
+        return User.from(id, "external-id-" + id, "username-" + id, "password", "user-" + id + "@example.com",
+                "otp-key", "+441134960000", List.of(), null, SecondFactorMethod.SMS, null, null, null);
+    }
+}
@@ -101,6 +101,89 @@ public class ServiceRequestValidatorTest {
         assertThat(errors.get().getErrors(), hasItem("Error 3"));
     }
 
+    @Test
+    public void shouldSuccess_whenValidateBulkUpdateRequestSucceeds() {
+        ObjectNode operation1 = createUpdateOperation("archived", "replace", "true");
+        ObjectNode operation2 = createUpdateOperation("sector", "replace", "local government");
+        ArrayNode payload = JsonNodeFactory.instance.arrayNode()
+                .add(createServiceUpdate("service-1", operation1))
+                .add(createServiceUpdate("service-2", operation2));
+
+        given(mockServiceUpdateOperationValidator.validate(operation1)).willReturn(Collections.emptyList());
+        given(mockServiceUpdateOperationValidator.validate(operation2)).willReturn(Collections.emptyList());
+
+        Optional<Errors> errors = serviceRequestValidator.validateBulkUpdateRequest(payload);
+
+        assertThat(errors.isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldFail_whenValidateBulkUpdateRequest_isNotAnArray() {
+        Optional<Errors> errors = serviceRequestValidator.validateBulkUpdateRequest(createUpdateOperation("archived", "replace", "true"));
+
+        assertThat(errors.isPresent(), is(true));
+        assertThat(errors.get().getErrors(), hasItem("Request must be a non-empty array of service updates"));
+    }
+
+    @Test
+    public void shouldFail_whenValidateBulkUpdateRequest_hasDuplicateServiceOrMissingUpdates() {
+        ObjectNode operation = createUpdateOperation("archived", "replace", "true");
+        ObjectNode missingUpdates = JsonNodeFactory.instance.objectNode();
+        missingUpdates.put("service_external_id", "service-2");
+        ArrayNode payload = JsonNodeFactory.instance.arrayNode()
+                .add(createServiceUpdate("service-1", operation))
+                .add(createServiceUpdate("service-1", operation))
+                .add(missingUpdates);
+
+        given(mockServiceUpdateOperationValidator.validate(operation)).willReturn(Collections.emptyList());
+
+        Optional<Errors> errors = serviceRequestValidator.validateBulkUpdateRequest(payload);
+
+        assertThat(errors.isPresent(), is(true));
+        assertThat(errors.get().getErrors().size(), is(2));
+        assertThat(errors.get().getErrors(), hasItem("Service [service-1] appears more than once"));
+        assertThat(errors.get().getErrors(), hasItem("Field [updates] must be a non-empty array"));
+    }
+
+    @Test
+    public void shouldSuccess_whenSummaryFiltersAreValidOrAbsent() {
+        assertThat(serviceRequestValidator.validateSummaryRequest(null, null, null, null, null).isPresent(), is(false));
+        assertThat(serviceRequestValidator.validateSummaryRequest("true", "FALSE", null, "LIVE", "CREATED").isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldError_whenSummaryFiltersAreInvalid() {
+        Optional<Errors> errors = serviceRequestValidator.validateSummaryRequest("yes", null, null, "LIVE_ISH", null);
+
+        assertThat(errors.isPresent(), is(true));
+        assertThat(errors.get().getErrors().size(), is(2));
+        assertThat(errors.get().getErrors(), hasItem("Parameter [internal] must be true or false"));
+        assertThat(errors.get().getErrors().get(1).startsWith("Parameter [go_live_stage] must be one of"), is(true));
+    }
+
+    @Test
+    public void shouldSuccess_whenSearchRequestIsValid() {
+        assertThat(serviceRequestValidator.validateSearchRequest("lic", "1", "100").isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldError_whenSearchTermIsTooShortToUseTrigramIndex() {
+        Optional<Errors> errors = serviceRequestValidator.validateSearchRequest(" ab ", "1", "20");
+
+        assertThat(errors.isPresent(), is(true));
+        assertThat(errors.get().getErrors(), hasItem("Parameter [q] must be at least 3 characters"));
+    }
+
+    @Test
+    public void shouldError_whenSearchPaginationIsInvalid() {
+        Optional<Errors> errors = serviceRequestValidator.validateSearchRequest("licence", "0", "101");
+
+        assertThat(errors.isPresent(), is(true));
+        assertThat(errors.get().getErrors().size(), is(2));
+        assertThat(errors.get().getErrors(), hasItem("Parameter [page] must be a positive integer"));
+        assertThat(errors.get().getErrors(), hasItem("Parameter [display_size] must be between 1 and 100"));
+    }
+
     @Test
     public void shouldAllowNonNumericGatewayAccounts_whenFindingServices() {
         Optional<Errors> errors = serviceRequestValidator.validateFindRequest("non-numeric-id");
@@ -203,4 +286,11 @@ public class ServiceRequestValidatorTest {
         operation.put(ServiceUpdateRequest.FIELD_VALUE, value);
         return operation;
     }
+
+    private static ObjectNode createServiceUpdate(String serviceExternalId, ObjectNode... operations) {
+        ObjectNode serviceUpdate = JsonNodeFactory.instance.objectNode();
+        serviceUpdate.put("service_external_id", serviceExternalId);
+        serviceUpdate.putArray("updates").addAll(Arrays.asList(operations));
+        return serviceUpdate;
+    }
 }
@@ -0,0 +1,85 @@
+package uk.gov.pay.adminusers.resources;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.model.Service;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.http.ContentType.JSON;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static uk.gov.pay.adminusers.fixtures.ServiceDbFixture.serviceDbFixture;
+
+public class ServiceResourceBulkUpdateIT extends IntegrationTest {
+
+    @Test
+    public void shouldUpdateManyServices_andReportOutcomePerService() {
+        Service service1 = serviceDbFixture(databaseHelper).insertService();
+        Service service2 = serviceDbFixture(databaseHelper).insertService();
+        Service service3 = serviceDbFixture(databaseHelper).insertService();
+
+        List<Map<String, Object>> payload = List.of(
+                serviceUpdate(service1.getExternalId(),
+                        patchRequest("replace", "archived", true),
+                        patchRequest("replace", "went_live_date", "2020-01-01T01:01:00Z")),
+                serviceUpdate(service2.getExternalId(), patchRequest("replace", "archived", true)),
+                serviceUpdate(service3.getExternalId(), patchRequest("replace", "service_name/en", "Renamed service")),
+                serviceUpdate("non-existent-service", patchRequest("replace", "archived", true)));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .body(mapper.valueToTree(payload))
+                .patch(SERVICES_RESOURCE)
+                .then()
+                .statusCode(200)
+                .body("", hasSize(4))
+                .body("[0].service_external_id", is(service1.getExternalId()))
+                .body("[0].status", is("UPDATED"))
+                .body("[1].status", is("UPDATED"))
+                .body("[2].status", is("UPDATED"))
+                .body("[3].service_external_id", is("non-existent-service"))
+                .body("[3].status", is("NOT_FOUND"));
+
+        Map<String, Object> updatedService1 = databaseHelper.findServiceByExternalId(service1.getExternalId()).get(0);
+        assertThat(updatedService1.get("archived"), is(true));
+        assertThat(updatedService1.get("version"), is(2));
+        assertThat(databaseHelper.findServiceByExternalId(service2.getExternalId()).get(0).get("archived"), is(true));
+
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .get(SERVICES_RESOURCE + "/" + service3.getExternalId())
+                .then()
+                .statusCode(200)
+                .body("service_name.en", is("Renamed service"));
+    }
+
+    @Test
+    public void shouldReturn400_whenBulkUpdateContainsInvalidOperation() {
+        List<Map<String, Object>> payload = List.of(
+                serviceUpdate("a-service", patchRequest("replace", "archived", "not-a-boolean")));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .body(mapper.valueToTree(payload))
+                .patch(SERVICES_RESOURCE)
+                .then()
+                .statusCode(400);
+    }
+
+    @SafeVarargs
+    private Map<String, Object> serviceUpdate(String serviceExternalId, Map<String, Object>... updates) {
+        return Map.of("service_external_id", serviceExternalId, "updates", List.of(updates));
+    }
+
+    private Map<String, Object> patchRequest(String op, String path, Object value) {
+        return Map.of(
+                "op", op,
+                "path", path,
+                "value", value);
+    }
+}
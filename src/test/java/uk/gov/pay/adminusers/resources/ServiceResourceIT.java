@@ -12,8 +12,13 @@ import java.util.Map;
 import static io.restassured.http.ContentType.JSON;
 import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.emptyString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.Is.is;
 import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
 import static uk.gov.pay.adminusers.fixtures.RoleDbFixture.roleDbFixture;
@@ -142,6 +147,29 @@ public class ServiceResourceIT extends IntegrationTest {
                 .body("experimental_features_enabled", is(true));
     }
 
+    @Test
+    public void shouldReturn304_whenGetServiceWithMatchingETag() {
+        Service service = serviceDbFixture(databaseHelper).insertService();
+
+        String eTag = givenSetup()
+                .when()
+                .accept(JSON)
+                .get(format("/v1/api/services/%s", service.getExternalId()))
+                .then()
+                .statusCode(200)
+                .header("ETag", not(emptyOrNullString()))
+                .extract().header("ETag");
+
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .header("If-None-Match", eTag)
+                .get(format("/v1/api/services/%s", service.getExternalId()))
+                .then()
+                .statusCode(304)
+                .header("ETag", is(eTag));
+    }
+
     @Test
     public void getServiceUsers_shouldReturn404WhenServiceDoesNotExist() {
         givenSetup()
@@ -204,4 +232,61 @@ public class ServiceResourceIT extends IntegrationTest {
                 .statusCode(403)
                 .body(emptyString());
     }
+
+    @Test
+    public void shouldReturnServiceSummaryCounts() {
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .get("/v1/api/services/summary?archived=false&go_live_stage=NOT_STARTED")
+                .then()
+                .statusCode(200)
+                .body("total", greaterThanOrEqualTo(1))
+                .body("live", is(0))
+                .body("go_live_stages.NOT_STARTED", greaterThanOrEqualTo(1))
+                .body("go_live_stages", not(hasKey("LIVE")));
+    }
+
+    @Test
+    public void shouldReturn400_whenServiceSummaryFilterIsInvalid() {
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .get("/v1/api/services/summary?live=maybe")
+                .then()
+                .statusCode(400)
+                .body("errors", hasItem("Parameter [live] must be true or false"));
+    }
+
+    @Test
+    public void shouldReturnServicesMatchingSearch() {
+        String token = randomUuid().substring(0, 12);
+        Service service = serviceDbFixture(databaseHelper)
+                .withName("Fishing licence " + token)
+                .insertService();
+
+        givenSetup()
+                .queryParam("q", "licence " + token)
+                .when()
+                .accept(JSON)
+                .get("/v1/api/services/search")
+                .then()
+                .statusCode(200)
+                .body("page", is(1))
+                .body("display_size", is(20))
+                .body("count", is(1))
+                .body("results[0].external_id", is(service.getExternalId()))
+                .body("results[0].service_name.en", is("Fishing licence " + token));
+    }
+
+    @Test
+    public void shouldReturn400_whenSearchTermIsMissing() {
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .get("/v1/api/services/search")
+                .then()
+                .statusCode(400)
+                .body("errors", hasItem("Parameter [q] must be at least 3 characters"));
+    }
 }
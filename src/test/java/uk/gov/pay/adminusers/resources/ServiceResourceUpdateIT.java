@@ -4,12 +4,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.Test;
 import uk.gov.pay.adminusers.model.GoLiveStage;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import static io.restassured.http.ContentType.JSON;
 import static java.lang.String.format;
 import static java.lang.String.valueOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.Is.is;
 import static uk.gov.pay.adminusers.fixtures.ServiceDbFixture.serviceDbFixture;
 
@@ -53,6 +55,83 @@ public class ServiceResourceUpdateIT extends IntegrationTest {
                 
     }
 
+    @Test
+    public void shouldApplyLargePatchArray_withLastReplacementOfEachPathWinning() {
+        String serviceExternalId = serviceDbFixture(databaseHelper).insertService().getExternalId();
+        List<Map<String, Object>> operations = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            operations.add(patchRequest("replace", "sector", "sector-" + i));
+            operations.add(patchRequest("replace", "service_name/en", "name-" + i));
+            operations.add(patchRequest("replace", "experimental_features_enabled", i % 2 == 0));
+        }
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .body(mapper.valueToTree(operations))
+                .patch(format(SERVICE_RESOURCE, serviceExternalId))
+                .then()
+                .statusCode(200)
+                .body("sector", is("sector-249"))
+                .body("service_name.en", is("name-249"))
+                .body("experimental_features_enabled", is(false));
+    }
+
+    @Test
+    public void shouldReturn412_whenUpdatingServiceWithStaleIfMatch() {
+        String serviceExternalId = serviceDbFixture(databaseHelper).insertService().getExternalId();
+        JsonNode payload = mapper.valueToTree(patchRequest("replace", "sector", "local government"));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .header("If-Match", "\"999\"")
+                .body(payload)
+                .patch(format(SERVICE_RESOURCE, serviceExternalId))
+                .then()
+                .statusCode(412);
+    }
+
+    @Test
+    public void shouldIncrementETag_whenUpdatingServiceWithCurrentIfMatch() {
+        String serviceExternalId = serviceDbFixture(databaseHelper).insertService().getExternalId();
+        JsonNode payload = mapper.valueToTree(patchRequest("replace", "sector", "local government"));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .header("If-Match", "\"0\"")
+                .body(payload)
+                .patch(format(SERVICE_RESOURCE, serviceExternalId))
+                .then()
+                .statusCode(200)
+                .header("ETag", not("\"0\""))
+                .body("sector", is("local government"));
+    }
+
+    @Test
+    public void shouldTagPatchResponse_withTheVersionItWrote() {
+        String serviceExternalId = serviceDbFixture(databaseHelper).insertService().getExternalId();
+        JsonNode payload = mapper.valueToTree(patchRequest("replace", "sector", "local government"));
+
+        String patchETag = givenSetup()
+                .when()
+                .contentType(JSON)
+                .body(payload)
+                .patch(format(SERVICE_RESOURCE, serviceExternalId))
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .get(format(SERVICE_RESOURCE, serviceExternalId))
+                .then()
+                .statusCode(200)
+                .header("ETag", is(patchETag));
+    }
+
     private Map<String, Object> patchRequest(String op, String path, Object value) {
         return Map.of(
                 "op", op,
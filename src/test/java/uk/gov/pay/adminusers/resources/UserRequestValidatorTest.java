@@ -381,6 +381,73 @@ class UserRequestValidatorTest {
         assertThat(errors.getErrors(), hasItems("Field [username] is required"));
     }
 
+    @Test
+    void shouldError_ifBatchCreateRequestIsNotAnArray() throws Exception {
+        JsonNode payload = objectMapper.readTree("{\"username\": \"a-username\"}");
+        Optional<Errors> optionalErrors = validator.validateBatchCreateRequest(payload);
+
+        assertTrue(optionalErrors.isPresent());
+        assertThat(optionalErrors.get().getErrors(), hasItems("Request must be a non-empty array of users"));
+    }
+
+    @Test
+    void shouldError_ifBatchCreateRequestHasInvalidOrDuplicateUsers() throws Exception {
+        String validUser = "{\"username\": \"a-username\", \"email\": \"email@example.com\", " +
+                "\"telephone_number\": \"+441134960000\", \"role_name\": \"admin\"}";
+        String sameUsernameDifferentCase = validUser.replace("a-username", "A-Username");
+        String withGatewayAccounts = validUser.replace("a-username", "another-username")
+                .replace("}", ", \"gateway_account_ids\": [\"1\"]}");
+        String missingEmail = "{\"username\": \"third-username\", \"telephone_number\": \"+441134960000\", \"role_name\": \"admin\"}";
+        JsonNode payload = objectMapper.readTree("[" + String.join(",", validUser, sameUsernameDifferentCase, withGatewayAccounts, missingEmail) + "]");
+
+        Optional<Errors> optionalErrors = validator.validateBatchCreateRequest(payload);
+
+        assertTrue(optionalErrors.isPresent());
+        assertThat(optionalErrors.get().getErrors().size(), is(3));
+        assertThat(optionalErrors.get().getErrors(), hasItems(
+                "Username [A-Username] appears more than once",
+                "Field [gateway_account_ids] is not supported when creating users in a batch",
+                "Field [email] is required"));
+    }
+
+    @Test
+    void shouldNotError_ifBatchCreateRequestIsValid() throws Exception {
+        JsonNode payload = objectMapper.readTree("[{\"username\": \"a-username\", \"email\": \"email@example.com\", " +
+                "\"telephone_number\": \"+441134960000\", \"role_name\": \"admin\"}]");
+
+        assertFalse(validator.validateBatchCreateRequest(payload).isPresent());
+    }
+
+    @Test
+    void shouldError_ifBulkServiceRoleRequestHasInvalidOrDuplicateChanges() throws Exception {
+        JsonNode payload = objectMapper.readTree("[" +
+                "{\"op\": \"assign\", \"service_external_id\": \"service-1\", \"role_name\": \"admin\"}," +
+                "{\"op\": \"remove\", \"service_external_id\": \"service-1\"}," +
+                "{\"op\": \"update\", \"service_external_id\": \"service-2\"}," +
+                "{\"op\": \"replace\", \"service_external_id\": \"service-3\"}," +
+                "{\"op\": \"remove\"}]");
+
+        Optional<Errors> optionalErrors = validator.validateBulkServiceRoleRequest(payload);
+
+        assertTrue(optionalErrors.isPresent());
+        assertThat(optionalErrors.get().getErrors().size(), is(4));
+        assertThat(optionalErrors.get().getErrors(), hasItems(
+                "Service [service-1] appears more than once",
+                "Field [role_name] is required",
+                "Operation [replace] not supported",
+                "Field [service_external_id] is required"));
+    }
+
+    @Test
+    void shouldNotError_ifBulkServiceRoleRequestIsValid() throws Exception {
+        JsonNode payload = objectMapper.readTree("[" +
+                "{\"op\": \"assign\", \"service_external_id\": \"service-1\", \"role_name\": \"admin\"}," +
+                "{\"op\": \"update\", \"service_external_id\": \"service-2\", \"role_name\": \"view-only\"}," +
+                "{\"op\": \"remove\", \"service_external_id\": \"service-3\"}]");
+
+        assertFalse(validator.validateBulkServiceRoleRequest(payload).isPresent());
+    }
+
     private void mockValidValuesFor(JsonNode mockJsonNode, Map<String, String> mockFieldValues) {
         for (Map.Entry<String, String> mockFieldValue : mockFieldValues.entrySet()) {
             JsonNode fieldMock = mock(JsonNode.class);
@@ -389,4 +456,29 @@ class UserRequestValidatorTest {
         }
         when(mockJsonNode.fieldNames()).thenReturn(mockFieldValues.keySet().iterator());
     }
+
+    @Test
+    void shouldSuccess_whenSearchRequestIsValid() {
+        assertThat(validator.validateSearchRequest("a", "prefix", null, "20").isPresent(), is(false));
+        assertThat(validator.validateSearchRequest("abc", "SUBSTRING", "Nw", "100").isPresent(), is(false));
+    }
+
+    @Test
+    void shouldError_whenSubstringSearchTermIsShorterThanATrigram() {
+        Optional<Errors> errors = validator.validateSearchRequest("ab", "substring", null, "20");
+
+        assertTrue(errors.isPresent());
+        assertThat(errors.get().getErrors(), is(Collections.singletonList("Parameter [q] must be at least 3 characters")));
+    }
+
+    @Test
+    void shouldError_whenSearchMatchCursorOrDisplaySizeIsInvalid() {
+        Optional<Errors> errors = validator.validateSearchRequest("abc", "fuzzy", "not-a-cursor", "0");
+
+        assertTrue(errors.isPresent());
+        assertThat(errors.get().getErrors(), hasItems(
+                "Parameter [match] must be one of [prefix, substring]",
+                "Parameter [cursor] must be a next_cursor from a previous search",
+                "Parameter [display_size] must be between 1 and 100"));
+    }
 }
@@ -0,0 +1,108 @@
+package uk.gov.pay.adminusers.resources;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.model.Service;
+import uk.gov.pay.adminusers.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.http.ContentType.JSON;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
+import static uk.gov.pay.adminusers.fixtures.ServiceDbFixture.serviceDbFixture;
+import static uk.gov.pay.adminusers.fixtures.UserDbFixture.userDbFixture;
+
+public class UserResourceBatchCreateIT extends IntegrationTest {
+
+    private static final String USERS_BATCH_RESOURCE_URL = USERS_RESOURCE_URL + "/batch";
+
+    @Test
+    public void shouldCreateUsers_andReportConflictsAndUnknownRoles() throws Exception {
+        Service service = serviceDbFixture(databaseHelper).insertService();
+        User existingUser = userDbFixture(databaseHelper).insertUser();
+        String newUsername = randomUuid();
+        String unknownRoleUsername = randomUuid();
+
+        List<Map<String, Object>> payload = List.of(
+                userPayload(newUsername, "admin", List.of(service.getExternalId())),
+                userPayload(existingUser.getUsername(), "admin", List.of()),
+                userPayload(unknownRoleUsername, "invalid-role", List.of()));
+
+        givenSetup().when()
+                .body(mapper.writeValueAsString(payload))
+                .contentType(JSON)
+                .accept(JSON)
+                .post(USERS_BATCH_RESOURCE_URL)
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(3))
+                .body("[0].username", is(newUsername))
+                .body("[0].status", is("CREATED"))
+                .body("[0].user.password", nullValue())
+                .body("[0].user.service_roles", hasSize(1))
+                .body("[0].user.service_roles[0].service.external_id", is(service.getExternalId()))
+                .body("[0].user.service_roles[0].role.name", is("admin"))
+                .body("[1].username", is(existingUser.getUsername()))
+                .body("[1].status", is("CONFLICT"))
+                .body("[1].user", nullValue())
+                .body("[2].username", is(unknownRoleUsername))
+                .body("[2].status", is("FAILED"))
+                .body("[2].errors", hasItem("role [invalid-role] not recognised"));
+
+        assertThat(databaseHelper.findUserByUsername(newUsername).size(), is(1));
+        assertThat(databaseHelper.findUserByUsername(unknownRoleUsername).size(), is(0));
+    }
+
+    @Test
+    public void shouldCreateManyUsersInOneRequest() throws Exception {
+        Service service = serviceDbFixture(databaseHelper).insertService();
+        List<Map<String, Object>> payload = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            payload.add(userPayload(randomUuid(), "view-only", List.of(service.getExternalId())));
+        }
+
+        givenSetup().when()
+                .body(mapper.writeValueAsString(payload))
+                .contentType(JSON)
+                .accept(JSON)
+                .post(USERS_BATCH_RESOURCE_URL)
+                .then()
+                .statusCode(200)
+                .body("$", hasSize(25))
+                .body("status", everyItem(is("CREATED")))
+                .body("user.service_roles.flatten()", hasSize(25));
+    }
+
+    @Test
+    public void shouldError400_whenUsernameAppearsMoreThanOnce() throws Exception {
+        String username = randomUuid();
+        List<Map<String, Object>> payload = List.of(
+                userPayload(username, "admin", List.of()),
+                userPayload(username, "admin", List.of()));
+
+        givenSetup().when()
+                .body(mapper.writeValueAsString(payload))
+                .contentType(JSON)
+                .accept(JSON)
+                .post(USERS_BATCH_RESOURCE_URL)
+                .then()
+                .statusCode(400)
+                .body("errors", hasItem("Username [" + username + "] appears more than once"));
+    }
+
+    private static Map<String, Object> userPayload(String username, String roleName, List<String> serviceExternalIds) {
+        return Map.of(
+                "username", username,
+                "email", "user-" + username + "@example.com",
+                "telephone_number", "+441134960000",
+                "service_external_ids", serviceExternalIds,
+                "role_name", roleName);
+    }
+}
@@ -0,0 +1,119 @@
+package uk.gov.pay.adminusers.resources;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.model.Role;
+import uk.gov.pay.adminusers.model.Service;
+import uk.gov.pay.adminusers.model.User;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.http.ContentType.JSON;
+import static java.lang.String.format;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static uk.gov.pay.adminusers.fixtures.RoleDbFixture.roleDbFixture;
+import static uk.gov.pay.adminusers.fixtures.ServiceDbFixture.serviceDbFixture;
+import static uk.gov.pay.adminusers.fixtures.UserDbFixture.userDbFixture;
+
+public class UserResourceBulkServiceRoleIT extends IntegrationTest {
+
+    @Test
+    public void shouldAssignUpdateAndRemoveServiceRolesInOneRequest() throws Exception {
+        Role adminRole = roleDbFixture(databaseHelper).insertAdmin();
+        Service serviceToAssign = serviceDbFixture(databaseHelper).insertService();
+        Service serviceToUpdate = serviceDbFixture(databaseHelper).insertService();
+        Service serviceToLeave = serviceDbFixture(databaseHelper).insertService();
+        User user = userDbFixture(databaseHelper)
+                .withServiceRole(serviceToUpdate, adminRole.getId())
+                .withServiceRole(serviceToLeave, adminRole.getId())
+                .insertUser();
+        userDbFixture(databaseHelper).withServiceRole(serviceToUpdate, adminRole.getId()).insertUser();
+        userDbFixture(databaseHelper).withServiceRole(serviceToLeave, adminRole.getId()).insertUser();
+
+        List<Map<String, String>> payload = List.of(
+                Map.of("op", "assign", "service_external_id", serviceToAssign.getExternalId(), "role_name", "view-only"),
+                Map.of("op", "update", "service_external_id", serviceToUpdate.getExternalId(), "role_name", "view-and-refund"),
+                Map.of("op", "remove", "service_external_id", serviceToLeave.getExternalId()));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .body(mapper.writeValueAsString(payload))
+                .patch(format(USER_SERVICES_RESOURCE, user.getExternalId()))
+                .then()
+                .statusCode(200)
+                .body("service_roles", hasSize(2))
+                .body("service_roles.service.external_id", hasItem(serviceToAssign.getExternalId()))
+                .body("service_roles.role.name", hasItem("view-only"))
+                .body("service_roles.role.name", hasItem("view-and-refund"));
+
+        assertUserHasServiceRoleCount(user, 2);
+    }
+
+    @Test
+    public void shouldApplyNoChanges_whenAnyChangeFails() throws Exception {
+        Role adminRole = roleDbFixture(databaseHelper).insertAdmin();
+        Service serviceToAssign = serviceDbFixture(databaseHelper).insertService();
+        Service serviceWithOneAdmin = serviceDbFixture(databaseHelper).insertService();
+        User user = userDbFixture(databaseHelper).withServiceRole(serviceWithOneAdmin, adminRole.getId()).insertUser();
+
+        List<Map<String, String>> payload = List.of(
+                Map.of("op", "assign", "service_external_id", serviceToAssign.getExternalId(), "role_name", "view-only"),
+                Map.of("op", "remove", "service_external_id", serviceWithOneAdmin.getExternalId()));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .body(mapper.writeValueAsString(payload))
+                .patch(format(USER_SERVICES_RESOURCE, user.getExternalId()))
+                .then()
+                .statusCode(412)
+                .body("errors[0]", is("Service admin limit reached. At least 1 admin(s) required"));
+
+        assertUserHasServiceRoleCount(user, 1);
+    }
+
+    @Test
+    public void shouldError400_whenServiceAppearsMoreThanOnce() throws Exception {
+        Service service = serviceDbFixture(databaseHelper).insertService();
+        User user = userDbFixture(databaseHelper).insertUser();
+
+        List<Map<String, String>> payload = List.of(
+                Map.of("op", "assign", "service_external_id", service.getExternalId(), "role_name", "view-only"),
+                Map.of("op", "remove", "service_external_id", service.getExternalId()));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .body(mapper.writeValueAsString(payload))
+                .patch(format(USER_SERVICES_RESOURCE, user.getExternalId()))
+                .then()
+                .statusCode(400)
+                .body("errors", hasItem(format("Service [%s] appears more than once", service.getExternalId())));
+    }
+
+    @Test
+    public void shouldError404_ifUserNotFound() throws Exception {
+        List<Map<String, String>> payload = List.of(Map.of("op", "remove", "service_external_id", "a-service"));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .body(mapper.writeValueAsString(payload))
+                .patch(format(USER_SERVICES_RESOURCE, "non-existent"))
+                .then()
+                .statusCode(404);
+    }
+
+    private void assertUserHasServiceRoleCount(User user, int count) {
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .get(format(USER_RESOURCE_URL, user.getExternalId()))
+                .then()
+                .statusCode(200)
+                .body("service_roles", hasSize(count));
+    }
+}
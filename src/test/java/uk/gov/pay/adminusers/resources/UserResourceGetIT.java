@@ -14,8 +14,10 @@ import static java.lang.String.valueOf;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 import static org.apache.commons.lang3.RandomUtils.nextInt;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
@@ -107,6 +109,128 @@ class UserResourceGetIT extends IntegrationTest {
     }
 
 
+    @Test
+    void shouldReturn304_whenGetUserWithMatchingETag() {
+        Service service = serviceDbFixture(databaseHelper).insertService();
+        Role role = roleDbFixture(databaseHelper).insertRole();
+        User user = userDbFixture(databaseHelper).withServiceRole(service.getId(), role.getId()).insertUser();
+
+        String eTag = givenSetup()
+                .when()
+                .accept(JSON)
+                .get(format(USER_RESOURCE_URL, user.getExternalId()))
+                .then()
+                .statusCode(200)
+                .header("ETag", not(emptyOrNullString()))
+                .extract().header("ETag");
+
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .header("If-None-Match", eTag)
+                .get(format(USER_RESOURCE_URL, user.getExternalId()))
+                .then()
+                .statusCode(304)
+                .header("ETag", is(eTag));
+    }
+
+    @Test
+    void shouldReturnUser_whenGetUserWithStaleETag() {
+        User user = userDbFixture(databaseHelper).insertUser();
+
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .header("If-None-Match", "\"stale\"")
+                .get(format(USER_RESOURCE_URL, user.getExternalId()))
+                .then()
+                .statusCode(200)
+                .header("ETag", not(emptyOrNullString()))
+                .body("external_id", is(user.getExternalId()));
+    }
+
+    @Test
+    void shouldReturnUserSummary_whenGetUserSummaryWithExternalId() {
+        User user = userDbFixture(databaseHelper).insertUser();
+
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .get(format(USER_RESOURCE_URL + "/summary", user.getExternalId()))
+                .then()
+                .statusCode(200)
+                .header("ETag", not(emptyOrNullString()))
+                .body("external_id", is(user.getExternalId()))
+                .body("session_version", is(0))
+                .body("disabled", is(false))
+                .body("second_factor", is("SMS"))
+                .body("service_roles", nullValue())
+                .body("_links", nullValue());
+    }
+
+    @Test
+    void shouldReturn304_whenGetUserSummaryWithMatchingETag() {
+        User user = userDbFixture(databaseHelper).insertUser();
+
+        String eTag = givenSetup()
+                .when()
+                .accept(JSON)
+                .get(format(USER_RESOURCE_URL + "/summary", user.getExternalId()))
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .header("If-None-Match", eTag)
+                .get(format(USER_RESOURCE_URL + "/summary", user.getExternalId()))
+                .then()
+                .statusCode(304)
+                .header("ETag", is(eTag));
+    }
+
+    @Test
+    void shouldReturnUserSummary_whenUserUpdatedSinceETag() {
+        User user = userDbFixture(databaseHelper).insertUser();
+
+        String eTag = givenSetup()
+                .when()
+                .accept(JSON)
+                .get(format(USER_RESOURCE_URL + "/summary", user.getExternalId()))
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .body(Map.of("op", "append", "path", "sessionVersion", "value", 1))
+                .patch(format(USER_RESOURCE_URL, user.getExternalId()))
+                .then()
+                .statusCode(200);
+
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .header("If-None-Match", eTag)
+                .get(format(USER_RESOURCE_URL + "/summary", user.getExternalId()))
+                .then()
+                .statusCode(200)
+                .header("ETag", not(eTag))
+                .body("session_version", is(1));
+    }
+
+    @Test
+    void shouldReturn404_whenGetUserSummary_withNonExistentExternalId() {
+        givenSetup()
+                .when()
+                .accept(JSON)
+                .get(format(USER_RESOURCE_URL + "/summary", "non-existent-user"))
+                .then()
+                .statusCode(404);
+    }
+
     @Test
     void shouldReturn404_whenGetUser_withNonExistentExternalId() {
         givenSetup()
@@ -10,6 +10,7 @@ import java.util.Map;
 import static io.restassured.http.ContentType.JSON;
 import static java.lang.String.format;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.Is.is;
 import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
 import static uk.gov.pay.adminusers.fixtures.UserDbFixture.userDbFixture;
@@ -42,6 +43,46 @@ class UserResourcePatchIT extends IntegrationTest {
                 .body("session_version", is(2));
     }
 
+    @Test
+    void shouldReturn412_whenPatchAttemptWithStaleIfMatch() {
+
+        JsonNode payload = mapper.valueToTree(Map.of("op", "append", "path", "sessionVersion", "value", 2));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .header("If-Match", "\"stale\"")
+                .body(payload)
+                .patch(format(USER_RESOURCE_URL, externalId))
+                .then()
+                .statusCode(412);
+    }
+
+    @Test
+    void shouldUpdateUser_whenPatchAttemptWithCurrentIfMatch() {
+
+        String eTag = givenSetup()
+                .when()
+                .accept(JSON)
+                .get(format(USER_RESOURCE_URL, externalId))
+                .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        JsonNode payload = mapper.valueToTree(Map.of("op", "append", "path", "sessionVersion", "value", 2));
+
+        givenSetup()
+                .when()
+                .contentType(JSON)
+                .header("If-Match", eTag)
+                .body(payload)
+                .patch(format(USER_RESOURCE_URL, externalId))
+                .then()
+                .statusCode(200)
+                .header("ETag", not(eTag))
+                .body("session_version", is(2));
+    }
+
     @Test
     void shouldUpdateTelephoneNumber_whenPatchAttempt() {
 
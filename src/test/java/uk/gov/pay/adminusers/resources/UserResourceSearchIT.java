@@ -0,0 +1,62 @@
+package uk.gov.pay.adminusers.resources;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.model.User;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.core.Is.is;
+import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
+import static uk.gov.pay.adminusers.fixtures.UserDbFixture.userDbFixture;
+
+public class UserResourceSearchIT extends IntegrationTest {
+
+    private static final String SEARCH_RESOURCE_URL = "/v1/api/users/search";
+
+    private User user;
+
+    @BeforeEach
+    public void createAUser() {
+        String username = randomUuid();
+        user = userDbFixture(databaseHelper).withUsername(username).withEmail(username + "@example.com").insertUser();
+    }
+
+    @Test
+    public void shouldFindUser_byEmailPrefix() {
+        givenSetup()
+                .when()
+                .queryParam("q", user.getEmail().substring(0, 8).toUpperCase())
+                .get(SEARCH_RESOURCE_URL)
+                .then()
+                .statusCode(200)
+                .body("count", is(1))
+                .body("results[0].external_id", is(user.getExternalId()))
+                .body("results[0].username", is(user.getUsername()))
+                .body("results[0].email", is(user.getEmail()))
+                .body("results[0].disabled", is(false));
+    }
+
+    @Test
+    public void shouldFindUser_bySubstringOfUsername() {
+        givenSetup()
+                .when()
+                .queryParam("q", user.getUsername().substring(9, 23))
+                .queryParam("match", "substring")
+                .get(SEARCH_RESOURCE_URL)
+                .then()
+                .statusCode(200)
+                .body("results.external_id", hasItem(user.getExternalId()));
+    }
+
+    @Test
+    public void shouldError400_whenSubstringSearchTermIsTooShort() {
+        givenSetup()
+                .when()
+                .queryParam("q", "ab")
+                .queryParam("match", "substring")
+                .get(SEARCH_RESOURCE_URL)
+                .then()
+                .statusCode(400)
+                .body("errors", hasItem("Parameter [q] must be at least 3 characters"));
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.pay.adminusers.service;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchIteratorTest {
+
+    private static final List<Integer> RESULTS = List.of(1, 2, 3, 4, 5);
+
+    private final List<Optional<Integer>> fetchedAfter = new ArrayList<>();
+
+    @Test
+    void shouldFetchEachBatchAfterTheLastResultOfThePreviousOne() {
+        Iterator<Integer> iterator = new BatchIterator<>(2, after -> fetch(after, 2));
+
+        assertThat(ImmutableList.copyOf(iterator), is(RESULTS));
+        assertThat(fetchedAfter, is(List.of(Optional.empty(), Optional.of(2), Optional.of(4))));
+    }
+
+    @Test
+    void shouldNotFetchAnotherBatch_untilThePreviousOneIsUsedUp() {
+        Iterator<Integer> iterator = new BatchIterator<>(2, after -> fetch(after, 2));
+
+        iterator.next();
+        iterator.next();
+
+        assertThat(fetchedAfter.size(), is(1));
+    }
+
+    @Test
+    void shouldFetchAnEmptyBatch_whenTheLastBatchIsFull() {
+        Iterator<Integer> iterator = new BatchIterator<>(5, after -> fetch(after, 5));
+
+        assertThat(ImmutableList.copyOf(iterator), is(RESULTS));
+        assertThat(fetchedAfter, is(List.of(Optional.empty(), Optional.of(5))));
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    private List<Integer> fetch(Optional<Integer> after, int batchSize) {
+        fetchedAfter.add(after);
+        int afterValue = after.orElse(0);
+        return RESULTS.stream().filter(result -> result > afterValue).limit(batchSize).collect(ImmutableList.toImmutableList());
+    }
+}
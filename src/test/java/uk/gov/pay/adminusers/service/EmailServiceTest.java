@@ -1,5 +1,7 @@
 package uk.gov.pay.adminusers.service;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,6 +41,7 @@ public class EmailServiceTest {
     private static final String POSTCODE = "postcode";
     private static final String ADDRESS_COUNTRY_CODE = "CK";
     private static final String MERCHANT_EMAIL = "dd-merchant@example.com";
+    private final NotificationDispatcher notificationDispatcher = new NotificationDispatcher(MoreExecutors.newDirectExecutorService(), new MetricRegistry());
     private EmailService emailService;
 
     @Mock
@@ -71,7 +74,7 @@ public class EmailServiceTest {
         given(mockServiceDao.findByGatewayAccountId(GATEWAY_ACCOUNT_ID)).willReturn(Optional.of(mockServiceEntity));
         given(mockServiceEntity.getServiceNames()).willReturn(Map.of(ENGLISH, ServiceNameEntity.from(ENGLISH, "a service")));
         given(mockCountryConverter.getCountryNameFrom(ADDRESS_COUNTRY_CODE)).willReturn(Optional.of("Cake Land"));
-        emailService = new EmailService(mockNotificationService, mockCountryConverter, mockServiceDao);
+        emailService = new EmailService(mockNotificationService, notificationDispatcher, mockCountryConverter, mockServiceDao);
 
     }
 
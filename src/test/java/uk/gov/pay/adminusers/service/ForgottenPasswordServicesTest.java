@@ -1,5 +1,7 @@
 package uk.gov.pay.adminusers.service;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,6 +49,7 @@ public class ForgottenPasswordServicesTest {
     @Mock
     private NotificationService mockNotificationService;
 
+    private final NotificationDispatcher notificationDispatcher = new NotificationDispatcher(MoreExecutors.newDirectExecutorService(), new MetricRegistry());
     private ForgottenPasswordServices forgottenPasswordServices;
 
     @BeforeEach
@@ -54,7 +57,7 @@ public class ForgottenPasswordServicesTest {
         LinksConfig mockLinks = mock(LinksConfig.class);
         when(mockLinks.getSelfserviceUrl()).thenReturn(SELFSERVICE_URL);
         when(mockConfig.getLinks()).thenReturn(mockLinks);
-        forgottenPasswordServices = new ForgottenPasswordServices(userDao, forgottenPasswordDao, new LinksBuilder("http://localhost"), mockNotificationService, mockConfig);
+        forgottenPasswordServices = new ForgottenPasswordServices(userDao, forgottenPasswordDao, new LinksBuilder("http://localhost"), mockNotificationService, notificationDispatcher, mockConfig);
     }
 
     @Test
@@ -1,5 +1,6 @@
 package uk.gov.pay.adminusers.service;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,10 +8,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.pay.adminusers.model.Invite;
 import uk.gov.pay.adminusers.persistence.dao.InviteDao;
-import uk.gov.pay.adminusers.persistence.dao.UserDao;
 import uk.gov.pay.adminusers.persistence.entity.InviteEntity;
 import uk.gov.pay.adminusers.persistence.entity.RoleEntity;
-import uk.gov.pay.adminusers.persistence.entity.UserEntity;
 
 import javax.ws.rs.WebApplicationException;
 import java.time.ZonedDateTime;
@@ -27,8 +26,6 @@ import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
 @ExtendWith(MockitoExtension.class)
 public class InviteFinderTest {
 
-    @Mock
-    private UserDao mockUserDao;
     @Mock
     private InviteDao mockInviteDao;
 
@@ -36,7 +33,7 @@ public class InviteFinderTest {
 
     @BeforeEach
     public void before() {
-        inviteFinder = new InviteFinder(mockInviteDao, mockUserDao);
+        inviteFinder = new InviteFinder(mockInviteDao);
     }
 
     @Test
@@ -44,9 +41,7 @@ public class InviteFinderTest {
         String code = randomUuid();
         String email = "user@mail.com";
         InviteEntity inviteEntity = new InviteEntity(email, code, "otp-key", mock(RoleEntity.class));
-        Optional<InviteEntity> inviteEntityOptional = Optional.of(inviteEntity);
-        when(mockInviteDao.findByCode(code)).thenReturn(inviteEntityOptional);
-        when(mockUserDao.findByEmail(email)).thenReturn(Optional.empty());
+        when(mockInviteDao.findByCodeWithUserExists(code)).thenReturn(Optional.of(Pair.of(inviteEntity, false)));
 
         Optional<Invite> inviteOptional = inviteFinder.find(code);
         assertThat(inviteOptional.isPresent(), is(true));
@@ -58,9 +53,7 @@ public class InviteFinderTest {
         String code = randomUuid();
         String email = "user@mail.com";
         InviteEntity inviteEntity = new InviteEntity(email, code, "otp-key", mock(RoleEntity.class));
-        Optional<InviteEntity> inviteEntityOptional = Optional.of(inviteEntity);
-        when(mockInviteDao.findByCode(code)).thenReturn(inviteEntityOptional);
-        when(mockUserDao.findByEmail(email)).thenReturn(Optional.of(mock(UserEntity.class)));
+        when(mockInviteDao.findByCodeWithUserExists(code)).thenReturn(Optional.of(Pair.of(inviteEntity, true)));
 
         Optional<Invite> inviteOptional = inviteFinder.find(code);
         assertThat(inviteOptional.isPresent(), is(true));
@@ -73,8 +66,7 @@ public class InviteFinderTest {
         String email = "user@mail.com";
         InviteEntity inviteEntity = new InviteEntity(email, code, "otp-key", mock(RoleEntity.class));
         inviteEntity.setExpiryDate(ZonedDateTime.now().minusDays(1));
-        Optional<InviteEntity> inviteEntityOptional = Optional.of(inviteEntity);
-        when(mockInviteDao.findByCode(code)).thenReturn(inviteEntityOptional);
+        when(mockInviteDao.findByCodeWithUserExists(code)).thenReturn(Optional.of(Pair.of(inviteEntity, false)));
 
         WebApplicationException exception = assertThrows(WebApplicationException.class,
                 () -> inviteFinder.find(code));
@@ -87,8 +79,7 @@ public class InviteFinderTest {
         String email = "user@mail.com";
         InviteEntity inviteEntity = new InviteEntity(email, code, "otp-key", mock(RoleEntity.class));
         inviteEntity.setDisabled(true);
-        Optional<InviteEntity> inviteEntityOptional = Optional.of(inviteEntity);
-        when(mockInviteDao.findByCode(code)).thenReturn(inviteEntityOptional);
+        when(mockInviteDao.findByCodeWithUserExists(code)).thenReturn(Optional.of(Pair.of(inviteEntity, false)));
 
         WebApplicationException exception = assertThrows(WebApplicationException.class,
                 () -> inviteFinder.find(code));
@@ -98,7 +89,7 @@ public class InviteFinderTest {
     @Test
     public void shouldReturnEmptyOptional_forNonExistingInviteCode() {
         String code = "non-existent-code";
-        when(mockInviteDao.findByCode(code)).thenReturn(Optional.empty());
+        when(mockInviteDao.findByCodeWithUserExists(code)).thenReturn(Optional.empty());
 
         Optional<Invite> inviteOptional = inviteFinder.find(code);
 
@@ -116,16 +107,17 @@ public class InviteFinderTest {
         disabledInviteEntity.setDisabled(true);
         InviteEntity expiredInviteEntity = new InviteEntity("email@email.test", randomUuid(), "otp-key", mock(RoleEntity.class));
         expiredInviteEntity.setExpiryDate(ZonedDateTime.now().minusMinutes(1));
-        when(mockUserDao.findByEmail(firstEmail)).thenReturn(Optional.empty());
-        when(mockUserDao.findByEmail(secondEmail)).thenReturn(Optional.empty());
-        when(mockInviteDao.findAllByServiceId(externalServiceId)).thenReturn(
-                List.of(firstInviteEntity, secondInviteEntity, disabledInviteEntity, expiredInviteEntity)
+        when(mockInviteDao.findAllByServiceIdWithUserExists(externalServiceId)).thenReturn(
+                List.of(Pair.of(firstInviteEntity, false), Pair.of(secondInviteEntity, true),
+                        Pair.of(disabledInviteEntity, false), Pair.of(expiredInviteEntity, false))
         );
         List<Invite> invites = inviteFinder.findAllActiveInvites(externalServiceId);
         assertThat(invites.size(), is(2));
         Invite firstInvite = invites.get(0);
         assertThat(firstInvite.getEmail(), is(firstEmail));
+        assertThat(firstInvite.isUserExist(), is(false));
         Invite secondInvite = invites.get(1);
         assertThat(secondInvite.getEmail(), is(secondEmail));
+        assertThat(secondInvite.isUserExist(), is(true));
     }
 }
@@ -0,0 +1,71 @@
+package uk.gov.pay.adminusers.service;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InviteOtpRateLimiterTest {
+
+    private static final Instant NOW = Instant.parse("2021-06-01T10:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private InviteOtpRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void before() {
+        when(clock.instant()).thenReturn(NOW);
+        rateLimiter = new InviteOtpRateLimiter(2, 60, clock, metricRegistry);
+    }
+
+    @Test
+    public void shouldRejectRequests_overTheLimitWithinTheWindow() {
+        assertThat(rateLimiter.tryAcquire("invite-code"), is(true));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+        assertThat(rateLimiter.tryAcquire("invite-code"), is(true));
+        assertThat(rateLimiter.tryAcquire("invite-code"), is(false));
+
+        assertThat(metricRegistry.counter("invite-otp.requests").getCount(), is(2L));
+        assertThat(metricRegistry.counter("invite-otp.resends").getCount(), is(1L));
+        assertThat(metricRegistry.counter("invite-otp.rate_limited").getCount(), is(1L));
+    }
+
+    @Test
+    public void shouldAllowRequestsAgain_onceEarlierRequestsLeaveTheWindow() {
+        rateLimiter.tryAcquire("invite-code");
+        when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+        rateLimiter.tryAcquire("invite-code");
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+
+        assertThat(rateLimiter.tryAcquire("invite-code"), is(true));
+        assertThat(rateLimiter.tryAcquire("invite-code"), is(false));
+    }
+
+    @Test
+    public void shouldLimitEachInviteSeparately() {
+        rateLimiter.tryAcquire("invite-code");
+        rateLimiter.tryAcquire("invite-code");
+
+        assertThat(rateLimiter.tryAcquire("invite-code"), is(false));
+        assertThat(rateLimiter.tryAcquire("another-invite-code"), is(true));
+    }
+
+    @Test
+    public void shouldForgetLeastRecentlyUsedInvites_onceTooManyAreTracked() {
+        rateLimiter = new InviteOtpRateLimiter(2, 60, 1, clock, metricRegistry);
+        rateLimiter.tryAcquire("invite-code");
+        rateLimiter.tryAcquire("invite-code");
+
+        assertThat(rateLimiter.tryAcquire("another-invite-code"), is(true));
+        assertThat(rateLimiter.tryAcquire("invite-code"), is(true));
+    }
+}
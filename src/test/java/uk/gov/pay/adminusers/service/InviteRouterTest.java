@@ -15,9 +15,14 @@ import java.util.Optional;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.pay.adminusers.model.InviteType.SERVICE;
 import static uk.gov.pay.adminusers.model.InviteType.USER;
+import static uk.gov.pay.adminusers.service.NotificationService.OtpNotifySmsTemplateId.SELF_INITIATED_CREATE_NEW_USER_AND_SERVICE;
 
 @ExtendWith(MockitoExtension.class)
 public class InviteRouterTest {
@@ -79,7 +84,7 @@ public class InviteRouterTest {
         String inviteCode = "a-code";
         InviteEntity inviteEntity = anInvite(inviteCode, SERVICE);
         when(inviteDao.findByCode(inviteCode)).thenReturn(Optional.of(inviteEntity));
-        when(inviteServiceFactory.dispatchServiceOtp()).thenReturn(new ServiceOtpDispatcher(null, null, null));
+        when(inviteServiceFactory.dispatchServiceOtp()).thenReturn(new ServiceOtpDispatcher(null, null));
         Optional<Pair<InviteOtpDispatcher, Boolean>> result = inviteRouter.routeOtpDispatch(inviteCode);
 
         assertThat(result.isPresent(), is(true));
@@ -87,6 +92,23 @@ public class InviteRouterTest {
         assertThat(result.get().getRight(), is(false));
     }
 
+    @Test
+    public void shouldLookUpInviteOnlyOnce_whenRoutingAndDispatchingOtp() {
+        String inviteCode = "a-code";
+        InviteEntity inviteEntity = anInvite(inviteCode, SERVICE);
+        SecondFactorAuthenticator secondFactorAuthenticator = mock(SecondFactorAuthenticator.class);
+        NotificationService notificationService = mock(NotificationService.class);
+        when(inviteDao.findByCode(inviteCode)).thenReturn(Optional.of(inviteEntity));
+        when(inviteServiceFactory.dispatchServiceOtp()).thenReturn(new ServiceOtpDispatcher(secondFactorAuthenticator, notificationService));
+        when(secondFactorAuthenticator.newPassCode(inviteEntity.getOtpKey())).thenReturn(123456);
+
+        inviteRouter.routeOtpDispatch(inviteCode).get().getLeft().dispatchOtp();
+
+        verify(inviteDao, times(1)).findByCode(inviteCode);
+        verifyNoMoreInteractions(inviteDao);
+        verify(notificationService).sendSecondFactorPasscodeSms(inviteEntity.getTelephoneNumber(), "123456", SELF_INITIATED_CREATE_NEW_USER_AND_SERVICE);
+    }
+
     private InviteEntity anInvite(String code, InviteType inviteType) {
         InviteEntity inviteEntity = new InviteEntity();
         inviteEntity.setCode(code);
@@ -0,0 +1,64 @@
+package uk.gov.pay.adminusers.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.gov.pay.adminusers.model.Link;
+import uk.gov.pay.adminusers.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static javax.ws.rs.core.UriBuilder.fromUri;
+import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
+import static uk.gov.pay.adminusers.resources.UserResource.USERS_RESOURCE;
+
+/**
+ * Compares {@link LinksBuilder} with building every link with a {@link javax.ws.rs.core.UriBuilder}, as it used to.
+ * Not run as part of the build; run the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinksBuilderBenchmark {
+
+    private static final String BASE_URL = "http://localhost:8080";
+
+    private final LinksBuilder linksBuilder = new LinksBuilder(BASE_URL);
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = User.from(1, randomUuid(), "a-username", "a-password", "email@example.com",
+                "4wrwef", "123435", List.of(), null, null, null, null, null);
+    }
+
+    @Benchmark
+    public User linksBuilder() {
+        return linksBuilder.decorate(user);
+    }
+
+    @Benchmark
+    public User uriBuilderPerLink() {
+        String href = fromUri(BASE_URL).path(USERS_RESOURCE).path(user.getExternalId()).build().toString();
+        user.setLinks(List.of(Link.from(Link.Rel.SELF, "GET", href)));
+        return user;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LinksBuilderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
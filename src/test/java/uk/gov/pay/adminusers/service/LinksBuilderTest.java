@@ -47,4 +47,31 @@ class LinksBuilderTest {
         String linkJson = objectMapper.writeValueAsString(decorated.getLinks().get(0));
         assertThat(linkJson, is("{\"rel\":\"self\",\"method\":\"GET\",\"href\":\"http://localhost:8080/v1/api/forgotten-passwords/a-code\"}"));
     }
+
+    @Test
+    void shouldConstruct_serviceSelfLinkCorrectly_whenBaseUrlHasTrailingSlash() {
+        Service service = Service.from(2, "34783g87ebg764r", new ServiceName(Service.DEFAULT_NAME_VALUE));
+
+        Service decorated = new LinksBuilder("http://localhost:8080/").decorate(service);
+
+        assertThat(decorated.getLinks().get(0).getHref(), is("http://localhost:8080/v1/api/services/34783g87ebg764r"));
+    }
+
+    @Test
+    void shouldEncode_idsThatAreNotUrlSafe() {
+        ForgottenPassword forgottenPassword = ForgottenPassword.forgottenPassword(1, "a code", ZonedDateTime.now(), "7d19aff33f8948deb97ed16b2912dcd3");
+
+        ForgottenPassword decorated = linksBuilder.decorate(forgottenPassword);
+
+        assertThat(decorated.getLinks().get(0).getHref(), is("http://localhost:8080/v1/api/forgotten-passwords/a%20code"));
+    }
+
+    @Test
+    void shouldOnlyTreatUnreservedCharactersAsUrlSafe() {
+        assertThat(LinksBuilder.isUrlSafe("7d19aff3-3f89_48de.b97e~d16b"), is(true));
+        assertThat(LinksBuilder.isUrlSafe("a code"), is(false));
+        assertThat(LinksBuilder.isUrlSafe("a/code"), is(false));
+        assertThat(LinksBuilder.isUrlSafe("{code}"), is(false));
+        assertThat(LinksBuilder.isUrlSafe(""), is(false));
+    }
 }
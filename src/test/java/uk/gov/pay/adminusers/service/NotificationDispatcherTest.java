@@ -0,0 +1,76 @@
+package uk.gov.pay.adminusers.service;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NotificationDispatcherTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final NotificationDispatcher notificationDispatcher = new NotificationDispatcher(executor, metricRegistry);
+
+    @AfterEach
+    public void after() {
+        MDC.clear();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldSendNotificationOnExecutor_withTheLoggingContextOfTheCaller() throws Exception {
+        MDC.put("x_request_id", "request-id");
+        String callerThread = Thread.currentThread().getName();
+
+        CompletableFuture<String> result = notificationDispatcher.dispatch(() -> {
+            assertThat(Thread.currentThread().getName().equals(callerThread), is(false));
+            return MDC.get("x_request_id");
+        });
+
+        assertThat(result.get(5, TimeUnit.SECONDS), is("request-id"));
+        assertThat(executor.submit(() -> MDC.get("x_request_id")).get(5, TimeUnit.SECONDS), is(nullValue()));
+    }
+
+    @Test
+    public void shouldCompleteExceptionally_whenSendingFails() {
+        CompletableFuture<String> result = notificationDispatcher.dispatch(() -> {
+            throw AdminUsersExceptions.userNotificationError();
+        });
+
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCountNotificationsNotYetSent() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        Gauge<Integer> pending = metricRegistry.getGauges().get("notify-operations.dispatch.pending");
+
+        CompletableFuture<String> result = notificationDispatcher.dispatch(() -> {
+            try {
+                sending.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "notification-id";
+        });
+
+        assertThat(pending.getValue(), is(1));
+        sending.countDown();
+        result.get(5, TimeUnit.SECONDS);
+        assertThat(pending.getValue(), is(0));
+    }
+}
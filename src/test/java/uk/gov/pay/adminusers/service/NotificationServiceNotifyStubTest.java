@@ -0,0 +1,132 @@
+package uk.gov.pay.adminusers.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.app.config.NotifyConfiguration;
+import uk.gov.pay.adminusers.app.config.NotifyDirectDebitConfiguration;
+
+import javax.ws.rs.WebApplicationException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static uk.gov.pay.adminusers.service.NotificationService.OtpNotifySmsTemplateId.SIGN_IN;
+
+/**
+ * Sends SMS through the real Notify client to a stub Notify on localhost, so that the circuit breaker is tested
+ * against the failures the client actually raises for Notify's responses.
+ */
+public class NotificationServiceNotifyStubTest {
+
+    private static final String API_KEY = "api_key-pay-notify-service-id-pay-notify-secret-needs-to-be-32-chars-fsghdngfhmhfkrgsfs";
+    private static final String NOTIFICATION_ID = "0e56aabe-e026-4478-8b82-c03d3b31cfc1";
+    private static final String SEND_SMS_RESPONSE = "{" +
+            "\"id\":\"" + NOTIFICATION_ID + "\"," +
+            "\"reference\":null," +
+            "\"content\":{\"body\":\"Your code is 123456\",\"from_number\":\"GOVUK\"}," +
+            "\"template\":{\"id\":\"f1e2d3c4-b5a6-4978-8a7b-6c5d4e3f2a1b\",\"version\":1,\"uri\":\"https://notify.example/template\"}" +
+            "}";
+    private static final String SERVER_ERROR_RESPONSE = "{\"errors\":[{\"error\":\"Exception\",\"message\":\"Internal server error\"}],\"status_code\":500}";
+    private static final String BAD_REQUEST_RESPONSE = "{\"errors\":[{\"error\":\"BadRequestError\",\"message\":\"Bad request\"}],\"status_code\":400}";
+
+    private final AtomicInteger requestsReceived = new AtomicInteger();
+    private final AtomicInteger responseStatus = new AtomicInteger(201);
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private HttpServer notifyStub;
+    private NotifyCircuitBreaker circuitBreaker;
+    private NotificationService notificationService;
+
+    @BeforeEach
+    public void before() throws IOException {
+        notifyStub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        notifyStub.createContext("/v2/notifications/sms", this::respond);
+        notifyStub.start();
+
+        NotifyConfiguration notifyConfiguration = mock(NotifyConfiguration.class);
+        given(notifyConfiguration.getCardApiKey()).willReturn(API_KEY);
+        given(notifyConfiguration.getDirectDebitApiKey()).willReturn(API_KEY);
+        given(notifyConfiguration.getNotificationBaseURL()).willReturn("http://localhost:" + notifyStub.getAddress().getPort());
+        given(notifyConfiguration.getSignInOtpSmsTemplateId()).willReturn("sign-in-otp-sms-template-id");
+
+        circuitBreaker = new NotifyCircuitBreaker(2, Duration.ofMinutes(1));
+        notificationService = new NotificationService(new NotifyClientProvider(notifyConfiguration), circuitBreaker,
+                notifyConfiguration, mock(NotifyDirectDebitConfiguration.class), metricRegistry);
+    }
+
+    @AfterEach
+    public void after() {
+        notifyStub.stop(0);
+    }
+
+    @Test
+    public void shouldReturnTheNotificationIdFromNotify_whenSmsIsSent() {
+        assertThat(notificationService.sendSecondFactorPasscodeSms("07700900000", "123456", SIGN_IN), is(NOTIFICATION_ID));
+        assertThat(requestsReceived.get(), is(1));
+    }
+
+    @Test
+    public void shouldStopCallingNotify_onceItHasReturnedServerErrorsRepeatedly() {
+        responseStatus.set(500);
+
+        sendSmsExpectingFailure();
+        sendSmsExpectingFailure();
+        sendSmsExpectingFailure();
+
+        assertThat(requestsReceived.get(), is(2));
+        assertThat(circuitBreaker.getState(), is(NotifyCircuitBreaker.State.OPEN));
+        assertThat(metricRegistry.counter("notify-operations.sms.rejected").getCount(), is(1L));
+    }
+
+    @Test
+    public void shouldKeepCallingNotify_whenItRejectsRequestsAsInvalid() {
+        responseStatus.set(400);
+
+        sendSmsExpectingFailure();
+        sendSmsExpectingFailure();
+        sendSmsExpectingFailure();
+
+        assertThat(requestsReceived.get(), is(3));
+        assertThat(circuitBreaker.getState(), is(NotifyCircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void shouldStopCallingNotify_onceItCannotBeReached() {
+        notifyStub.stop(0);
+
+        sendSmsExpectingFailure();
+        sendSmsExpectingFailure();
+
+        assertThat(circuitBreaker.getState(), is(NotifyCircuitBreaker.State.OPEN));
+    }
+
+    private void sendSmsExpectingFailure() {
+        assertThrows(WebApplicationException.class,
+                () -> notificationService.sendSecondFactorPasscodeSms("07700900000", "123456", SIGN_IN));
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        requestsReceived.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        int status = responseStatus.get();
+        String body = status == 201 ? SEND_SMS_RESPONSE : status == 400 ? BAD_REQUEST_RESPONSE : SERVER_ERROR_RESPONSE;
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
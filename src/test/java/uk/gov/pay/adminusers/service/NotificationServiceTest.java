@@ -1,5 +1,6 @@
 package uk.gov.pay.adminusers.service;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,14 +14,19 @@ import uk.gov.service.notify.NotificationClient;
 import uk.gov.service.notify.NotificationClientException;
 import uk.gov.service.notify.SendSmsResponse;
 
+import javax.ws.rs.WebApplicationException;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static uk.gov.pay.adminusers.model.PaymentType.CARD;
 import static uk.gov.pay.adminusers.service.NotificationService.OtpNotifySmsTemplateId;
@@ -74,8 +80,8 @@ public class NotificationServiceTest {
         given(mockNotificationClient.sendSms(anyString(), anyString(), anyMap(), isNull())).willReturn(mockSendSmsResponse);
         given(mockSendSmsResponse.getNotificationId()).willReturn(NOTIFICATION_ID);
 
-        notificationService = new NotificationService(mockNotifyClientProvider, mockNotifyConfiguration, mockNotifyDirectDebitConfiguration,
-                mockMetricRegistry);
+        notificationService = new NotificationService(mockNotifyClientProvider, new NotifyCircuitBreaker(2, Duration.ofMinutes(1)),
+                mockNotifyConfiguration, mockNotifyDirectDebitConfiguration, mockMetricRegistry);
     }
 
     @Test
@@ -108,4 +114,61 @@ public class NotificationServiceTest {
                 null);    
     }
 
+    @Test
+    public void shouldFailFastWithoutCallingNotify_whenRepeatedFailuresOpenTheCircuit() throws NotificationClientException {
+        given(mockMetricRegistry.counter("notify-operations.sms.failures")).willReturn(mock(Counter.class));
+        given(mockMetricRegistry.counter("notify-operations.sms.rejected")).willReturn(mock(Counter.class));
+
+        notificationService.sendSecondFactorPasscodeSms(PHONE_NUMBER, OTP, OtpNotifySmsTemplateId.SIGN_IN);
+
+        given(mockNotificationClient.sendSms(anyString(), anyString(), anyMap(), isNull()))
+                .willThrow(new NotificationClientException(new IOException("Connection reset")));
+        assertThrows(WebApplicationException.class,
+                () -> notificationService.sendSecondFactorPasscodeSms(PHONE_NUMBER, OTP, OtpNotifySmsTemplateId.SIGN_IN));
+        assertThrows(WebApplicationException.class,
+                () -> notificationService.sendSecondFactorPasscodeSms(PHONE_NUMBER, OTP, OtpNotifySmsTemplateId.SIGN_IN));
+        assertThrows(WebApplicationException.class,
+                () -> notificationService.sendSecondFactorPasscodeSms(PHONE_NUMBER, OTP, OtpNotifySmsTemplateId.SIGN_IN));
+
+        verify(mockNotificationClient, times(3)).sendSms(SIGN_IN_OTP_SMS_TEMPLATE_ID, PHONE_NUMBER_E164, Map.of("code", OTP), null);
+    }
+
+    @Test
+    public void shouldLetAnotherTrialThrough_whenTrialCallFailsWithUnexpectedException() throws NotificationClientException {
+        given(mockMetricRegistry.counter("notify-operations.sms.failures")).willReturn(mock(Counter.class));
+        notificationService = new NotificationService(mockNotifyClientProvider, new NotifyCircuitBreaker(1, Duration.ZERO),
+                mockNotifyConfiguration, mockNotifyDirectDebitConfiguration, mockMetricRegistry);
+
+        given(mockNotificationClient.sendSms(anyString(), anyString(), anyMap(), isNull()))
+                .willThrow(new NotificationClientException(new IOException("Connection reset")))
+                .willThrow(new IllegalStateException("Unexpected response"))
+                .willReturn(mockSendSmsResponse);
+        assertThrows(WebApplicationException.class,
+                () -> notificationService.sendSecondFactorPasscodeSms(PHONE_NUMBER, OTP, OtpNotifySmsTemplateId.SIGN_IN));
+        assertThrows(WebApplicationException.class,
+                () -> notificationService.sendSecondFactorPasscodeSms(PHONE_NUMBER, OTP, OtpNotifySmsTemplateId.SIGN_IN));
+
+        notificationService.sendSecondFactorPasscodeSms(PHONE_NUMBER, OTP, OtpNotifySmsTemplateId.SIGN_IN);
+
+        verify(mockNotificationClient, times(3)).sendSms(SIGN_IN_OTP_SMS_TEMPLATE_ID, PHONE_NUMBER_E164, Map.of("code", OTP), null);
+    }
+
+    @Test
+    public void shouldNotTakeTheTrialCall_whenPhoneNumberIsInvalid() throws NotificationClientException {
+        given(mockMetricRegistry.counter("notify-operations.sms.failures")).willReturn(mock(Counter.class));
+        notificationService = new NotificationService(mockNotifyClientProvider, new NotifyCircuitBreaker(1, Duration.ZERO),
+                mockNotifyConfiguration, mockNotifyDirectDebitConfiguration, mockMetricRegistry);
+
+        given(mockNotificationClient.sendSms(anyString(), anyString(), anyMap(), isNull()))
+                .willThrow(new NotificationClientException(new IOException("Connection reset")))
+                .willReturn(mockSendSmsResponse);
+        assertThrows(WebApplicationException.class,
+                () -> notificationService.sendSecondFactorPasscodeSms(PHONE_NUMBER, OTP, OtpNotifySmsTemplateId.SIGN_IN));
+        assertThrows(RuntimeException.class,
+                () -> notificationService.sendSecondFactorPasscodeSms("not a phone number", OTP, OtpNotifySmsTemplateId.SIGN_IN));
+
+        notificationService.sendSecondFactorPasscodeSms(PHONE_NUMBER, OTP, OtpNotifySmsTemplateId.SIGN_IN);
+
+        verify(mockNotificationClient, times(2)).sendSms(SIGN_IN_OTP_SMS_TEMPLATE_ID, PHONE_NUMBER_E164, Map.of("code", OTP), null);
+    }
 }
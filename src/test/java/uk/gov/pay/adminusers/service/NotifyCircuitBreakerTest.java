@@ -0,0 +1,96 @@
+package uk.gov.pay.adminusers.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.service.NotifyCircuitBreaker.State;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NotifyCircuitBreakerTest {
+
+    private static final Instant NOW = Instant.parse("2021-06-01T10:00:00Z");
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final Clock clock = mock(Clock.class);
+    private NotifyCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void before() {
+        when(clock.instant()).thenReturn(NOW);
+        circuitBreaker = new NotifyCircuitBreaker(3, OPEN_DURATION, clock);
+    }
+
+    @Test
+    public void shouldAllowRequests_whenFailuresAreBelowThreshold() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        assertThat(circuitBreaker.allowRequest(), is(true));
+        assertThat(circuitBreaker.getState(), is(State.CLOSED));
+    }
+
+    @Test
+    public void shouldResetFailureCount_whenRequestSucceeds() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure();
+
+        assertThat(circuitBreaker.getState(), is(State.CLOSED));
+    }
+
+    @Test
+    public void shouldRejectRequests_whenThresholdReached() {
+        openCircuit();
+
+        assertThat(circuitBreaker.getState(), is(State.OPEN));
+        assertThat(circuitBreaker.allowRequest(), is(false));
+    }
+
+    @Test
+    public void shouldAllowSingleTrialRequest_afterOpenDuration() {
+        openCircuit();
+        when(clock.instant()).thenReturn(NOW.plus(OPEN_DURATION));
+
+        assertThat(circuitBreaker.allowRequest(), is(true));
+        assertThat(circuitBreaker.getState(), is(State.HALF_OPEN));
+        assertThat(circuitBreaker.allowRequest(), is(false));
+    }
+
+    @Test
+    public void shouldClose_whenTrialRequestSucceeds() {
+        openCircuit();
+        when(clock.instant()).thenReturn(NOW.plus(OPEN_DURATION));
+        circuitBreaker.allowRequest();
+
+        circuitBreaker.recordSuccess();
+
+        assertThat(circuitBreaker.getState(), is(State.CLOSED));
+        assertThat(circuitBreaker.allowRequest(), is(true));
+    }
+
+    @Test
+    public void shouldReopen_whenTrialRequestFails() {
+        openCircuit();
+        when(clock.instant()).thenReturn(NOW.plus(OPEN_DURATION));
+        circuitBreaker.allowRequest();
+
+        circuitBreaker.recordFailure();
+
+        assertThat(circuitBreaker.getState(), is(State.OPEN));
+        assertThat(circuitBreaker.allowRequest(), is(false));
+    }
+
+    private void openCircuit() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+    }
+}
@@ -0,0 +1,83 @@
+package uk.gov.pay.adminusers.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.exception.ConcurrentUpdateException;
+import uk.gov.pay.adminusers.exception.ConflictExceptionMapper;
+import uk.gov.pay.adminusers.model.Service;
+import uk.gov.pay.adminusers.model.ServiceUpdateRequest;
+import uk.gov.pay.adminusers.persistence.dao.DaoTestBase;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.pay.adminusers.fixtures.ServiceDbFixture.serviceDbFixture;
+
+/**
+ * Makes a real version conflict by committing a competing update to the service, on another connection, after the
+ * updater has loaded it and before it writes.
+ */
+public class OptimisticLockRetrierIT extends DaoTestBase {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OptimisticLockRetrier optimisticLockRetrier = new OptimisticLockRetrier(3);
+    private ServiceUpdater serviceUpdater;
+    private String serviceExternalId;
+    private List<ServiceUpdateRequest> updateRequests;
+
+    @BeforeEach
+    public void before() {
+        serviceUpdater = env.getInstance(ServiceUpdater.class);
+        serviceExternalId = serviceDbFixture(databaseHelper).insertService().getExternalId();
+        updateRequests = ServiceUpdateRequest.getUpdateRequests(objectMapper.valueToTree(
+                List.of(Map.of("op", "replace", "path", "sector", "value", "local government"))));
+    }
+
+    @Test
+    public void shouldThrowConcurrentUpdateException_mappedTo409_whenAnotherTransactionWritesFirst() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        ConcurrentUpdateException exception = assertThrows(ConcurrentUpdateException.class,
+                () -> optimisticLockRetrier.execute(
+                        () -> serviceUpdater.doUpdate(serviceExternalId, updateRequests, concurrentWriteOnFirstAttempt(attempts)),
+                        false));
+
+        assertThat(attempts.get(), is(1));
+        assertThat(new ConflictExceptionMapper().toResponse(exception).getStatus(), is(409));
+        assertThat(databaseHelper.findServiceByExternalId(serviceExternalId).get(0).get("sector"), is("central government"));
+    }
+
+    @Test
+    public void shouldRetryInAFreshTransactionAndSucceed_whenAnotherTransactionWritesFirst() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Optional<Service> service = optimisticLockRetrier.execute(
+                () -> serviceUpdater.doUpdate(serviceExternalId, updateRequests, concurrentWriteOnFirstAttempt(attempts)),
+                true);
+
+        assertThat(attempts.get(), is(2));
+        assertThat(service.map(Service::getSector), is(Optional.of("local government")));
+        Map<String, Object> savedService = databaseHelper.findServiceByExternalId(serviceExternalId).get(0);
+        assertThat(savedService.get("sector"), is("local government"));
+        long savedVersion = ((Number) savedService.get("version")).longValue();
+        assertThat(savedVersion, is(greaterThan(1L)));
+        assertThat(service.map(Service::getVersion), is(Optional.of(savedVersion)));
+    }
+
+    private Predicate<Long> concurrentWriteOnFirstAttempt(AtomicInteger attempts) {
+        return version -> {
+            if (attempts.incrementAndGet() == 1) {
+                databaseHelper.updateServiceSector(serviceExternalId, "central government");
+            }
+            return true;
+        };
+    }
+}
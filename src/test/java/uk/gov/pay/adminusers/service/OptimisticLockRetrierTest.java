@@ -0,0 +1,71 @@
+package uk.gov.pay.adminusers.service;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.exception.ConcurrentUpdateException;
+
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PersistenceException;
+import javax.persistence.RollbackException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OptimisticLockRetrierTest {
+
+    private final OptimisticLockRetrier optimisticLockRetrier = new OptimisticLockRetrier(3);
+
+    @Test
+    public void shouldReturnResult_whenNoConflict() {
+        assertThat(optimisticLockRetrier.execute(() -> "result", true), is("result"));
+    }
+
+    @Test
+    public void shouldRetryAndReturnResult_whenConflictOnCommitAndRetryEnabled() {
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> conflictingOnce = () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new RollbackException(new OptimisticLockException());
+            }
+            return "result";
+        };
+
+        assertThat(optimisticLockRetrier.execute(conflictingOnce, true), is("result"));
+        assertThat(attempts.get(), is(2));
+    }
+
+    @Test
+    public void shouldThrowConcurrentUpdateException_whenConflictAndRetryDisabled() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConcurrentUpdateException.class, () -> optimisticLockRetrier.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockException();
+        }, false));
+        assertThat(attempts.get(), is(1));
+    }
+
+    @Test
+    public void shouldThrowConcurrentUpdateException_whenConflictPersistsAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConcurrentUpdateException.class, () -> optimisticLockRetrier.execute(() -> {
+            attempts.incrementAndGet();
+            throw new RollbackException(new OptimisticLockException());
+        }, true));
+        assertThat(attempts.get(), is(3));
+    }
+
+    @Test
+    public void shouldRethrowOtherPersistenceExceptions() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(PersistenceException.class, () -> optimisticLockRetrier.execute(() -> {
+            attempts.incrementAndGet();
+            throw new PersistenceException("connection refused");
+        }, true));
+        assertThat(attempts.get(), is(1));
+    }
+}
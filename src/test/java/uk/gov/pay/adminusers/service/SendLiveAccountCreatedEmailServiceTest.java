@@ -1,5 +1,7 @@
 package uk.gov.pay.adminusers.service;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +35,7 @@ public class SendLiveAccountCreatedEmailServiceTest {
 
     private static final String SELFSERVICE_SERVICES_URL = "http://selfservice/services";
     
+    private final NotificationDispatcher notificationDispatcher = new NotificationDispatcher(MoreExecutors.newDirectExecutorService(), new MetricRegistry());
     private SendLiveAccountCreatedEmailService sendLiveAccountCreatedEmailService;
 
     @BeforeEach
@@ -40,7 +43,7 @@ public class SendLiveAccountCreatedEmailServiceTest {
         LinksConfig mockLinks = mock(LinksConfig.class);
         when(mockLinks.getSelfserviceServicesUrl()).thenReturn(SELFSERVICE_SERVICES_URL);
         when(mockConfig.getLinks()).thenReturn(mockLinks);
-        sendLiveAccountCreatedEmailService = new SendLiveAccountCreatedEmailService(mockGovUkPayAgreementDao, mockNotificationService, mockConfig);
+        sendLiveAccountCreatedEmailService = new SendLiveAccountCreatedEmailService(mockGovUkPayAgreementDao, mockNotificationService, notificationDispatcher, mockConfig);
     }
 
     @Test
@@ -0,0 +1,127 @@
+package uk.gov.pay.adminusers.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.pay.adminusers.model.ServiceBulkUpdateOutcome;
+import uk.gov.pay.adminusers.model.ServiceBulkUpdateOutcome.Status;
+import uk.gov.pay.adminusers.model.ServiceBulkUpdateRequest;
+import uk.gov.pay.adminusers.model.ServiceUpdateResult;
+import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.pay.adminusers.service.AdminUsersExceptions.conflictingServiceGatewayAccounts;
+
+public class ServiceBulkUpdaterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ServiceDao serviceDao = mock(ServiceDao.class);
+    private final ServiceUpdater serviceUpdater = mock(ServiceUpdater.class);
+    private ServiceBulkUpdater serviceBulkUpdater;
+
+    @BeforeEach
+    public void before() {
+        serviceBulkUpdater = new ServiceBulkUpdater(serviceDao, serviceUpdater, new OptimisticLockRetrier(1));
+    }
+
+    @Test
+    public void shouldUpdatePlainColumnsWithOneStatementPerColumnAndValue() {
+        List<ServiceBulkUpdateRequest> requests = List.of(
+                bulkUpdateRequest("service-1", Map.of("op", "replace", "path", "archived", "value", true)),
+                bulkUpdateRequest("service-2", Map.of("op", "replace", "path", "archived", "value", true)),
+                bulkUpdateRequest("service-3", Map.of("op", "replace", "path", "archived", "value", true)));
+        when(serviceDao.updateColumnsForServices(anyMap())).thenReturn(Set.of("service-1", "service-3"));
+
+        List<ServiceBulkUpdateOutcome> outcomes = serviceBulkUpdater.doBulkUpdate(requests);
+
+        verify(serviceDao).updateColumnsForServices(Map.of("archived", Map.of(true, List.of("service-1", "service-2", "service-3"))));
+        verify(serviceUpdater, never()).doBatchUpdate(anyString(), anyList());
+        assertThat(outcomes.size(), is(3));
+        assertThat(outcomes.get(0).getStatus(), is(Status.UPDATED));
+        assertThat(outcomes.get(1).getStatus(), is(Status.NOT_FOUND));
+        assertThat(outcomes.get(2).getStatus(), is(Status.UPDATED));
+    }
+
+    @Test
+    public void shouldUpdateOtherAttributesIndividually_andReportFailures() {
+        List<ServiceBulkUpdateRequest> requests = List.of(
+                bulkUpdateRequest("service-1", Map.of("op", "add", "path", "gateway_account_ids", "value", List.of("1"))),
+                bulkUpdateRequest("service-2", Map.of("op", "replace", "path", "service_name/en", "value", "new name")),
+                bulkUpdateRequest("service-3", Map.of("op", "replace", "path", "service_name/en", "value", "new name")));
+        when(serviceUpdater.doBatchUpdate(any(), anyList())).thenAnswer(invocation -> {
+            String serviceExternalId = invocation.getArgument(0);
+            if ("service-1".equals(serviceExternalId)) {
+                throw conflictingServiceGatewayAccounts(List.of("1"));
+            }
+            if ("service-2".equals(serviceExternalId)) {
+                return Optional.of(new ServiceUpdateResult(null, List.of()));
+            }
+            return Optional.empty();
+        });
+
+        List<ServiceBulkUpdateOutcome> outcomes = serviceBulkUpdater.doBulkUpdate(requests);
+
+        verify(serviceDao, never()).updateColumnsForServices(anyMap());
+        assertThat(outcomes.get(0).getStatus(), is(Status.FAILED));
+        assertThat(outcomes.get(0).getErrors(), contains("One or more of the following gateway account ids has already assigned to another service: [1]"));
+        assertThat(outcomes.get(1).getStatus(), is(Status.UPDATED));
+        assertThat(outcomes.get(2).getStatus(), is(Status.NOT_FOUND));
+    }
+
+    @Test
+    public void shouldUpdateInChunks() {
+        List<ServiceBulkUpdateRequest> requests = new ArrayList<>();
+        List<String> serviceExternalIds = new ArrayList<>();
+        for (int i = 0; i < ServiceBulkUpdater.CHUNK_SIZE * 2 + 1; i++) {
+            serviceExternalIds.add("service-" + i);
+            requests.add(bulkUpdateRequest("service-" + i, Map.of("op", "replace", "path", "sector", "value", "local government")));
+        }
+        when(serviceDao.updateColumnsForServices(anyMap())).thenReturn(Set.copyOf(serviceExternalIds));
+
+        List<ServiceBulkUpdateOutcome> outcomes = serviceBulkUpdater.doBulkUpdate(requests);
+
+        verify(serviceDao, times(3)).updateColumnsForServices(anyMap());
+        assertThat(outcomes.size(), is(requests.size()));
+        assertThat(outcomes.stream().allMatch(outcome -> outcome.getStatus() == Status.UPDATED), is(true));
+    }
+
+    @Test
+    public void shouldOnlySetLastReplacementOfAColumn() {
+        List<ServiceBulkUpdateRequest> requests = List.of(
+                bulkUpdateRequest("service-1",
+                        Map.of("op", "replace", "path", "experimental_features_enabled", "value", true),
+                        Map.of("op", "replace", "path", "experimental_features_enabled", "value", false),
+                        Map.of("op", "replace", "path", "internal", "value", true)));
+        when(serviceDao.updateColumnsForServices(anyMap())).thenReturn(Set.of("service-1"));
+
+        serviceBulkUpdater.doBulkUpdate(requests);
+
+        verify(serviceDao).updateColumnsForServices(Map.of(
+                "experimental_features_enabled", Map.of(false, List.of("service-1")),
+                "internal", Map.of(true, List.of("service-1"))));
+    }
+
+    @SafeVarargs
+    private ServiceBulkUpdateRequest bulkUpdateRequest(String serviceExternalId, Map<String, Object>... updates) {
+        return ServiceBulkUpdateRequest.from(mapper.valueToTree(Map.of(
+                "service_external_id", serviceExternalId,
+                "updates", List.of(updates))));
+    }
+}
@@ -79,8 +79,9 @@ public class ServiceInviteCompleterTest {
 
         InviteEntity anInvite = createInvite();
         anInvite.setType(InviteType.SERVICE);
+        anInvite.setDisabled(true);
         when(mockUserDao.findByEmail(email)).thenReturn(Optional.empty());
-        when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.of(anInvite));
 
         InviteCompleteRequest data = new InviteCompleteRequest();
         data.setGatewayAccountIds(asList("1", "2"));
@@ -112,8 +113,9 @@ public class ServiceInviteCompleterTest {
 
         InviteEntity anInvite = createInvite();
         anInvite.setType(InviteType.SERVICE);
+        anInvite.setDisabled(true);
         when(mockUserDao.findByEmail(email)).thenReturn(Optional.empty());
-        when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.of(anInvite));
 
         InviteCompleteResponse inviteResponse = serviceInviteCompleter.withData(new InviteCompleteRequest()).complete(anInvite.getCode()).get();
 
@@ -143,7 +145,7 @@ public class ServiceInviteCompleterTest {
         InviteEntity anInvite = createInvite();
         anInvite.setType(InviteType.SERVICE);
 
-        when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.of(anInvite));
         when(mockUserDao.findByEmail(anInvite.getEmail())).thenReturn(Optional.of(mock(UserEntity.class)));
 
         WebApplicationException exception = assertThrows(WebApplicationException.class,
@@ -161,6 +163,7 @@ public class ServiceInviteCompleterTest {
         anInvite.setDisabled(true);
 
         when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.empty());
 
         WebApplicationException exception = assertThrows(WebApplicationException.class,
                 () -> serviceInviteCompleter.complete(anInvite.getCode()));
@@ -177,6 +180,7 @@ public class ServiceInviteCompleterTest {
         anInvite.setExpiryDate(ZonedDateTime.now().minusDays(1));
 
         when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.empty());
 
         WebApplicationException exception = assertThrows(WebApplicationException.class,
                 () -> serviceInviteCompleter.complete(anInvite.getCode()));
@@ -191,7 +195,7 @@ public class ServiceInviteCompleterTest {
         InviteEntity anInvite = createInvite();
         anInvite.setType(InviteType.USER);
 
-        when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.of(anInvite));
         when(mockUserDao.findByEmail(email)).thenReturn(Optional.empty());
 
         WebApplicationException exception = assertThrows(WebApplicationException.class,
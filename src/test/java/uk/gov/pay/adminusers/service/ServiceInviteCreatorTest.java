@@ -1,5 +1,7 @@
 package uk.gov.pay.adminusers.service;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -16,6 +18,7 @@ import uk.gov.pay.adminusers.persistence.entity.RoleEntity;
 import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
 import uk.gov.pay.adminusers.persistence.entity.UserEntity;
 
+import javax.persistence.PersistenceException;
 import javax.ws.rs.WebApplicationException;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +32,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.matches;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
@@ -41,11 +45,12 @@ public class ServiceInviteCreatorTest {
     private RoleDao roleDao = mock(RoleDao.class);
     private PasswordHasher passwordHasher = mock(PasswordHasher.class);
     private ArgumentCaptor<InviteEntity> persistedInviteEntity = ArgumentCaptor.forClass(InviteEntity.class);
+    private final NotificationDispatcher notificationDispatcher = new NotificationDispatcher(MoreExecutors.newDirectExecutorService(), new MetricRegistry());
     private ServiceInviteCreator serviceInviteCreator;
 
     @BeforeEach
     public void before() {
-        serviceInviteCreator = new ServiceInviteCreator(inviteDao, userDao, roleDao, new LinksBuilder("http://localhost/"), linksConfig, notificationService, passwordHasher);
+        serviceInviteCreator = new ServiceInviteCreator(inviteDao, userDao, roleDao, new LinksBuilder("http://localhost/"), linksConfig, notificationService, notificationDispatcher, passwordHasher);
     }
 
     @Test
@@ -72,6 +77,30 @@ public class ServiceInviteCreatorTest {
         assertThat(persistedInviteEntity.getValue().getPassword(), is("encrypted-password"));
     }
 
+    @Test
+    public void shouldNotSendInviteEmail_whenSavingTheInviteFailsToCommit() {
+        String email = "email@example.gov.uk";
+        InviteServiceRequest request = new InviteServiceRequest("password", email, "01134960000");
+        RoleEntity roleEntity = new RoleEntity(Role.role(2, "admin", "Adminstrator"));
+        when(userDao.findByEmail(email)).thenReturn(Optional.empty());
+        when(inviteDao.findByEmail(email)).thenReturn(emptyList());
+        when(roleDao.findByRoleName("admin")).thenReturn(Optional.of(roleEntity));
+        when(linksConfig.getSelfserviceInvitesUrl()).thenReturn("http://selfservice/invites");
+        ServiceInviteCreator creatorFailingOnCommit = new ServiceInviteCreator(inviteDao, userDao, roleDao, new LinksBuilder("http://localhost/"),
+                linksConfig, notificationService, notificationDispatcher, passwordHasher) {
+            @Override
+            InviteWithNotification saveInvite(InviteServiceRequest inviteServiceRequest) {
+                super.saveInvite(inviteServiceRequest);
+                throw new PersistenceException("commit failed");
+            }
+        };
+
+        assertThrows(PersistenceException.class, () -> creatorFailingOnCommit.doInvite(request));
+
+        verify(inviteDao, times(1)).persist(persistedInviteEntity.capture());
+        verify(notificationService, never()).sendServiceInviteEmail(anyString(), anyString());
+    }
+
     @Test
     public void shouldSuccess_serviceInvite_evenIfNotifyThrowsAnError() {
         String email = "email@example.gov.uk";
@@ -0,0 +1,148 @@
+package uk.gov.pay.adminusers.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.pay.adminusers.model.Role;
+import uk.gov.pay.adminusers.model.SecondFactorMethod;
+import uk.gov.pay.adminusers.model.ServiceRoleChange;
+import uk.gov.pay.adminusers.model.User;
+import uk.gov.pay.adminusers.persistence.dao.RoleDao;
+import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
+import uk.gov.pay.adminusers.persistence.dao.ServiceRoleDao;
+import uk.gov.pay.adminusers.persistence.dao.UserDao;
+import uk.gov.pay.adminusers.persistence.entity.RoleEntity;
+import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
+import uk.gov.pay.adminusers.persistence.entity.ServiceRoleEntity;
+import uk.gov.pay.adminusers.persistence.entity.UserEntity;
+
+import javax.ws.rs.WebApplicationException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomInt;
+import static uk.gov.pay.adminusers.model.ServiceRoleChange.Operation.ASSIGN;
+import static uk.gov.pay.adminusers.model.ServiceRoleChange.Operation.REMOVE;
+import static uk.gov.pay.adminusers.model.ServiceRoleChange.Operation.UPDATE;
+import static uk.gov.pay.adminusers.persistence.entity.Role.ADMIN;
+import static uk.gov.pay.adminusers.persistence.entity.ServiceEntityBuilder.aServiceEntity;
+
+@ExtendWith(MockitoExtension.class)
+public class ServiceRoleBulkUpdaterTest {
+
+    private static final String USER_EXTERNAL_ID = "7d19aff33f8948deb97ed16b2912dcd3";
+
+    @Mock
+    private UserDao userDao;
+    @Mock
+    private ServiceDao serviceDao;
+    @Mock
+    private RoleDao roleDao;
+    @Mock
+    private ServiceRoleDao serviceRoleDao;
+
+    private final RoleEntity adminRole = new RoleEntity(Role.role(ADMIN.getId(), "admin", "admin-description"));
+    private final RoleEntity viewOnlyRole = new RoleEntity(Role.role(9, "view-only", "view-only-description"));
+    private UserEntity userEntity;
+    private ServiceRoleBulkUpdater serviceRoleBulkUpdater;
+
+    @BeforeEach
+    public void before() {
+        userEntity = UserEntity.from(User.from(randomInt(), USER_EXTERNAL_ID, "random-name", "random-password", "random@example.com",
+                "784rh", "8948924", emptyList(), null, SecondFactorMethod.SMS, null, null, null));
+        serviceRoleBulkUpdater = new ServiceRoleBulkUpdater(userDao, serviceDao, roleDao, serviceRoleDao, new LinksBuilder("http://localhost"));
+    }
+
+    @Test
+    public void shouldReturnEmpty_ifUserNotFound() {
+        when(userDao.findByExternalId(USER_EXTERNAL_ID)).thenReturn(Optional.empty());
+
+        Optional<User> user = serviceRoleBulkUpdater.doBulkUpdate(USER_EXTERNAL_ID, List.of(ServiceRoleChange.from(REMOVE, "service-1", null)));
+
+        assertThat(user.isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldApplyAllChanges_checkingAdminCountsInOneQuery() {
+        ServiceEntity serviceToAssign = aServiceEntity().withExternalId("service-to-assign").build();
+        ServiceEntity serviceToUpdate = aServiceEntity().withExternalId("service-to-update").build();
+        ServiceEntity serviceToLeave = aServiceEntity().withExternalId("service-to-leave").build();
+        userEntity.addServiceRole(new ServiceRoleEntity(serviceToUpdate, adminRole));
+        ServiceRoleEntity serviceRoleToRemove = new ServiceRoleEntity(serviceToLeave, adminRole);
+        userEntity.addServiceRole(serviceRoleToRemove);
+
+        when(userDao.findByExternalId(USER_EXTERNAL_ID)).thenReturn(Optional.of(userEntity));
+        when(roleDao.findByRoleName("view-only")).thenReturn(Optional.of(viewOnlyRole));
+        when(serviceDao.findByExternalIds(List.of("service-to-assign"))).thenReturn(List.of(serviceToAssign));
+        when(serviceDao.countOfUsersWithRoleForServices(Set.of("service-to-update", "service-to-leave"), ADMIN.getId()))
+                .thenReturn(Map.of("service-to-update", 2L, "service-to-leave", 3L));
+
+        Optional<User> user = serviceRoleBulkUpdater.doBulkUpdate(USER_EXTERNAL_ID, List.of(
+                ServiceRoleChange.from(ASSIGN, "service-to-assign", "view-only"),
+                ServiceRoleChange.from(UPDATE, "service-to-update", "view-only"),
+                ServiceRoleChange.from(REMOVE, "service-to-leave", null)));
+
+        verify(roleDao).findByRoleName("view-only");
+        verify(serviceRoleDao).remove(serviceRoleToRemove);
+        verify(userDao).merge(userEntity);
+        assertThat(user.isPresent(), is(true));
+        assertThat(user.get().getServiceRoles().size(), is(2));
+        assertThat(userEntity.getServicesRole("service-to-assign").get().getRole(), is(viewOnlyRole));
+        assertThat(userEntity.getServicesRole("service-to-update").get().getRole(), is(viewOnlyRole));
+        assertThat(userEntity.getServicesRole("service-to-leave").isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldApplyNoChanges_ifAnyServiceWouldBeLeftWithoutAnAdmin() {
+        ServiceEntity serviceToLeave = aServiceEntity().withExternalId("service-to-leave").build();
+        userEntity.addServiceRole(new ServiceRoleEntity(serviceToLeave, adminRole));
+
+        when(userDao.findByExternalId(USER_EXTERNAL_ID)).thenReturn(Optional.of(userEntity));
+        when(serviceDao.findByExternalIds(List.of())).thenReturn(List.of());
+        when(serviceDao.countOfUsersWithRoleForServices(Set.of("service-to-leave"), ADMIN.getId()))
+                .thenReturn(Map.of("service-to-leave", 1L));
+
+        WebApplicationException exception = assertThrows(WebApplicationException.class,
+                () -> serviceRoleBulkUpdater.doBulkUpdate(USER_EXTERNAL_ID, List.of(ServiceRoleChange.from(REMOVE, "service-to-leave", null))));
+
+        assertThat(exception.getMessage(), is("HTTP 412 Precondition Failed"));
+        verify(serviceRoleDao, never()).remove(any());
+        verify(userDao, never()).merge(any());
+    }
+
+    @Test
+    public void shouldError_ifServiceToAssignDoesNotExist() {
+        when(userDao.findByExternalId(USER_EXTERNAL_ID)).thenReturn(Optional.of(userEntity));
+        when(roleDao.findByRoleName("view-only")).thenReturn(Optional.of(viewOnlyRole));
+        when(serviceDao.findByExternalIds(List.of("non-existent-service"))).thenReturn(List.of());
+
+        WebApplicationException exception = assertThrows(WebApplicationException.class,
+                () -> serviceRoleBulkUpdater.doBulkUpdate(USER_EXTERNAL_ID, List.of(ServiceRoleChange.from(ASSIGN, "non-existent-service", "view-only"))));
+
+        assertThat(exception.getMessage(), is("HTTP 400 Bad Request"));
+    }
+
+    @Test
+    public void shouldError_ifUserDoesNotBelongToServiceToUpdate() {
+        when(userDao.findByExternalId(USER_EXTERNAL_ID)).thenReturn(Optional.of(userEntity));
+        when(roleDao.findByRoleName("view-only")).thenReturn(Optional.of(viewOnlyRole));
+        when(serviceDao.findByExternalIds(List.of())).thenReturn(List.of());
+
+        WebApplicationException exception = assertThrows(WebApplicationException.class,
+                () -> serviceRoleBulkUpdater.doBulkUpdate(USER_EXTERNAL_ID, List.of(ServiceRoleChange.from(UPDATE, "other-service", "view-only"))));
+
+        assertThat(exception.getMessage(), is("HTTP 409 Conflict"));
+    }
+}
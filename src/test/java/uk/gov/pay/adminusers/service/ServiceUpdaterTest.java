@@ -9,6 +9,8 @@ import uk.gov.pay.adminusers.model.GoLiveStage;
 import uk.gov.pay.adminusers.model.PspTestAccountStage;
 import uk.gov.pay.adminusers.model.Service;
 import uk.gov.pay.adminusers.model.ServiceUpdateRequest;
+import uk.gov.pay.adminusers.model.ServiceUpdateResult;
+import uk.gov.pay.adminusers.model.ServiceUpdateResult.Outcome;
 import uk.gov.pay.adminusers.model.UpdateMerchantDetailsRequest;
 import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
 import uk.gov.pay.adminusers.persistence.entity.MerchantDetailsEntity;
@@ -18,6 +20,7 @@ import uk.gov.service.payments.commons.model.SupportedLanguage;
 
 import javax.ws.rs.WebApplicationException;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,9 +33,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.ignoreStubs;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -122,6 +127,42 @@ public class ServiceUpdaterTest {
         verify(serviceDao).merge(serviceEntity);
     }
 
+    @Test
+    public void shouldFlushTheUpdate_beforeMakingTheServiceReturned() {
+        ServiceUpdateRequest request = mock(ServiceUpdateRequest.class);
+        ServiceEntity serviceEntity = mock(ServiceEntity.class);
+
+        when(request.getPath()).thenReturn("sector");
+        when(request.valueAsString()).thenReturn("local government");
+        when(serviceDao.findByExternalId(SERVICE_ID)).thenReturn(of(serviceEntity));
+        when(serviceEntity.toService()).thenReturn(Service.from());
+
+        updater.doUpdate(SERVICE_ID, request);
+
+        InOrder inOrder = inOrder(serviceDao, serviceEntity);
+        inOrder.verify(serviceDao).merge(serviceEntity);
+        inOrder.verify(serviceDao).forceVersionIncrement(serviceEntity);
+        inOrder.verify(serviceDao).flush();
+        inOrder.verify(serviceEntity).toService();
+    }
+
+    @Test
+    public void shouldNotUpdate_whenVersionLoadedInTransactionFailsPrecondition() {
+        ServiceUpdateRequest request = mock(ServiceUpdateRequest.class);
+        ServiceEntity serviceEntity = mock(ServiceEntity.class);
+
+        when(request.getPath()).thenReturn("custom_branding");
+        when(serviceDao.findByExternalId(SERVICE_ID)).thenReturn(of(serviceEntity));
+        when(serviceEntity.getVersion()).thenReturn(3L);
+
+        WebApplicationException exception = assertThrows(WebApplicationException.class,
+                () -> updater.doUpdate(SERVICE_ID, List.of(request), version -> version == 2L));
+
+        assertThat(exception.getResponse().getStatus(), is(412));
+        verify(serviceEntity, never()).setCustomBranding(any());
+        verify(serviceDao, never()).merge(serviceEntity);
+    }
+
     @Test
     public void shouldSuccess_updateCustomBranding_whenBrandingNotProvided() {
         ServiceUpdateRequest request = mock(ServiceUpdateRequest.class);
@@ -383,7 +424,7 @@ public class ServiceUpdaterTest {
         Optional<Service> maybeService = updater.doUpdate(SERVICE_ID, serviceUpdateRequests);
 
         assertThat(maybeService.isPresent(), is(true));
-        verify(serviceDao, times(8)).merge(serviceEntity);
+        verify(serviceDao).merge(serviceEntity);
         assertThat(maybeService.get().getMerchantDetails().getName(), is(name));
         assertThat(maybeService.get().getMerchantDetails().getAddressLine1(), is(addressLine1));
         assertThat(maybeService.get().getMerchantDetails().getAddressLine2(), is(addressLine2));
@@ -414,6 +455,52 @@ public class ServiceUpdaterTest {
         assertThat(maybeService.get().getMerchantDetails().getAddressLine1(), is(updatedAddressLine1));
     }
 
+    @Test
+    public void shouldCoalesceLargePatchArrayIntoSingleMergeAndConflictCheck() {
+        List<ServiceUpdateRequest> serviceUpdateRequests = new ArrayList<>();
+        List<String> gatewayAccountIds = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            serviceUpdateRequests.add(serviceUpdateRequest("replace", "sector", "sector-" + i));
+            serviceUpdateRequests.add(serviceUpdateRequest("replace", "service_name/en", "name-" + i));
+            if (i % 100 == 0) {
+                String gatewayAccountId = valueOf(1000 + i);
+                gatewayAccountIds.add(gatewayAccountId);
+                serviceUpdateRequests.add(serviceUpdateRequest("add", "gateway_account_ids", List.of(gatewayAccountId)));
+            }
+        }
+        ServiceEntity serviceEntity = aServiceEntity().build();
+
+        when(serviceDao.findByExternalId(SERVICE_ID)).thenReturn(of(serviceEntity));
+        when(serviceDao.checkIfGatewayAccountsUsed(gatewayAccountIds)).thenReturn(false);
+
+        Optional<ServiceUpdateResult> maybeResult = updater.doBatchUpdate(SERVICE_ID, serviceUpdateRequests);
+
+        assertThat(maybeResult.isPresent(), is(true));
+        verify(serviceDao).checkIfGatewayAccountsUsed(gatewayAccountIds);
+        verify(serviceDao).merge(serviceEntity);
+        assertThat(serviceEntity.getSector(), is("sector-499"));
+        assertThat(serviceEntity.getServiceNames().get(SupportedLanguage.ENGLISH).getName(), is("name-499"));
+        assertThat(serviceEntity.hasExactGatewayAccountIds(gatewayAccountIds), is(true));
+
+        List<ServiceUpdateResult.OperationResult> operations = maybeResult.get().getOperations();
+        assertThat(operations.size(), is(serviceUpdateRequests.size()));
+        assertThat(operations.stream().filter(result -> result.getOutcome() == Outcome.SUPERSEDED).count(), is(998L));
+        assertThat(operations.get(operations.size() - 1).getOutcome(), is(Outcome.APPLIED));
+        assertThat(operations.get(0).getOutcome(), is(Outcome.SUPERSEDED));
+    }
+
+    @Test
+    public void shouldNotApplyAnyOperation_whenBatchContainsUnsupportedPath() {
+        List<ServiceUpdateRequest> serviceUpdateRequests = List.of(
+                serviceUpdateRequest("replace", "sector", "local government"),
+                serviceUpdateRequest("replace", "not_a_field", "value"));
+
+        assertThrows(WebApplicationException.class, () -> updater.doBatchUpdate(SERVICE_ID, serviceUpdateRequests));
+
+        verify(serviceDao, never()).findByExternalId(SERVICE_ID);
+        verify(serviceDao, never()).merge(any(ServiceEntity.class));
+    }
+
     private ServiceUpdateRequest serviceUpdateRequest(String op, String path, Object value) {
         return ServiceUpdateRequest.from(mapper.valueToTree(Map.of(
                 "op", op,
@@ -0,0 +1,73 @@
+package uk.gov.pay.adminusers.service;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class TokenBucketRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(3, 6, 100, ticker);
+
+    @Test
+    public void shouldAllowBurstUpToCapacity_thenRejectWithTimeUntilNextToken() {
+        assertThat(rateLimiter.tryAcquire("user").isEmpty(), is(true));
+        assertThat(rateLimiter.tryAcquire("user").isEmpty(), is(true));
+        assertThat(rateLimiter.tryAcquire("user").isEmpty(), is(true));
+
+        Optional<Duration> retryAfter = rateLimiter.tryAcquire("user");
+
+        assertThat(retryAfter.isPresent(), is(true));
+        assertThat(retryAfter.get(), is(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    public void shouldRefillTokensOverTime() {
+        rateLimiter.tryAcquire("user");
+        rateLimiter.tryAcquire("user");
+        rateLimiter.tryAcquire("user");
+
+        advance(Duration.ofSeconds(10));
+
+        assertThat(rateLimiter.tryAcquire("user").isEmpty(), is(true));
+        assertThat(rateLimiter.tryAcquire("user").isPresent(), is(true));
+    }
+
+    @Test
+    public void shouldNotRefillBeyondCapacity() {
+        advance(Duration.ofHours(1));
+
+        rateLimiter.tryAcquire("user");
+        rateLimiter.tryAcquire("user");
+        rateLimiter.tryAcquire("user");
+
+        assertThat(rateLimiter.tryAcquire("user").isPresent(), is(true));
+    }
+
+    @Test
+    public void shouldLimitEachKeySeparately() {
+        rateLimiter.tryAcquire("user");
+        rateLimiter.tryAcquire("user");
+        rateLimiter.tryAcquire("user");
+
+        assertThat(rateLimiter.tryAcquire("user").isPresent(), is(true));
+        assertThat(rateLimiter.tryAcquire("another-user").isEmpty(), is(true));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(TimeUnit.NANOSECONDS.convert(duration));
+    }
+}
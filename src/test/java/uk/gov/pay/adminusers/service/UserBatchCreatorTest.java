@@ -0,0 +1,114 @@
+package uk.gov.pay.adminusers.service;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.pay.adminusers.model.BatchCreateUserOutcome;
+import uk.gov.pay.adminusers.model.BatchCreateUserOutcome.Status;
+import uk.gov.pay.adminusers.model.BatchCreateUserRequest;
+import uk.gov.pay.adminusers.model.CreateUserRequest;
+import uk.gov.pay.adminusers.persistence.dao.RoleDao;
+import uk.gov.pay.adminusers.persistence.dao.ServiceDao;
+import uk.gov.pay.adminusers.persistence.dao.UserDao;
+import uk.gov.pay.adminusers.persistence.entity.RoleEntity;
+import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
+import uk.gov.pay.adminusers.persistence.entity.UserEntity;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.pay.adminusers.persistence.entity.ServiceEntityBuilder.aServiceEntity;
+
+@ExtendWith(MockitoExtension.class)
+public class UserBatchCreatorTest {
+
+    @Mock
+    private UserDao mockUserDao;
+    @Mock
+    private ServiceDao mockServiceDao;
+    @Mock
+    private RoleDao mockRoleDao;
+    @Mock
+    private PasswordHasher mockPasswordHasher;
+    private LinksBuilder linksBuilder = new LinksBuilder("http://localhost");
+    private ArgumentCaptor<UserEntity> persistedUsers = ArgumentCaptor.forClass(UserEntity.class);
+
+    private UserBatchCreator userBatchCreator;
+
+    @BeforeEach
+    public void before() {
+        userBatchCreator = new UserBatchCreator(mockUserDao, mockRoleDao, mockServiceDao, mockPasswordHasher, linksBuilder,
+                MoreExecutors.newDirectExecutorService());
+    }
+
+    @Test
+    public void shouldResolveRoleOnceAndServicesInOneQuery_andPersistEachUser() {
+        ServiceEntity service1 = aServiceEntity().withExternalId("service-1").build();
+        ServiceEntity service2 = aServiceEntity().withExternalId("service-2").build();
+        when(mockUserDao.findExistingUsernames(anyList())).thenReturn(Set.of());
+        when(mockRoleDao.findByRoleName("admin")).thenReturn(Optional.of(mock(RoleEntity.class)));
+        when(mockServiceDao.findByExternalIds(anyList())).thenReturn(List.of(service1, service2));
+        when(mockPasswordHasher.hash(anyString())).thenReturn("hashed-password");
+
+        List<BatchCreateUserOutcome> outcomes = userBatchCreator.doBatchCreate(List.of(
+                batchCreateRequest("user-1", "admin", List.of("service-1", "service-2")),
+                batchCreateRequest("user-2", "admin", List.of("service-2", "service-3"))));
+
+        verify(mockRoleDao).findByRoleName("admin");
+        ArgumentCaptor<List<String>> serviceExternalIds = ArgumentCaptor.forClass(List.class);
+        verify(mockServiceDao).findByExternalIds(serviceExternalIds.capture());
+        assertThat(serviceExternalIds.getValue(), containsInAnyOrder("service-1", "service-2", "service-3"));
+        verify(mockPasswordHasher, times(2)).hash(anyString());
+        verify(mockUserDao, times(2)).persist(persistedUsers.capture());
+        assertThat(persistedUsers.getAllValues().get(0).getPassword(), is("hashed-password"));
+        assertThat(persistedUsers.getAllValues().get(0).getServicesRoles().size(), is(2));
+        assertThat(persistedUsers.getAllValues().get(1).getServicesRoles().size(), is(1));
+
+        assertThat(outcomes.size(), is(2));
+        assertThat(outcomes.get(0).getStatus(), is(Status.CREATED));
+        assertThat(outcomes.get(0).getUser().getUsername(), is("user-1"));
+        assertThat(outcomes.get(1).getStatus(), is(Status.CREATED));
+    }
+
+    @Test
+    public void shouldReportTakenUsernamesAndUnknownRoles_andCreateTheRest() {
+        when(mockUserDao.findExistingUsernames(anyList())).thenReturn(Set.of("taken-user"));
+        when(mockRoleDao.findByRoleName("admin")).thenReturn(Optional.of(mock(RoleEntity.class)));
+        when(mockRoleDao.findByRoleName("invalid-role")).thenReturn(Optional.empty());
+        when(mockPasswordHasher.hash(anyString())).thenReturn("hashed-password");
+
+        List<BatchCreateUserOutcome> outcomes = userBatchCreator.doBatchCreate(List.of(
+                batchCreateRequest("Taken-User", "admin", List.of()),
+                batchCreateRequest("user-2", "invalid-role", List.of()),
+                batchCreateRequest("user-3", "admin", List.of())));
+
+        verify(mockUserDao).persist(persistedUsers.capture());
+        assertThat(persistedUsers.getValue().getUsername(), is("user-3"));
+        assertThat(outcomes.get(0).getStatus(), is(Status.CONFLICT));
+        assertThat(outcomes.get(0).getErrors(), contains("username [Taken-User] already exists"));
+        assertThat(outcomes.get(1).getStatus(), is(Status.FAILED));
+        assertThat(outcomes.get(1).getErrors(), contains("role [invalid-role] not recognised"));
+        assertThat(outcomes.get(2).getStatus(), is(Status.CREATED));
+    }
+
+    private static BatchCreateUserRequest batchCreateRequest(String username, String roleName, List<String> serviceExternalIds) {
+        return BatchCreateUserRequest.from(
+                CreateUserRequest.from(username, "password", username + "@example.com", null, serviceExternalIds, "otpKey", "3745838475", null),
+                roleName);
+    }
+}
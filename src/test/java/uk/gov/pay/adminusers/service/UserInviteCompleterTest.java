@@ -3,16 +3,10 @@ package uk.gov.pay.adminusers.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.pay.adminusers.model.InviteCompleteResponse;
 import uk.gov.pay.adminusers.model.InviteType;
-import uk.gov.pay.adminusers.model.SecondFactorMethod;
-import uk.gov.pay.adminusers.model.Service;
-import uk.gov.pay.adminusers.model.ServiceName;
-import uk.gov.pay.adminusers.model.ServiceRole;
-import uk.gov.pay.adminusers.model.User;
 import uk.gov.pay.adminusers.persistence.dao.InviteDao;
 import uk.gov.pay.adminusers.persistence.dao.UserDao;
 import uk.gov.pay.adminusers.persistence.entity.InviteEntity;
@@ -23,15 +17,12 @@ import uk.gov.pay.adminusers.persistence.entity.UserEntity;
 
 import javax.ws.rs.WebApplicationException;
 import java.time.ZonedDateTime;
-import java.util.Collections;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomInt;
 import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
 import static uk.gov.pay.adminusers.model.Role.role;
 import static uk.gov.pay.adminusers.persistence.entity.Role.ADMIN;
@@ -71,19 +62,18 @@ public class UserInviteCompleterTest {
         InviteEntity anInvite = createInvite();
         anInvite.setType(InviteType.USER);
         anInvite.setService(service);
-        UserEntity user = UserEntity.from(aUser(anInvite.getEmail()));
+        anInvite.setDisabled(true);
+        String userExternalId = randomUuid();
 
-        when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
-        when(mockUserDao.findByEmail(email)).thenReturn(Optional.of(user));
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.of(anInvite));
+        when(mockUserDao.addServiceRoleByEmail(email, serviceId, ADMIN.getId())).thenReturn(Optional.of(userExternalId));
 
         Optional<InviteCompleteResponse> completedInvite = userInviteCompleter.complete(inviteCode);
 
-        ArgumentCaptor<UserEntity> persistedUser = ArgumentCaptor.forClass(UserEntity.class);
-        verify(mockUserDao).merge(persistedUser.capture());
-
         assertThat(completedInvite.isPresent(), is(true));
         assertThat(completedInvite.get().getInvite().isDisabled(), is(true));
-        assertThat(persistedUser.getValue().getServicesRole(service.getExternalId()).isPresent(), is(true));
+        assertThat(completedInvite.get().getUserExternalId(), is(userExternalId));
+        assertThat(completedInvite.get().getServiceExternalId(), is(serviceExternalId));
     }
 
     @Test
@@ -96,10 +86,8 @@ public class UserInviteCompleterTest {
         InviteEntity anInvite = createInvite();
         anInvite.setType(InviteType.USER);
         anInvite.setService(null);
-        UserEntity user = UserEntity.from(aUser(anInvite.getEmail()));
 
-        when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
-        when(mockUserDao.findByEmail(email)).thenReturn(Optional.of(user));
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.of(anInvite));
 
         WebApplicationException webApplicationException = assertThrows(WebApplicationException.class,
                 () -> userInviteCompleter.complete(inviteCode));
@@ -116,10 +104,8 @@ public class UserInviteCompleterTest {
         InviteEntity anInvite = createInvite();
         anInvite.setType(InviteType.SERVICE);
         anInvite.setService(service);
-        UserEntity user = UserEntity.from(aUser(anInvite.getEmail()));
 
-        when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
-        when(mockUserDao.findByEmail(email)).thenReturn(Optional.of(user));
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.of(anInvite));
 
         WebApplicationException webApplicationException = assertThrows(WebApplicationException.class,
                 () -> userInviteCompleter.complete(inviteCode));
@@ -133,6 +119,7 @@ public class UserInviteCompleterTest {
         anInvite.setType(InviteType.USER);
         anInvite.setDisabled(true);
 
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.empty());
         when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
 
         WebApplicationException webApplicationException = assertThrows(WebApplicationException.class,
@@ -146,6 +133,7 @@ public class UserInviteCompleterTest {
         anInvite.setType(InviteType.USER);
         anInvite.setExpiryDate(ZonedDateTime.now().minusDays(1));
 
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.empty());
         when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
 
         WebApplicationException webApplicationException = assertThrows(WebApplicationException.class,
@@ -158,8 +146,8 @@ public class UserInviteCompleterTest {
         InviteEntity anInvite = createInvite();
         anInvite.setType(InviteType.USER);
 
-        when(mockInviteDao.findByCode(inviteCode)).thenReturn(Optional.of(anInvite));
-        when(mockUserDao.findByEmail(email)).thenReturn(Optional.empty());
+        when(mockInviteDao.claimByCode(inviteCode)).thenReturn(Optional.of(anInvite));
+        when(mockUserDao.addServiceRoleByEmail(email, serviceId, ADMIN.getId())).thenReturn(Optional.empty());
 
         WebApplicationException webApplicationException = assertThrows(WebApplicationException.class,
                 () -> userInviteCompleter.complete(inviteCode));
@@ -187,12 +175,4 @@ public class UserInviteCompleterTest {
 
         return anInvite;
     }
-
-    private User aUser(String email) {
-        Service service = Service.from(serviceId, serviceExternalId, new ServiceName(Service.DEFAULT_NAME_VALUE));
-        ServiceRole serviceRole = ServiceRole.from(service, role(ADMIN.getId(), "Admin", "Administrator"));
-        return User.from(randomInt(), randomUuid(), "a-username", "random-password", email,
-                "784rh", "8948924", Collections.singletonList(serviceRole), null,
-                SecondFactorMethod.SMS, null, null, null);
-    }
 }
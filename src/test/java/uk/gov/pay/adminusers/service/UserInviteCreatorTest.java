@@ -1,7 +1,9 @@
 package uk.gov.pay.adminusers.service;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -66,6 +68,7 @@ public class UserInviteCreatorTest {
     private NotificationService mockNotificationService = mock(NotificationService.class);
     private LinksConfig linksConfig = mock(LinksConfig.class);
 
+    private final NotificationDispatcher notificationDispatcher = new NotificationDispatcher(MoreExecutors.newDirectExecutorService(), new MetricRegistry());
     private UserInviteCreator userInviteCreator;
     private ArgumentCaptor<InviteEntity> expectedInvite = ArgumentCaptor.forClass(InviteEntity.class);
     private String senderEmail = "sender@example.com";
@@ -80,7 +83,7 @@ public class UserInviteCreatorTest {
         LinksConfig mockLinks = mock(LinksConfig.class);
         when(mockLinks.getSelfserviceUrl()).thenReturn(SELFSERVICE_URL);
         when(mockConfig.getLinks()).thenReturn(mockLinks);
-        userInviteCreator = new UserInviteCreator(mockInviteDao, mockUserDao, mockRoleDao, linksConfig, mockNotificationService, mockServiceDao);
+        userInviteCreator = new UserInviteCreator(mockInviteDao, mockUserDao, mockRoleDao, linksConfig, mockNotificationService, notificationDispatcher, mockServiceDao);
     }
 
     @Test
@@ -14,12 +14,14 @@ import uk.gov.pay.adminusers.persistence.dao.InviteDao;
 import uk.gov.pay.adminusers.persistence.entity.InviteEntity;
 
 import java.util.Map;
-import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.pay.adminusers.service.NotificationService.OtpNotifySmsTemplateId.CREATE_USER_IN_RESPONSE_TO_INVITATION_TO_SERVICE;
 
@@ -35,7 +37,7 @@ class UserOtpDispatcherTest {
     @Mock
     private NotificationService notificationService;
 
-    private ArgumentCaptor<InviteEntity> expectedInvite = ArgumentCaptor.forClass(InviteEntity.class);
+    private ArgumentCaptor<String> expectedPassword = ArgumentCaptor.forClass(String.class);
 
     private InviteOtpDispatcher userOtpDispatcher;
 
@@ -56,25 +58,37 @@ class UserOtpDispatcherTest {
         JsonNode payload = objectMapper.valueToTree(Map.of("telephone_number", telephone, "password", "random"));
         userOtpDispatcher = userOtpDispatcher.withData(InviteOtpRequest.from(payload));
 
-        when(inviteDao.findByCode(inviteCode)).thenReturn(Optional.of(inviteEntity));
         when(secondFactorAuthenticator.newPassCode("otp-key")).thenReturn(123456);
         when(notificationService.sendSecondFactorPasscodeSms(telephone, "123456", CREATE_USER_IN_RESPONSE_TO_INVITATION_TO_SERVICE))
                 .thenReturn("success code from notify");
-        boolean dispatched = userOtpDispatcher.dispatchOtp(inviteCode);
+        userOtpDispatcher.withInvite(inviteEntity).dispatchOtp();
 
-        verify(inviteDao).merge(expectedInvite.capture());
-        assertThat(dispatched, is(true));
-        assertThat(expectedInvite.getValue().getTelephoneNumber(),is(telephone));
-        assertThat(expectedInvite.getValue().getPassword(),is(notNullValue()));
+        verify(inviteDao).updateTelephoneNumberAndPassword(eq(inviteCode), eq(telephone), expectedPassword.capture());
+        verify(notificationService).sendSecondFactorPasscodeSms(telephone, "123456", CREATE_USER_IN_RESPONSE_TO_INVITATION_TO_SERVICE);
+        assertThat(expectedPassword.getValue(), is(notNullValue()));
     }
 
     @Test
-    void shouldFail_whenDispatchServiceOtp_ifInviteEntityNotFound() {
-        String inviteCode = "non-existent-code";
-        when(inviteDao.findByCode(inviteCode)).thenReturn(Optional.empty());
+    void shouldKeepExistingPasswordHashWithoutHashing_whenOtpRequestedAgainWithoutPassword() {
+        String inviteCode = "valid-invite-code";
+        String telephone = "+441134960000";
+        PasswordHasher passwordHasher = mock(PasswordHasher.class);
+        userOtpDispatcher = new UserOtpDispatcher(inviteDao, secondFactorAuthenticator, passwordHasher, notificationService);
+        InviteEntity inviteEntity = new InviteEntity();
+        inviteEntity.setCode(inviteCode);
+        inviteEntity.setType(InviteType.USER);
+        inviteEntity.setOtpKey("otp-key");
+        inviteEntity.setPassword("existing-hash");
+
+        JsonNode payload = objectMapper.valueToTree(Map.of("telephone_number", telephone));
+        userOtpDispatcher = userOtpDispatcher.withData(InviteOtpRequest.from(payload));
+
+        when(secondFactorAuthenticator.newPassCode("otp-key")).thenReturn(123456);
 
-        boolean dispatched = userOtpDispatcher.dispatchOtp(inviteCode);
+        userOtpDispatcher.withInvite(inviteEntity).dispatchOtp();
 
-        assertThat(dispatched,is(false));
+        verify(inviteDao).updateTelephoneNumberAndPassword(eq(inviteCode), eq(telephone), expectedPassword.capture());
+        assertThat(expectedPassword.getValue(), is("existing-hash"));
+        verifyNoInteractions(passwordHasher);
     }
 }
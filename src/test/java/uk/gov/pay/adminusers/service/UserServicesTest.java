@@ -2,6 +2,7 @@ package uk.gov.pay.adminusers.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +16,9 @@ import uk.gov.pay.adminusers.model.Role;
 import uk.gov.pay.adminusers.model.SecondFactorMethod;
 import uk.gov.pay.adminusers.model.Service;
 import uk.gov.pay.adminusers.model.User;
+import uk.gov.pay.adminusers.model.UserSearchMatch;
+import uk.gov.pay.adminusers.model.UserSearchResult;
+import uk.gov.pay.adminusers.model.UserSearchResults;
 import uk.gov.pay.adminusers.persistence.dao.UserDao;
 import uk.gov.pay.adminusers.persistence.entity.RoleEntity;
 import uk.gov.pay.adminusers.persistence.entity.ServiceEntity;
@@ -23,14 +27,18 @@ import uk.gov.pay.adminusers.persistence.entity.UserEntity;
 import uk.gov.pay.adminusers.persistence.entity.service.ServiceNameEntity;
 import uk.gov.service.payments.commons.model.SupportedLanguage;
 
+import javax.ws.rs.WebApplicationException;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.time.temporal.ChronoUnit.SECONDS;
 import static java.util.Collections.emptyList;
@@ -39,12 +47,15 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomInt;
 import static uk.gov.pay.adminusers.app.util.RandomIdGenerator.randomUuid;
@@ -106,13 +117,56 @@ class UserServicesTest {
 
         when(userDao.findByExternalIds(List.of(user1.getExternalId(), user2.getExternalId()))).thenReturn(Arrays.asList(userEntity1, userEntity2));
 
-        List<User> users = userServices.findUsersByExternalIds(List.of(user1.getExternalId(), user2.getExternalId()));
+        List<User> users = ImmutableList.copyOf(userServices.findUsersByExternalIds(List.of(user1.getExternalId(), user2.getExternalId())));
         assertThat(users.size(), is(2));
 
         assertThat(users.get(0).getExternalId(), is(user1.getExternalId()));
         assertThat(users.get(1).getExternalId(), is(user2.getExternalId()));
     }
 
+    @Test
+    void shouldFindUsersByExternalIds_inBatches_asTheyAreIteratedOver() {
+        List<String> externalIds = IntStream.range(0, UserServices.FIND_BATCH_SIZE + 1)
+                .mapToObj(i -> "external-id-" + i)
+                .collect(Collectors.toUnmodifiableList());
+        UserEntity userEntity = aUserEntityWithTrimmings(aUser());
+        when(userDao.findByExternalIds(externalIds.subList(0, UserServices.FIND_BATCH_SIZE))).thenReturn(List.of(userEntity));
+        when(userDao.findByExternalIds(externalIds.subList(UserServices.FIND_BATCH_SIZE, externalIds.size()))).thenReturn(List.of(userEntity));
+
+        Iterator<User> users = userServices.findUsersByExternalIds(externalIds);
+        verifyNoInteractions(userDao);
+
+        users.next();
+        verify(userDao, times(1)).findByExternalIds(anyList());
+
+        users.next();
+        verify(userDao, times(2)).findByExternalIds(anyList());
+        assertThat(users.hasNext(), is(false));
+    }
+
+    @Test
+    void shouldSearchUsers_withCursorAfterLastResult_whenPageIsFull() {
+        UserSearchResult first = new UserSearchResult(3, "external-id-3", "user3", "user3@example.com", false);
+        UserSearchResult second = new UserSearchResult(7, "external-id-7", "user7", "user7@example.com", false);
+        when(userDao.search("user", UserSearchMatch.PREFIX, 0, 2)).thenReturn(List.of(first, second));
+
+        UserSearchResults results = userServices.searchUsers("user", UserSearchMatch.PREFIX, 0, 2);
+
+        assertThat(results.getCount(), is(2));
+        assertThat(UserSearchResults.idFromCursor(results.getNextCursor()), is(Optional.of(7)));
+    }
+
+    @Test
+    void shouldSearchUsers_withoutCursor_whenPageIsNotFull() {
+        UserSearchResult only = new UserSearchResult(9, "external-id-9", "user9", "user9@example.com", false);
+        when(userDao.search("user", UserSearchMatch.SUBSTRING, 7, 2)).thenReturn(List.of(only));
+
+        UserSearchResults results = userServices.searchUsers("user", UserSearchMatch.SUBSTRING, 7, 2);
+
+        assertThat(results.getCount(), is(1));
+        assertThat(results.getNextCursor(), is(nullValue()));
+    }
+
     @Test
     void shouldReturnEmpty_WhenFindByExternalId_ifNotFound() {
         when(userDao.findByExternalId(USER_EXTERNAL_ID)).thenReturn(Optional.empty());
@@ -260,6 +314,38 @@ class UserServicesTest {
         assertTrue(userOptional.get().isDisabled());
     }
 
+    @Test
+    void shouldNotPatchUser_whenVersionFingerprintLoadedInTransactionFailsPrecondition() {
+        User user = aUser();
+
+        JsonNode node = objectMapper.valueToTree(Map.of("path", "sessionVersion", "op", "append", "value", "2"));
+        UserEntity userEntity = aUserEntityWithTrimmings(user);
+        when(userDao.findByExternalId(USER_EXTERNAL_ID)).thenReturn(Optional.of(userEntity));
+
+        WebApplicationException exception = assertThrows(WebApplicationException.class,
+                () -> userServices.patchUser(USER_EXTERNAL_ID, PatchRequest.from(node), "stale"::equals));
+
+        assertThat(exception.getResponse().getStatus(), is(412));
+        assertThat(userEntity.getSessionVersion(), is(0));
+        verify(userDao, never()).merge(any(UserEntity.class));
+    }
+
+    @Test
+    void shouldReturnPatchedUserWithNewVersionFingerprint_whenPreconditionMet() {
+        User user = aUser();
+
+        JsonNode node = objectMapper.valueToTree(Map.of("path", "sessionVersion", "op", "append", "value", "2"));
+        UserEntity userEntity = aUserEntityWithTrimmings(user);
+        String fingerprintBeforePatch = userEntity.getVersionFingerprint();
+        when(userDao.findByExternalId(USER_EXTERNAL_ID)).thenReturn(Optional.of(userEntity));
+
+        Optional<User> patchedUser = userServices.patchUser(USER_EXTERNAL_ID, PatchRequest.from(node), fingerprintBeforePatch::equals);
+
+        assertThat(patchedUser.map(User::getVersionFingerprint), is(Optional.of(userEntity.getVersionFingerprint())));
+        assertThat(patchedUser.get().getVersionFingerprint().equals(fingerprintBeforePatch), is(false));
+        verify(userDao).flush();
+    }
+
     @Test
     void shouldResetLoginCounter_whenTheUserIsEnabled() {
         User user = aUser();
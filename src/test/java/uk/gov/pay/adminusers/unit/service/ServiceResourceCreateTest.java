@@ -1,5 +1,6 @@
 package uk.gov.pay.adminusers.unit.service;
 
+import io.dropwizard.jackson.Jackson;
 import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
 import io.dropwizard.testing.junit5.ResourceExtension;
 import io.restassured.path.json.JsonPath;
@@ -20,6 +21,7 @@ import uk.gov.pay.adminusers.resources.ServiceRequestValidator;
 import uk.gov.pay.adminusers.resources.ServiceResource;
 import uk.gov.pay.adminusers.resources.ServiceUpdateOperationValidator;
 import uk.gov.pay.adminusers.service.GovUkPayAgreementService;
+import uk.gov.pay.adminusers.service.OptimisticLockRetrier;
 import uk.gov.pay.adminusers.service.SendLiveAccountCreatedEmailService;
 import uk.gov.pay.adminusers.service.ServiceCreator;
 import uk.gov.pay.adminusers.service.ServiceServicesFactory;
@@ -80,7 +82,9 @@ public class ServiceResourceCreateTest extends ServiceResourceBaseTest {
                     stripeAgreementService,
                     payAgreementRequestValidator,
                     agreementService,
-                    sendLiveAccountCreatedEmailService))
+                    sendLiveAccountCreatedEmailService,
+                    new OptimisticLockRetrier(1),
+                    Jackson.newObjectMapper()))
             .build();
 
     @Captor
@@ -1,5 +1,6 @@
 package uk.gov.pay.adminusers.unit.service;
 
+import io.dropwizard.jackson.Jackson;
 import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
 import io.dropwizard.testing.junit5.ResourceExtension;
 import io.restassured.path.json.JsonPath;
@@ -17,6 +18,7 @@ import uk.gov.pay.adminusers.resources.GovUkPayAgreementRequestValidator;
 import uk.gov.pay.adminusers.resources.ServiceRequestValidator;
 import uk.gov.pay.adminusers.resources.ServiceResource;
 import uk.gov.pay.adminusers.service.GovUkPayAgreementService;
+import uk.gov.pay.adminusers.service.OptimisticLockRetrier;
 import uk.gov.pay.adminusers.service.SendLiveAccountCreatedEmailService;
 import uk.gov.pay.adminusers.service.ServiceFinder;
 import uk.gov.pay.adminusers.service.ServiceServicesFactory;
@@ -65,7 +67,9 @@ public class ServiceResourceFindTest extends ServiceResourceBaseTest {
                     stripeAgreementService,
                     payAgreementRequestValidator,
                     agreementService,
-                    sendLiveAccountCreatedEmailService))
+                    sendLiveAccountCreatedEmailService,
+                    new OptimisticLockRetrier(1),
+                    Jackson.newObjectMapper()))
             .build();
 
     @BeforeEach
@@ -2,6 +2,7 @@ package uk.gov.pay.adminusers.utils;
 
 import org.jdbi.v3.core.Jdbi;
 import org.postgresql.util.PGobject;
+import uk.gov.pay.adminusers.model.CustomBranding;
 import uk.gov.pay.adminusers.model.ForgottenPassword;
 import uk.gov.pay.adminusers.model.MerchantDetails;
 import uk.gov.pay.adminusers.model.Permission;
@@ -323,6 +324,21 @@ public class DatabaseTestHelper {
                         .mapToMap().list());
     }
 
+    /**
+     * Updates the service the way the application does, bumping its version, on a connection of its own.
+     */
+    public DatabaseTestHelper updateServiceSector(String serviceExternalId, String sector) {
+        jdbi.withHandle(handle ->
+                handle
+                        .createUpdate("UPDATE services SET sector = :sector, version = version + 1 " +
+                                "WHERE external_id = :externalId")
+                        .bind("sector", sector)
+                        .bind("externalId", serviceExternalId)
+                        .execute()
+        );
+        return this;
+    }
+
     public List<Map<String, Object>> findServiceNameByServiceId(Integer serviceId) {
         return jdbi.withHandle(h ->
                 h.createQuery("SELECT * FROM service_names WHERE service_id = :serviceId")
@@ -330,6 +346,24 @@ public class DatabaseTestHelper {
                         .mapToMap().list());
     }
 
+    public List<Map<String, Object>> findServiceSummaryByServiceId(Integer serviceId) {
+        return jdbi.withHandle(h ->
+                h.createQuery("SELECT * FROM service_summaries WHERE service_id = :serviceId")
+                        .bind("serviceId", serviceId)
+                        .mapToMap().list());
+    }
+
+    public DatabaseTestHelper updateServiceSummarySector(Integer serviceId, String sector) {
+        jdbi.withHandle(handle ->
+                handle
+                        .createUpdate("UPDATE service_summaries SET sector = :sector WHERE service_id = :serviceId")
+                        .bind("sector", sector)
+                        .bind("serviceId", serviceId)
+                        .execute()
+        );
+        return this;
+    }
+
     public List<Map<String, Object>> findStripeAgreementById(int id) {
         return jdbi.withHandle(handle ->
                 handle.createQuery("SELECT * FROM stripe_agreements WHERE id = :id")
@@ -377,7 +411,7 @@ public class DatabaseTestHelper {
         jdbi.withHandle(handle ->
         {
             PGobject customBranding = serviceEntity.getCustomBranding() == null ? null :
-                    new CustomBrandingConverter().convertToDatabaseColumn(serviceEntity.getCustomBranding());
+                    new CustomBrandingConverter().convertToDatabaseColumn(CustomBranding.fromMap(serviceEntity.getCustomBranding()));
             MerchantDetailsEntity merchantDetails = serviceEntity.getMerchantDetailsEntity();
 
             return handle.createUpdate("INSERT INTO services(" +
@@ -417,6 +451,30 @@ public class DatabaseTestHelper {
         return this;
     }
 
+    /**
+     * Bulk inserts services with ids from {@code firstId}, each with an English name and a merchant name that
+     * end in its id, then analyses the tables so that the planner sees realistic statistics.
+     */
+    public void seedServices(int firstId, int count) {
+        jdbi.useHandle(handle -> {
+            handle.createUpdate("INSERT INTO services (id, external_id, merchant_name) " +
+                    "SELECT g, md5(g::text), (ARRAY['Council', 'Agency', 'Trust', 'Office'])[1 + g % 4] || ' ' || g " +
+                    "FROM generate_series(:firstId, :lastId) g")
+                    .bind("firstId", firstId)
+                    .bind("lastId", firstId + count - 1)
+                    .execute();
+            handle.createUpdate("INSERT INTO service_names (service_id, language, name) " +
+                    "SELECT g, 'en', (ARRAY['Apply for a', 'Pay for your', 'Renew your', 'Book a'])[1 + g % 4] || ' ' || " +
+                    "(ARRAY['parking permit', 'fishing licence', 'library card', 'bulky waste collection'])[1 + (g / 4) % 4] || ' ' || g " +
+                    "FROM generate_series(:firstId, :lastId) g")
+                    .bind("firstId", firstId)
+                    .bind("lastId", firstId + count - 1)
+                    .execute();
+            handle.execute("ANALYZE services");
+            handle.execute("ANALYZE service_names");
+        });
+    }
+
     public void truncateAllData() {
         jdbi.withHandle(handle -> handle.createUpdate("TRUNCATE TABLE users CASCADE").execute());
         jdbi.withHandle(handle -> handle.createUpdate("TRUNCATE TABLE services CASCADE").execute());